@@ -0,0 +1,313 @@
+package cli;
+
+import backend.Backend;
+import backend.BackendParameters;
+import backend.DutModel;
+import backend.DutWatcher;
+import backend.stimulus.Distribution;
+import backend.stimulus.RampDistribution;
+import backend.stimulus.RandomDistribution;
+import backend.stimulus.SineDistribution;
+import backend.stimulus.WalkingOnesDistribution;
+import cli.daemon.GenerationDaemon;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+
+/*
+ * File: CommandLine.java
+ * -----------------------------------------------
+ * Runs the backend actions from the command line,
+ * so the test environment can be generated by the build tools
+ * without the app's window (AWT is not initialized).
+ *
+ * Every invocation parses the DUT file, sets the working folder
+ * and runs one command. See USAGE for commands and options.
+ * The "daemon" command serves the same commands over loopback HTTP
+ * (see GenerationDaemon), so the JVM, templates and parsed DUTs stay warm.
+ */
+public class CommandLine {
+
+    /* The default frequency of the DUT's clocks and of the sampling (kHz).
+    It is the same as the default of the app's window. */
+    private static final String DEFAULT_FREQUENCY = "50000";
+
+    /* The default quiet time after the last change of the watched files (ms). */
+    private static final String DEFAULT_DEBOUNCE = "300";
+
+    /* The default number of threads that serve the daemon's requests. */
+    private static final String DEFAULT_DAEMON_THREADS = "4";
+
+    /* The default maximum lag of the output latency alignment (samples). */
+    private static final String DEFAULT_MAX_LAG = "64";
+
+    /* The default ratio of runs to samples of the vector that is worth encoding. */
+    private static final String DEFAULT_MAX_RATIO = "0.1";
+
+    /* Names of the commands. */
+    private static final List<String> COMMANDS = List.of(
+            "generate", "stimulus", "expect", "vcd-import", "vcd-export", "compress", "shards", "analyze", "align", "coverage", "watch",
+            "daemon");
+
+    /* Exit codes. */
+    private static final int EXIT_OK = 0;
+    private static final int EXIT_ERROR = 1;
+    private static final int EXIT_USAGE = 2;
+
+    private static final String USAGE =
+            "Usage: tb_automation-cli <command> --dut <DUT.sv> --dir <working folder> [options]\n" +
+            "\n" +
+            "Commands:\n" +
+            "  generate    Writes the test environment.\n" +
+            "              --clock <name>=<kHz>   frequency of the DUT's clock (repeatable, default " +
+                                                  DEFAULT_FREQUENCY + ")\n" +
+            "              --sample-freq <kHz>    sampling frequency (default " + DEFAULT_FREQUENCY + ")\n" +
+            "              --random-samples <N>   randomizes inputs in the simulator instead of reading files\n" +
+            "                                     (N samples by default, \"+SEED=<n>\" and \"+SAMPLES=<n>\" plusargs)\n" +
+            "              --single-file <bool>   joins the environment into one \"" +
+                                                  BackendParameters.SINGLE_FILE_SV + "\" file (default false)\n" +
+            "              --instances <N>        instantiates N copies of the DUT fed from \"" +
+                                                  BackendParameters.INSTANCE_FOLDER_PREFIX + "<num>\" vector subfolders\n" +
+            "  stimulus    Writes input vectors to the \"" + BackendParameters.INPUT_DATA_FOLDER + "\" folder.\n" +
+            "              --samples <N>          number of samples\n" +
+            "              --seed <S>             seed of the vectors (default 0)\n" +
+            "              --dist <port>=<dist>   random | walking | ramp:<start>:<step> | sine:<period>:<amplitude>\n" +
+            "  expect      Computes expected vectors with the golden model.\n" +
+            "              --model <name>         name of the registered model\n" +
+            "  vcd-import  Converts the VCD dump to input and expected vectors.\n" +
+            "              --vcd <file> --scope <path> --sample-freq <kHz>\n" +
+            "  vcd-export  Writes vectors and results to \"" + BackendParameters.RESULTS_VCD + "\".\n" +
+            "              --sample-freq <kHz>\n" +
+            "  compress    Run-length encodes mostly static input vectors.\n" +
+            "              --max-ratio <0..1>     (default " + DEFAULT_MAX_RATIO + ")\n" +
+            "              --instances <N>        encodes the \"" + BackendParameters.INSTANCE_FOLDER_PREFIX +
+                                                  "<num>\" subfolders of the batched testbench\n" +
+            "  shards      Runs the simulation as concurrent shards.\n" +
+            "              --shards <N> --warm-up <samples> [--command <command>]\n" +
+            "  analyze     Compares the simulation results with expected vectors.\n" +
+            "  align       Finds the output lag that best aligns the results with expected vectors.\n" +
+            "              --max-lag <samples>    (default " + DEFAULT_MAX_LAG + ")\n" +
+            "  coverage    Measures the toggle coverage of input vectors.\n" +
+            "  watch       Writes the test environment and writes it again when the DUT or input data is changed.\n" +
+            "              Options of \"generate\" and --debounce <ms> (default " + DEFAULT_DEBOUNCE + ")\n" +
+            "  daemon      Serves the commands above (but \"watch\") to POST http://127.0.0.1:<port>/<command>?<option>=<value>&...\n" +
+            "              --port <N> [--threads <N>] (default " + DEFAULT_DAEMON_THREADS + ", no --dut and --dir)\n" +
+            "              --root <folder>        paths of the requests must be inside it (default current folder)\n" +
+            "              Requests must have the \"" + GenerationDaemon.TOKEN_HEADER + "\" header with the token\n" +
+            "              from \"~/" + GenerationDaemon.TOKEN_FOLDER + "/daemon-<port>.token\", \"--command\" is not accepted.\n";
+
+    /* Options of the command. Key is the option name without "--". */
+    private final HashMap<String, ArrayList<String>> options = new HashMap<>();
+
+    public static void main(String[] args) {
+        System.exit(new CommandLine().run(args));
+    }
+
+    /**
+     * Runs the command.
+     *
+     * @param args The command and its options.
+     * @return The exit code.
+     */
+    public int run(String[] args) {
+        if (!parseCommand(args)) {
+            System.err.print(USAGE);
+            return EXIT_USAGE;
+        }
+
+        try {
+            execute(args[0]);
+            return EXIT_OK;
+        }
+
+        catch (Exception e) {
+            System.err.println("Error: " + e.getMessage());
+            return EXIT_ERROR;
+        }
+    }
+
+    /**
+     * Checks the command and parses its options.
+     *
+     * @param args The command and its options.
+     * @return "false" when the command is unknown or the options are malformed.
+     */
+    public boolean parseCommand(String[] args) {
+        return args.length != 0 && COMMANDS.contains(args[0]) && parseOptions(args);
+    }
+
+    /**
+     * Executes the command with the parsed options.
+     *
+     * @param command The name of the command.
+     * @throws IllegalArgumentException The option is not specified or malformed.
+     * @throws Exception Error of the backend action.
+     */
+    public void execute(String command) throws Exception {
+        if (command.equals("daemon")) {
+            new GenerationDaemon(Integer.parseInt(getOption("port")),
+                                 Integer.parseInt(getOption("threads", DEFAULT_DAEMON_THREADS)),
+                                 new File(getOption("root", "."))).run();
+            return;
+        }
+
+        if (command.equals("watch")) {
+            final File dir = new File(getOption("dir"));
+            new DutWatcher(new File(getOption("dut")), dir, Long.parseLong(getOption("debounce", DEFAULT_DEBOUNCE)))
+                    .run((dut, changes) -> generate(new Backend(dut, dir)));
+            return;
+        }
+
+        final Backend backend = new Backend(loadDut(new File(getOption("dut"))), new File(getOption("dir")));
+
+        switch (command) {
+            case "generate" -> generate(backend);
+            case "stimulus" ->
+                backend.generateStimulus(Long.parseLong(getOption("samples")),
+                                         Long.parseLong(getOption("seed", "0")), getDistributions());
+            case "expect" ->
+                backend.generateExpectedVectors(getOption("model"));
+            case "vcd-import" -> {
+                backend.setReportSamplingFrequency(getOption("sample-freq"));
+                backend.convertVcd(new File(getOption("vcd")), getOption("scope"));
+            }
+            case "vcd-export" -> {
+                backend.setReportSamplingFrequency(getOption("sample-freq"));
+                System.out.println("VCD is written: " + backend.exportVcd().getAbsolutePath());
+            }
+            case "compress" -> {
+                backend.setInstances(Integer.parseInt(getOption("instances", "1")));
+                backend.compressVectors(Double.parseDouble(getOption("max-ratio", DEFAULT_MAX_RATIO)));
+            }
+            case "shards" ->
+                backend.runShards(Integer.parseInt(getOption("shards")), Long.parseLong(getOption("warm-up")),
+                                  getOption("command", BackendParameters.DEFAULT_SIMULATION_COMMAND));
+            case "analyze" ->
+                backend.analyzeResults();
+            case "align" ->
+                backend.alignLatency(Integer.parseInt(getOption("max-lag", DEFAULT_MAX_LAG)));
+            case "coverage" ->
+                backend.analyzeCoverage();
+        }
+    }
+
+    /**
+     * Returns the model of the DUT file.
+     * Parses the file on every call. The daemon reuses parsed models.
+     *
+     * @param dutFile The DUT file.
+     * @return The model of the DUT.
+     * @throws IOException Error when reading the file.
+     */
+    protected DutModel loadDut(File dutFile) throws IOException {
+        return DutModel.parse(dutFile);
+    }
+
+    /**
+     * Returns the value of the required option.
+     *
+     * @throws IllegalArgumentException The option is not specified.
+     */
+    private String getOption(String name) {
+        final String value = getOption(name, null);
+
+        if (value == null)
+            throw new IllegalArgumentException("Option is not specified: --" + name);
+
+        return value;
+    }
+
+    /**
+     * Writes the test environment.
+     * Clocks that are not specified have the default frequency.
+     */
+    private void generate(Backend backend) throws Exception {
+        final HashMap<String, String> clocks = new HashMap<>();
+
+        for (String clock : backend.getDutClocks())
+            clocks.put(clock, DEFAULT_FREQUENCY);
+
+        for (String clock : getOptions("clock")) {
+            final String[] pair = splitPair(clock);
+
+            if (!clocks.containsKey(pair[0]))
+                throw new IllegalArgumentException("DUT does not have the clock: " + pair[0]);
+
+            clocks.put(pair[0], pair[1]);
+        }
+
+        backend.setClocksHashMap(clocks);
+        backend.setReportSamplingFrequency(getOption("sample-freq", DEFAULT_FREQUENCY));
+        backend.setRandomStimulus(Long.parseLong(getOption("random-samples", "0")));
+        backend.setSingleFile(Boolean.parseBoolean(getOption("single-file", "false")));
+        backend.setInstances(Integer.parseInt(getOption("instances", "1")));
+        backend.generateEnvironment();
+    }
+
+    /**
+     * Returns distributions of the "--dist" options.
+     */
+    private HashMap<String, Distribution> getDistributions() {
+        final HashMap<String, Distribution> distributions = new HashMap<>();
+
+        for (String option : getOptions("dist")) {
+            final String[] pair = splitPair(option);
+            final String[] fields = pair[1].split(":");
+
+            final Distribution distribution = switch (fields[0]) {
+                case "random" -> new RandomDistribution();
+                case "walking" -> new WalkingOnesDistribution();
+                case "ramp" -> new RampDistribution(Long.parseLong(fields[1]), Long.parseLong(fields[2]));
+                case "sine" -> new SineDistribution(Double.parseDouble(fields[1]), Double.parseDouble(fields[2]));
+                default -> throw new IllegalArgumentException("Unknown distribution: " + pair[1]);
+            };
+
+            distributions.put(pair[0], distribution);
+        }
+
+        return distributions;
+    }
+
+    /**
+     * Parses "--name value" pairs that follow the command.
+     *
+     * @return "false" when the options are malformed.
+     */
+    private boolean parseOptions(String[] args) {
+        for (int index = 1; index < args.length; index += 2) {
+            if (!args[index].startsWith("--") || index + 1 == args.length)
+                return false;
+
+            options.computeIfAbsent(args[index].substring(2), name -> new ArrayList<>()).add(args[index + 1]);
+        }
+
+        return true;
+    }
+
+    private String getOption(String name, String defaultValue) {
+        final List<String> values = getOptions(name);
+        return values.isEmpty() ? defaultValue : values.get(values.size() - 1);
+    }
+
+    private List<String> getOptions(String name) {
+        return options.getOrDefault(name, new ArrayList<>());
+    }
+
+    /**
+     * Splits the "<name>=<value>" option.
+     *
+     * @throws IllegalArgumentException The option is malformed.
+     */
+    private String[] splitPair(String option) {
+        final int index = option.indexOf('=');
+
+        if (index <= 0 || index == option.length() - 1)
+            throw new IllegalArgumentException("Option must be <name>=<value>: " + option);
+
+        return new String[]{option.substring(0, index), option.substring(index + 1)};
+    }
+
+}
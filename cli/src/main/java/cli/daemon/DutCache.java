@@ -0,0 +1,83 @@
+package cli.daemon;
+
+import backend.DutModel;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/*
+ * File: DutCache.java
+ * -----------------------------------------------
+ * Keeps parsed DUT models of the daemon.
+ *
+ * The model is parsed again when the modification time
+ * or the length of the DUT file has changed, or when any file
+ * of the DUT's dependency graph has changed ("DutModel.isChanged()"),
+ * so edits of the DUT and of its includes are seen by the next request.
+ * Models are immutable and are shared by concurrent requests.
+ */
+class DutCache {
+
+    /* Parsed models. Key is the canonical path of the DUT file. */
+    private final ConcurrentHashMap<String, Entry> entries = new ConcurrentHashMap<>();
+
+    /* Statistics of the cache. */
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+
+    /**
+     * Returns the model of the DUT file.
+     * Parses the file when it is not cached or has changed.
+     *
+     * @param dutFile The DUT file.
+     * @return The model of the DUT.
+     * @throws IOException Error when reading the file.
+     */
+    DutModel get(File dutFile) throws IOException {
+        final File file = dutFile.getCanonicalFile();
+        final String path = file.getPath();
+        final long lastModified = file.lastModified();
+        final long length = file.length();
+
+        final Entry entry = entries.get(path);
+
+        if (entry != null && entry.lastModified == lastModified && entry.length == length
+                && !entry.model.isChanged()) {
+            hits.incrementAndGet();
+            return entry.model;
+        }
+
+        misses.incrementAndGet();
+        final DutModel model = DutModel.parse(file);
+        entries.put(path, new Entry(model, lastModified, length));
+
+        return model;
+    }
+
+    /* Getters of the statistics. */
+    int size() {
+        return entries.size();
+    }
+    long getHits() {
+        return hits.get();
+    }
+    long getMisses() {
+        return misses.get();
+    }
+
+    /* The parsed model and the state of the file it was parsed from. */
+    private static class Entry {
+        private final DutModel model;
+        private final long lastModified;
+        private final long length;
+
+        private Entry(DutModel model, long lastModified, long length) {
+            this.model = model;
+            this.lastModified = lastModified;
+            this.length = length;
+        }
+    }
+
+}
@@ -0,0 +1,390 @@
+package cli.daemon;
+
+import backend.BackendParameters;
+import backend.DutModel;
+import backend.parsers.Templates;
+import cli.CommandLine;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.util.ArrayList;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/*
+ * File: GenerationDaemon.java
+ * -----------------------------------------------
+ * Serves the commands of the command line over HTTP
+ * on the loopback address, so the editor and the hooks
+ * don't pay the JVM start, reading of the templates
+ * and parsing of the DUT on every generation.
+ *
+ * Request:  POST /<command>?dut=<DUT.sv>&dir=<working folder>&<option>=<value>...
+ *           Repeated parameters are repeated options (clock=clk=25000&clock=...).
+ * Response: 200 "ok <ms> ms", 400 for the malformed request, 500 for the failed action.
+ *
+ * POST /metrics returns latencies of the requests and statistics of the caches.
+ * POST /shutdown stops the daemon.
+ *
+ * Every request must:
+ *      -- use the POST method (405 otherwise);
+ *      -- have the loopback "Host" header, so pages of DNS rebinding domains are rejected (403);
+ *      -- have the "X-Daemon-Token" header with the token of the daemon (403 otherwise).
+ *         The random token is written to the file that only the owner can read
+ *         (TOKEN_FOLDER/daemon-<port>.token) and deleted when the daemon is stopped.
+ * Path options (dut, dir, vcd) are resolved against the root folder of the daemon
+ * and must stay inside it. The "command" option of the shards is not accepted,
+ * shards are run by the default simulation command.
+ *
+ * Requests are served concurrently, but requests
+ * for the same working folder are served one by one,
+ * because they write the same files.
+ */
+public class GenerationDaemon {
+
+    /* The header with the token of the daemon. */
+    public static final String TOKEN_HEADER = "X-Daemon-Token";
+
+    /* The folder of the token files (in the user's home folder). */
+    public static final String TOKEN_FOLDER = ".tb_automation";
+
+    /* The number of random bytes of the token. */
+    private static final int TOKEN_BYTES = 32;
+
+    /* Options that name files or folders. */
+    private static final Set<String> PATH_OPTIONS = Set.of("dut", "dir", "vcd");
+
+    /* Options that are not accepted over HTTP. */
+    private static final Set<String> FORBIDDEN_OPTIONS = Set.of("command");
+
+    /* Host names of the loopback address. */
+    private static final Set<String> LOOPBACK_HOSTS = Set.of("127.0.0.1", "localhost", "[::1]");
+
+    /* Serves the requests. */
+    private final HttpServer server;
+
+    /* Threads of the requests. */
+    private final ExecutorService executor;
+
+    /* Caches of the daemon. */
+    private final DutCache dutCache = new DutCache();
+    private final LatencyMetrics metrics = new LatencyMetrics();
+
+    /* Locks of the working folders. Key is the canonical path of the folder. */
+    private final ConcurrentHashMap<String, Object> folderLocks = new ConcurrentHashMap<>();
+
+    /* Released when the daemon is stopped. */
+    private final CountDownLatch stopped = new CountDownLatch(1);
+
+    /* The folder that path options must stay inside (canonical). */
+    private final File root;
+
+    /* The token of the daemon and its file. */
+    private final byte[] token;
+    private final File tokenFile;
+
+    /**
+     * The class constructor.
+     * Binds the loopback address, but doesn't serve the requests.
+     *
+     * @param port The port of the daemon.
+     * @param threads The number of requests that are served concurrently.
+     * @param root The folder that DUT files and working folders of the requests must be inside.
+     * @throws IOException Error when binding the port.
+     */
+    public GenerationDaemon(int port, int threads, File root) throws IOException {
+        if (threads <= 0)
+            throw new IllegalArgumentException("The number of threads must be positive: " + threads);
+        if (!root.isDirectory())
+            throw new IllegalArgumentException("Root folder does not exist: " + root.getAbsolutePath());
+
+        this.root = root.getCanonicalFile();
+
+        final byte[] bytes = new byte[TOKEN_BYTES];
+        new SecureRandom().nextBytes(bytes);
+        final StringBuilder hex = new StringBuilder();
+        for (final byte value : bytes)
+            hex.append(String.format("%02x", value));
+        token = hex.toString().getBytes(StandardCharsets.US_ASCII);
+
+        server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), port), 0);
+        executor = Executors.newFixedThreadPool(threads);
+        tokenFile = getTokenFile(server.getAddress().getPort());
+
+        server.setExecutor(executor);
+        server.createContext("/metrics", exchange -> {
+            if (authorize(exchange))
+                respond(exchange, 200, report());
+        });
+        server.createContext("/shutdown", exchange -> {
+            if (!authorize(exchange))
+                return;
+            respond(exchange, 200, "ok\n");
+            stopped.countDown();
+        });
+        server.createContext("/", exchange -> {
+            if (authorize(exchange))
+                serve(exchange);
+        });
+    }
+
+    /**
+     * Returns the token file of the daemon that listens the port.
+     *
+     * @param port The port of the daemon.
+     * @return The token file.
+     */
+    public static File getTokenFile(int port) {
+        return new File(new File(System.getProperty("user.home"), TOKEN_FOLDER), "daemon-" + port + ".token");
+    }
+
+    /**
+     * Reads the templates and serves the requests until the daemon is stopped.
+     *
+     * @throws IOException Error when reading the templates.
+     * @throws InterruptedException The thread is interrupted.
+     */
+    public void run() throws IOException, InterruptedException {
+        Templates.preload(BackendParameters.TEMPLATES);
+        writeToken();
+
+        try {
+            server.start();
+            System.out.println("Daemon is listening: http://" + server.getAddress().getHostString() + ":" +
+                               server.getAddress().getPort() + "/");
+            System.out.println("Token file: " + tokenFile.getAbsolutePath() + ", root folder: " + root);
+            stopped.await();
+        }
+
+        finally {
+            server.stop(0);
+            executor.shutdown();
+            Files.deleteIfExists(tokenFile.toPath());
+            System.out.println("Daemon is stopped");
+        }
+    }
+
+    /**
+     * Writes the token to the file that only the owner can read and write.
+     * The file of the stopped daemon that listened the same port is replaced.
+     */
+    private void writeToken() throws IOException {
+        Files.createDirectories(tokenFile.getParentFile().toPath());
+        Files.deleteIfExists(tokenFile.toPath());
+
+        try {
+            Files.createFile(tokenFile.toPath(),
+                             PosixFilePermissions.asFileAttribute(PosixFilePermissions.fromString("rw-------")));
+        }
+
+        catch (UnsupportedOperationException e) {
+            /* The file system is not POSIX. */
+            Files.createFile(tokenFile.toPath());
+            if (!(tokenFile.setReadable(false, false) && tokenFile.setReadable(true, true)
+                    && tokenFile.setWritable(false, false) && tokenFile.setWritable(true, true)))
+                throw new IOException("Access to the token file can't be limited: " + tokenFile.getAbsolutePath());
+        }
+
+        catch (FileAlreadyExistsException e) {
+            throw new IOException("Token file is created by another process: " + tokenFile.getAbsolutePath(), e);
+        }
+
+        Files.write(tokenFile.toPath(), token);
+    }
+
+    /**
+     * Checks the method, the host and the token of the request.
+     * Responds with the error when the request is not allowed.
+     *
+     * @return "true" when the request is allowed.
+     */
+    private boolean authorize(HttpExchange exchange) throws IOException {
+        String error = null;
+        int status = 403;
+
+        final String host = exchange.getRequestHeaders().getFirst("Host");
+        final String requestToken = exchange.getRequestHeaders().getFirst(TOKEN_HEADER);
+
+        if (!exchange.getRequestMethod().equals("POST")) {
+            status = 405;
+            error = "Only POST requests are served.";
+            exchange.getResponseHeaders().set("Allow", "POST");
+        }
+
+        else if (host == null || !LOOPBACK_HOSTS.contains(host.replaceFirst(":\\d+$", "").toLowerCase(Locale.ROOT)))
+            error = "Host is not the loopback address: " + host;
+
+        else if (requestToken == null
+                || !MessageDigest.isEqual(token, requestToken.trim().getBytes(StandardCharsets.US_ASCII)))
+            error = "Token is missing or wrong. It is written to " + tokenFile.getAbsolutePath();
+
+        if (error == null)
+            return true;
+
+        metrics.recordRejected();
+        respond(exchange, status, "Error: " + error + "\n");
+        return false;
+    }
+
+    /**
+     * Stops the daemon. Requests that are being served are dropped.
+     */
+    public void stop() {
+        stopped.countDown();
+    }
+
+    /**
+     * Runs the command of the request.
+     */
+    private void serve(HttpExchange exchange) throws IOException {
+        final long start = System.nanoTime();
+        int status = 200;
+        String body;
+
+        try {
+            final ArrayList<String> args = resolvePaths(toArgs(exchange));
+            final String command = args.get(0);
+            final CommandLine commandLine = new CachedCommandLine();
+
+            if (command.equals("daemon") || command.equals("watch") || !commandLine.parseCommand(args.toArray(new String[0])))
+                throw new IllegalArgumentException("Unknown command or malformed options: " + command);
+
+            synchronized (getFolderLock(args)) {
+                commandLine.execute(command);
+            }
+
+            body = "ok " + toMillis(System.nanoTime() - start) + " ms\n";
+        }
+
+        catch (IllegalArgumentException e) {
+            status = 400;
+            body = "Error: " + e.getMessage() + "\n";
+        }
+
+        catch (Exception e) {
+            status = 500;
+            body = "Error: " + e.getMessage() + "\n";
+        }
+
+        metrics.record(System.nanoTime() - start, status != 200);
+        respond(exchange, status, body);
+    }
+
+    /**
+     * Converts the request to the command and its options.
+     * "/generate?dut=a.sv&clock=clk=1" becomes "generate --dut a.sv --clock clk=1".
+     */
+    private static ArrayList<String> toArgs(HttpExchange exchange) {
+        final ArrayList<String> args = new ArrayList<>();
+        args.add(exchange.getRequestURI().getPath().substring(1));
+
+        final String query = exchange.getRequestURI().getRawQuery();
+
+        if (query == null)
+            return args;
+
+        for (final String parameter : query.split("&")) {
+            final int index = parameter.indexOf('=');
+
+            if (index <= 0)
+                throw new IllegalArgumentException("Parameter must be <name>=<value>: " + parameter);
+
+            args.add("--" + URLDecoder.decode(parameter.substring(0, index), StandardCharsets.UTF_8));
+            args.add(URLDecoder.decode(parameter.substring(index + 1), StandardCharsets.UTF_8));
+        }
+
+        return args;
+    }
+
+    /**
+     * Rejects the forbidden options and resolves path options against the root folder.
+     * Paths that leave the root folder are rejected.
+     */
+    private ArrayList<String> resolvePaths(ArrayList<String> args) throws IOException {
+        for (int index = 1; index + 1 < args.size(); index += 2) {
+            final String option = args.get(index).substring(2);
+
+            if (FORBIDDEN_OPTIONS.contains(option))
+                throw new IllegalArgumentException("Option is not accepted by the daemon: --" + option);
+
+            if (!PATH_OPTIONS.contains(option))
+                continue;
+
+            File path = new File(args.get(index + 1));
+            if (!path.isAbsolute())
+                path = new File(root, args.get(index + 1));
+            path = path.getCanonicalFile();
+
+            if (!path.toPath().startsWith(root.toPath()))
+                throw new IllegalArgumentException("Path is out of the root folder: " + args.get(index + 1));
+
+            args.set(index + 1, path.getPath());
+        }
+
+        return args;
+    }
+
+    /**
+     * Returns the lock of the working folder of the request.
+     */
+    private Object getFolderLock(ArrayList<String> args) throws IOException {
+        final int index = args.lastIndexOf("--dir");
+
+        if (index < 0)
+            throw new IllegalArgumentException("Option is not specified: --dir");
+
+        final String folder = new File(args.get(index + 1)).getCanonicalPath();
+        return folderLocks.computeIfAbsent(folder, path -> new Object());
+    }
+
+    /**
+     * Returns latencies of the requests and statistics of the caches.
+     */
+    private String report() {
+        return metrics.report() +
+               "dut_cache_size " + dutCache.size() + "\n" +
+               "dut_cache_hits " + dutCache.getHits() + "\n" +
+               "dut_cache_misses " + dutCache.getMisses() + "\n" +
+               "templates_cached " + Templates.size() + "\n";
+    }
+
+    private static void respond(HttpExchange exchange, int status, String body) throws IOException {
+        final byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+
+        exchange.getResponseHeaders().set("Content-Type", "text/plain; charset=utf-8");
+        exchange.sendResponseHeaders(status, bytes.length);
+
+        try (OutputStream stream = exchange.getResponseBody()) {
+            stream.write(bytes);
+        }
+    }
+
+    private static String toMillis(long nanos) {
+        return String.format(Locale.ROOT, "%.3f", nanos / 1e6);
+    }
+
+    /* The command line that takes parsed DUTs from the daemon's cache. */
+    private class CachedCommandLine extends CommandLine {
+        @Override
+        protected DutModel loadDut(File dutFile) throws IOException {
+            return dutCache.get(dutFile);
+        }
+    }
+
+}
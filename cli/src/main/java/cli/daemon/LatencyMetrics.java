@@ -0,0 +1,81 @@
+package cli.daemon;
+
+import java.util.Arrays;
+import java.util.Locale;
+
+/*
+ * File: LatencyMetrics.java
+ * -----------------------------------------------
+ * Collects latencies of the daemon's requests.
+ *
+ * Keeps the total counts and the latencies of the last
+ * WINDOW requests, which percentiles are computed from.
+ */
+class LatencyMetrics {
+
+    /* The number of the last requests that percentiles are computed from. */
+    private static final int WINDOW = 1024;
+
+    /* Latencies of the last requests (ns). Used as the ring buffer. */
+    private final long[] latencies = new long[WINDOW];
+
+    /* Total counts of the requests. */
+    private long requests;
+    private long errors;
+
+    /* The number of rejected requests. They are not served and have no latencies. */
+    private long rejected;
+
+    /**
+     * Records the served request.
+     *
+     * @param nanos The latency of the request (ns).
+     * @param failed "true" when the request has failed.
+     */
+    synchronized void record(long nanos, boolean failed) {
+        latencies[(int) (requests % WINDOW)] = nanos;
+        requests++;
+
+        if (failed)
+            errors++;
+    }
+
+    /**
+     * Records the request that was rejected before serving:
+     * wrong method, host or token.
+     */
+    synchronized void recordRejected() {
+        rejected++;
+    }
+
+    /**
+     * Returns the metrics as "name value" lines.
+     * Latencies are in milliseconds.
+     *
+     * @return The text of the metrics.
+     */
+    synchronized String report() {
+        final long[] sorted = Arrays.copyOf(latencies, (int) Math.min(requests, WINDOW));
+        Arrays.sort(sorted);
+
+        return "requests " + requests + "\n" +
+               "errors " + errors + "\n" +
+               "rejected " + rejected + "\n" +
+               "latency_p50_ms " + toMillis(percentile(sorted, 0.5)) + "\n" +
+               "latency_p90_ms " + toMillis(percentile(sorted, 0.9)) + "\n" +
+               "latency_p99_ms " + toMillis(percentile(sorted, 0.99)) + "\n" +
+               "latency_max_ms " + toMillis(sorted.length == 0 ? 0 : sorted[sorted.length - 1]) + "\n";
+    }
+
+    private static long percentile(long[] sorted, double rank) {
+        if (sorted.length == 0)
+            return 0;
+
+        return sorted[(int) Math.ceil(rank * sorted.length) - 1];
+    }
+
+    private static String toMillis(long nanos) {
+        return String.format(Locale.ROOT, "%.3f", nanos / 1e6);
+    }
+
+}
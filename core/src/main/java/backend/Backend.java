@@ -0,0 +1,594 @@
+package backend;
+
+import backend.analysis.ChannelCoverage;
+import backend.analysis.ChannelLag;
+import backend.analysis.ChannelResult;
+import backend.analysis.CoverageAnalyzer;
+import backend.analysis.LatencyAligner;
+import backend.analysis.ResultsAnalyzer;
+import backend.filesWriter.FilesWriter;
+import backend.filesWriter.PreviewRenderer;
+import backend.models.GoldenModelEngine;
+import backend.models.GoldenModels;
+import backend.parsers.detectors.PortDescriptor;
+import backend.shards.Shard;
+import backend.shards.ShardsMerger;
+import backend.shards.ShardsRunner;
+import backend.shards.ShardsSplitter;
+import backend.stimulus.Distribution;
+import backend.stimulus.StimulusGenerator;
+import backend.vcd.VcdConverter;
+import backend.vcd.VcdExporter;
+import backend.vectors.RleCodec;
+import backend.vectors.VectorChannel;
+import backend.vectors.VectorsValidator;
+import backend.vectors.WaveformPyramid;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.HashMap;
+
+/*
+ * File: Backend.java
+ * -----------------------------------------------
+ * Backend of an application.
+ *
+ * Parses a specified DUT.sv.
+ * Creates a test environment files based
+ * on the information received.
+ * Operates with resource package
+ * where templates of the test environment files
+ * are placed.
+ *
+ * Every Backend object is an independent generation session:
+ * it owns its settings and reads templates anew for every
+ * generation. Sessions are not thread-safe themselves,
+ * but any number of sessions can run concurrently
+ * (for example, a session per request or per thread)
+ * and share one immutable DutModel object.
+ * Sessions must not share the working folder.
+ */
+public class Backend {
+
+    /* The parsed DUT module. It must be specified by a user. */
+    private DutModel dut;
+
+    /* Generates the .sv-classes, clk_hub.sv module
+    and tb.sv module that is top level module of the testbench. */
+    private final FilesWriter filesWriter;
+
+    /* The working folder where the test environment is placed. */
+    private File workingFolder;
+
+    /* The sampling frequency of the test environment (kHz). */
+    private String sampleFrequency;
+
+    /* The number of the DUT instances of the testbench. */
+    private int instances = 1;
+
+    /* Receives the progress of the long actions. */
+    private ProgressListener listener = ProgressListener.NONE;
+
+    /**
+     * The class constructor.
+     * Templates of the test environment files are not read
+     * until the environment is generated, so the backend
+     * is created quickly and can be used by the command-line tools.
+     */
+    public Backend() {
+        filesWriter = new FilesWriter();
+    }
+
+    /**
+     * The class constructor of the session
+     * for the already parsed DUT.
+     *
+     * @param dut The model of the DUT. It can be shared with other sessions.
+     * @param workingFolder The folder where the test environment is placed.
+     */
+    public Backend(DutModel dut, File workingFolder) {
+        this();
+        this.dut = dut;
+        setWorkingFolder(workingFolder);
+    }
+
+    /**
+     * Sets the absolute path of the DUT file.
+     * Parses it to the new DutModel object.
+     *
+     * @param dutFile The File object.
+     */
+    public void setDutFile(File dutFile) throws IOException {
+        listener.onProgress("Parsing " + dutFile.getName(), 0, 1);
+        dut = DutModel.parse(dutFile, listener);
+        listener.onProgress("Parsed " + dut.getLines() + " lines of " + dutFile.getName(), 1, 1);
+    }
+
+    /**
+     * Returns the model of the DUT. It can be used by other sessions.
+     *
+     * @return The DutModel object.
+     */
+    public DutModel getDutModel() {
+        return dut;
+    }
+
+    /**
+     * Sets the listener of the long actions progress.
+     * Actions that are run out of the GUI thread
+     * are cancelled by interrupting their thread.
+     *
+     * @param listener The ProgressListener object.
+     */
+    public void setProgressListener(ProgressListener listener) {
+        this.listener = listener;
+        filesWriter.setProgressListener(listener);
+    }
+
+    /**
+     * Sets the absolute path of the working directory.
+     * Test environment will be placed there.
+     *
+     * @param workingFolder The File object that contains absolute path
+     *                      of the working folder.
+     */
+    public void setWorkingFolder(File workingFolder) {
+        this.workingFolder = workingFolder;
+        filesWriter.setDirectory(workingFolder);
+    }
+
+    /**
+     * Returns the list of clock inputs of the DUT.
+     * Gets that data from the DutModel object.
+     *
+     * @return The ArrayList object that contains list of DUT's clock inputs.
+     */
+    public ArrayList<String> getDutClocks() {
+        final ArrayList<String> clocks = dut.getInputClocks();
+        System.out.println("Dut clocks are: " + clocks);
+        return clocks;
+    }
+
+    /**
+     * Sets a connection between DUT's and clk_hub's modules.
+     * Connection is represented as HashMap
+     * which key is name of DUT's clock input
+     * and value is name of clk_hub output.
+     *
+     * @param clocksHashMap The HashMap object that contains correspondence
+     *                      between DUT's and clk_hub's modules.
+     */
+    public void setClocksHashMap(HashMap<String, String> clocksHashMap) {
+        filesWriter.setClocksHashMap(new HashMap<>(clocksHashMap));
+        System.out.println("Clocks hashmap is: " + clocksHashMap);
+    }
+
+    /**
+     * Sets a sampling frequency of the created test environment.
+     * Simulation points will be written to the report files
+     * every tact of this frequency.
+     *
+     * @param reportSamplingFrequency Sampling frequency that is used
+     *                                in the test environment for writing
+     *                                output data to the report file.
+     */
+    public void setReportSamplingFrequency(String reportSamplingFrequency) {
+        filesWriter.setSampleFrequency(reportSamplingFrequency);
+        sampleFrequency = reportSamplingFrequency;
+        System.out.println("reportSamplingFrequency is: " + reportSamplingFrequency);
+    }
+
+    /**
+     * Sets the stimulus mode of the created test environment.
+     * In the random stimulus mode inputs are randomized in the simulator
+     * ("+SEED=<n>" and "+SAMPLES=<n>" plusargs), so input and expected
+     * vectors are not needed and files are not read. Reset ports are held inactive.
+     * Outputs are not checked in this mode: the run only shows
+     * that the DUT doesn't hang or crash the simulator.
+     *
+     * @param samples The default number of samples of the random stimulus
+     *                or 0 when inputs are read from the "input_data" folder.
+     * @throws IllegalArgumentException The number is negative or too large for the simulator.
+     */
+    public void setRandomStimulus(long samples) {
+        if (samples < 0 || samples > Integer.MAX_VALUE)
+            throw new IllegalArgumentException("Number of random samples must be in range [0 : " +
+                                               Integer.MAX_VALUE + "]: " + samples);
+
+        filesWriter.setRandomStimulus(samples);
+        System.out.println("Random stimulus samples: " + samples);
+    }
+
+    /**
+     * Sets the number of the DUT instances of the created testbench.
+     * Instances share the clocks and the simulator process,
+     * but every instance has its own interface and drivers
+     * and reads and writes the "instance_<num>" subfolders
+     * of the "input_data" and "output_data" folders.
+     * The simulation stops when vectors of all instances are ended.
+     *
+     * @param instances The number of instances (1 keeps the single DUT testbench).
+     * @throws IllegalArgumentException The number is not positive.
+     */
+    public void setInstances(int instances) {
+        if (instances < 1)
+            throw new IllegalArgumentException("Number of DUT instances must be positive: " + instances);
+
+        this.instances = instances;
+        filesWriter.setInstances(instances);
+        System.out.println("DUT instances: " + instances);
+    }
+
+    /**
+     * Sets the single file mode of the created test environment.
+     * In this mode the ".sv" files are joined into one include-free
+     * "tb_single.sv" file, and the project and compile scripts
+     * contain only this file and the DUT files.
+     *
+     * @param isSingleFile "true" when the files must be joined.
+     */
+    public void setSingleFile(boolean isSingleFile) {
+        filesWriter.setSingleFile(isSingleFile);
+        System.out.println("Single file mode: " + isSingleFile);
+    }
+
+    /**
+     * Creates the renderer of the test environment files preview.
+     * The DUT file and the working folder must be specified.
+     *
+     * @return The PreviewRenderer object.
+     */
+    public PreviewRenderer createPreviewRenderer() {
+        return new PreviewRenderer(workingFolder, dut.getFile(), dut.getParameters(),
+                                   dut.getInputPorts(), dut.getOutputPorts());
+    }
+
+    /**
+     * Creates ".sv-class" files.
+     * Those files describe test environment for a DUT.
+     */
+    public void generateEnvironment() throws IOException {
+        filesWriter.setDutFile(dut.getFile());
+        filesWriter.setDutGraph(dut.getDependencyGraph());
+        System.out.println("DUT name is: " + dut.getFile().getName());
+
+        filesWriter.setParameters(dut.getParameters());
+        System.out.println("Parameters are: " + dut.getParameters().keySet());
+
+        final HashMap<String, PortDescriptor> outputs = dut.getOutputPorts();
+        filesWriter.setDutOutputs(outputs);
+        System.out.println("Outputs are: " + outputs.keySet());
+
+        final HashMap<String, PortDescriptor> inputs = dut.getInputPorts();
+        filesWriter.setDutInputs(inputs);
+        System.out.println("Inputs are: " + inputs.keySet());
+
+        listener.onProgress("Validating input data", 0, 1);
+        validateVectors();
+        filesWriter.run();
+    }
+
+    /**
+     * Checks the vectors of the "input_data" folder
+     * (or of its "instance_<num>" subfolders of the batched testbench)
+     * when the folder has files, so vectors that would fail
+     * the simulation are found before it is run.
+     *
+     * @throws IOException Vectors have problems.
+     */
+    private void validateVectors() throws IOException {
+        final ArrayList<File> inputFolders = FilesWriter.getInputFolders(workingFolder, instances);
+
+        for (final File inputFolder : inputFolders)
+            validateVectors(inputFolder, inputFolders);
+    }
+
+    private void validateVectors(File inputFolder, ArrayList<File> inputFolders) throws IOException {
+        final File[] files = inputFolder.listFiles(File::isFile);
+
+        if (files == null || files.length == 0)
+            return;
+
+        final ArrayList<String> problems;
+        try {
+            problems = new VectorsValidator(inputFolder, inputFolders, dut.getInputLayout(), dut.getOutputLayout())
+                    .validate(Runtime.getRuntime().availableProcessors());
+        } catch (InterruptedException e) {
+            /* Keeps the interrupt, so the caller still sees the cancellation. */
+            Thread.currentThread().interrupt();
+            throw new IOException("Vectors validation is interrupted.", e);
+        }
+
+        if (!problems.isEmpty())
+            throw new IOException("Input data is not valid:\n" + String.join("\n", problems));
+
+        System.out.println("Input data is valid: " + inputFolder.getAbsolutePath());
+    }
+
+    /**
+     * Runs the simulation of the created test environment
+     * as a few concurrent simulator processes.
+     * Splits input and expected vectors into the shards,
+     * simulates them and merges results back
+     * into the "output_data" folder.
+     *
+     * @param shardsNum The number of shards.
+     * @param warmUp The number of samples that are simulated
+     *               before the first sample of every shard
+     *               to restore a sequential state of the DUT.
+     * @param command The command that runs a single shard
+     *                (see BackendParameters.DEFAULT_SIMULATION_COMMAND).
+     * @return The report of the merged simulation.
+     * @throws IOException Error when splitting vectors, running simulations
+     *                     or merging results.
+     * @throws InterruptedException Waiting for the simulations is interrupted.
+     */
+    public String runShards(int shardsNum, long warmUp, String command)
+            throws IOException, InterruptedException {
+
+        checkSingleInstance("Shards");
+        final ArrayList<Shard> shards = new ShardsSplitter(workingFolder).split(shardsNum, warmUp);
+        new ShardsRunner(workingFolder, command, Runtime.getRuntime().availableProcessors()).run(shards);
+        final String report = new ShardsMerger(workingFolder).merge(shards);
+
+        System.out.println("Shards report is:\n" + report);
+        return report;
+    }
+
+    /**
+     * Computes the expected vectors of the test cases
+     * with the registered Java golden model.
+     * Test cases are the "input_data" folder
+     * or its subfolders with input vectors.
+     *
+     * @param modelName The name of the golden model.
+     * @throws IOException Error when reading input vectors
+     *                     or writing expected vectors.
+     * @throws InterruptedException Processing is interrupted.
+     */
+    public void generateExpectedVectors(String modelName) throws IOException, InterruptedException {
+        final File inputFolder = new File(workingFolder, BackendParameters.INPUT_DATA_FOLDER);
+        final ArrayList<File> testCases = GoldenModelEngine.findTestCases(inputFolder);
+
+        if (testCases.isEmpty())
+            throw new IOException("Input vectors are not found: " + inputFolder.getAbsolutePath());
+
+        new GoldenModelEngine(GoldenModels.find(modelName), dut.getInputPorts(),
+                              dut.getOutputPorts(), dut.getParameters())
+                .run(testCases, Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Compares the simulation results ("output_data")
+     * with the expected vectors ("input_data")
+     * and appends the report to the "tb_analysis.log" file.
+     *
+     * @return The text of the report.
+     * @throws IOException Error when reading vectors or writing the report.
+     * @throws InterruptedException Comparing is interrupted.
+     */
+    public String analyzeResults() throws IOException, InterruptedException {
+        checkSingleInstance("Analysis");
+        final ResultsAnalyzer analyzer = new ResultsAnalyzer(workingFolder, dut.getOutputLayout());
+        final ArrayList<ChannelResult> results = analyzer.analyze(Runtime.getRuntime().availableProcessors());
+        final String report = analyzer.writeReport(results);
+
+        System.out.println("Analysis report is:\n" + report);
+        return report;
+    }
+
+    /**
+     * Finds the lag of every output channel that best aligns
+     * the simulation results ("output_data") with the expected vectors ("input_data"),
+     * so the latency change of the DUT is found without simulating again.
+     *
+     * @param maxLag The maximum lag that is tested (in samples).
+     * @return The text of the report.
+     * @throws IOException Error when reading vectors.
+     * @throws InterruptedException Aligning is interrupted.
+     */
+    public String alignLatency(int maxLag) throws IOException, InterruptedException {
+        checkSingleInstance("Latency alignment");
+        final ArrayList<ChannelLag> results = new LatencyAligner(workingFolder, dut.getOutputLayout())
+                .align(maxLag, Runtime.getRuntime().availableProcessors());
+        final String report = LatencyAligner.createReport(results);
+
+        System.out.println(report);
+        return report;
+    }
+
+    /**
+     * Generates input vectors of the DUT
+     * into the "input_data" folder.
+     *
+     * @param samples The number of samples of every vector.
+     * @param seed The seed of the vectors.
+     * @param distributions The HashMap object with names of ports
+     *                      and distributions of their values.
+     *                      Ports that are not listed are random.
+     * @throws IOException Error when writing vectors.
+     * @throws InterruptedException Writing is interrupted.
+     */
+    public void generateStimulus(long samples, long seed, HashMap<String, Distribution> distributions)
+            throws IOException, InterruptedException {
+
+        final StimulusGenerator generator = new StimulusGenerator(dut.getInputPorts(),
+                                                                  dut.getParameters(), seed);
+        distributions.forEach(generator::setDistribution);
+        generator.generate(new File(workingFolder, BackendParameters.INPUT_DATA_FOLDER), samples,
+                           Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Converts the VCD dump of an existing simulation
+     * to the input and expected vectors of the "input_data" folder.
+     * Signals are sampled at the sampling frequency of the test environment.
+     *
+     * @param vcd The VCD file.
+     * @param scope The hierarchical path of the DUT's instance in the dump.
+     * @throws IOException Error when reading the dump or writing vectors.
+     * @throws InterruptedException Converting is interrupted.
+     */
+    public void convertVcd(File vcd, String scope) throws IOException, InterruptedException {
+        if (sampleFrequency == null)
+            throw new IOException("Sampling frequency is not specified.");
+
+        new VcdConverter(scope, dut.getInputPorts(), dut.getOutputPorts(), dut.getParameters(),
+                         Long.parseLong(sampleFrequency.trim()))
+                .convert(vcd, new File(workingFolder, BackendParameters.INPUT_DATA_FOLDER),
+                         Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Writes the input, expected, output and mismatch vectors
+     * to the "tb_results.vcd" file of the working folder.
+     *
+     * @return The VCD file.
+     * @throws IOException Error when reading vectors or writing the dump.
+     */
+    public File exportVcd() throws IOException {
+        if (sampleFrequency == null)
+            throw new IOException("Sampling frequency is not specified.");
+        checkSingleInstance("VCD export");
+
+        final File vcd = new File(workingFolder, BackendParameters.RESULTS_VCD);
+        new VcdExporter(workingFolder, dut.getInputPorts(), dut.getOutputPorts(),
+                        dut.getParameters(), Long.parseLong(sampleFrequency.trim()))
+                .export(vcd);
+        return vcd;
+    }
+
+    /**
+     * Lists the waveforms of the input, expected, output and mismatch vectors
+     * of the working folder in the order of the VCD dump.
+     * Vectors of the batched testbench are listed instance by instance,
+     * their names start with the "instance_<num>/" folder.
+     * Vectors that are not created yet are skipped.
+     * Pyramids are not built, so the caller can build them in the background.
+     *
+     * @return The ArrayList object with not built pyramids of the waveforms.
+     */
+    public ArrayList<WaveformPyramid> createWaveforms() {
+        final ArrayList<WaveformPyramid> waveforms = new ArrayList<>();
+
+        if (!FilesWriter.isBatched(workingFolder)) {
+            addWaveforms(waveforms, "");
+            return waveforms;
+        }
+
+        for (int instance = 0; new File(new File(workingFolder, BackendParameters.INPUT_DATA_FOLDER),
+                BackendParameters.INSTANCE_FOLDER_PREFIX + instance).isDirectory(); instance++)
+            addWaveforms(waveforms, BackendParameters.INSTANCE_FOLDER_PREFIX + instance + "/");
+
+        return waveforms;
+    }
+
+    /* Adds the waveforms of the vector folders. The prefix is "" or the "instance_<num>/" subfolder. */
+    private void addWaveforms(ArrayList<WaveformPyramid> waveforms, String prefix) {
+        final File inputFolder = new File(new File(workingFolder, BackendParameters.INPUT_DATA_FOLDER), prefix);
+        final File outputFolder = new File(new File(workingFolder, BackendParameters.OUTPUT_DATA_FOLDER), prefix);
+
+        for (final VectorChannel channel : dut.getInputLayout().getChannels())
+            addWaveform(waveforms, inputFolder, prefix, channel, "", channel.getWidth());
+
+        for (final VectorChannel channel : dut.getOutputLayout().getChannels()) {
+            addWaveform(waveforms, inputFolder, prefix, channel,
+                        BackendParameters.EXPECTED_SUFFIX, channel.getWidth());
+            addWaveform(waveforms, outputFolder, prefix, channel, "", channel.getWidth());
+            addWaveform(waveforms, outputFolder, prefix, channel,
+                        BackendParameters.MISMATCH_SUFFIX, 1);
+        }
+    }
+
+    /* Adds the waveform of the vector when its file exists. Names are the same as in the VCD dump. */
+    private void addWaveform(ArrayList<WaveformPyramid> waveforms, File folder, String prefix,
+                             VectorChannel channel, String suffix, int width) {
+        final File file = new File(folder, channel.getFileName(suffix));
+
+        if (file.isFile())
+            waveforms.add(new WaveformPyramid(channel.getElement() < 0
+                                                      ? prefix + channel.getPort() + suffix
+                                                      : prefix + channel.getPort() + suffix + "[" + channel.getElement() + "]",
+                                              file, width, suffix.equals(BackendParameters.MISMATCH_SUFFIX)));
+    }
+
+    /**
+     * Checks that vectors of the working folder are not the vectors of the batched testbench.
+     * The tool reads only the "input_data" and "output_data" folders,
+     * so it would miss the vectors of the "instance_<num>" subfolders.
+     *
+     * @param tool The name of the tool for the error message.
+     * @throws IOException The testbench is batched.
+     */
+    private void checkSingleInstance(String tool) throws IOException {
+        if (instances > 1 || FilesWriter.isBatched(workingFolder))
+            throw new IOException(tool + " doesn't support vectors of the batched testbench (\""
+                    + BackendParameters.INSTANCE_FOLDER_PREFIX + "<num>\" subfolders): "
+                    + workingFolder.getAbsolutePath());
+    }
+
+    /**
+     * Measures the toggle coverage of the input vectors ("input_data")
+     * and appends the report to the "tb_coverage.log" file.
+     *
+     * @return The text of the report.
+     * @throws IOException Error when reading vectors or writing the report.
+     * @throws InterruptedException Analysis is interrupted.
+     */
+    public String analyzeCoverage() throws IOException, InterruptedException {
+        checkSingleInstance("Coverage");
+        final CoverageAnalyzer analyzer = new CoverageAnalyzer(workingFolder, dut.getInputLayout());
+        final ArrayList<ChannelCoverage> coverages = analyzer.analyze(Runtime.getRuntime().availableProcessors());
+        final String report = analyzer.writeReport(coverages);
+
+        System.out.println("Coverage report is:\n" + report);
+        return report;
+    }
+
+    /**
+     * Encodes mostly static vectors of the "input_data" folder
+     * (or of its "instance_<num>" subfolders of the batched testbench, see "setInstances()")
+     * to the run-length encoded ".tbr" files. The testbench reads
+     * ".tbr" files instead of ".tbv" files when they exist in all these folders,
+     * so the test environment must be generated after the encoding.
+     * Source ".tbv" files are kept for the Java tools.
+     *
+     * @param maxRatio The maximum ratio of runs to samples
+     *                 of the vector that is worth encoding (0..1).
+     * @return The names of the encoded vectors ("instance_<num>/<name>" in the batched testbench).
+     * @throws IOException Error when reading or writing vectors.
+     */
+    public ArrayList<String> compressVectors(double maxRatio) throws IOException {
+        final ArrayList<String> encoded = new ArrayList<>();
+
+        for (final File inputFolder : FilesWriter.getInputFolders(workingFolder, instances)) {
+            final File[] vectors = inputFolder.listFiles((dir, name) -> name.endsWith(BackendParameters.VECTOR_EXTENSION));
+            final String prefix = instances > 1 ? inputFolder.getName() + "/" : "";
+
+            if (vectors == null)
+                throw new IOException("Input vectors are not found: " + inputFolder.getAbsolutePath());
+
+            for (final File vector : vectors) {
+                final String name = vector.getName();
+                final File rle = new File(inputFolder,
+                        name.substring(0, name.length() - BackendParameters.VECTOR_EXTENSION.length())
+                                + BackendParameters.RLE_EXTENSION);
+
+                final long runs = RleCodec.encode(vector, rle);
+                final long samples = RleCodec.countSamples(rle);
+
+                /* Empty vector is not encoded, the validator reports it as a ".tbv" file. */
+                if (samples > 0 && runs <= samples * maxRatio)
+                    encoded.add(prefix + name);
+                else
+                    Files.delete(rle.toPath());
+            }
+        }
+
+        System.out.println("Run-length encoded vectors: " + encoded);
+        return encoded;
+    }
+
+}
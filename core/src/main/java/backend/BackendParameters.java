@@ -0,0 +1,98 @@
+package backend;
+
+/*
+ * File: BackendParameters.java
+ * ----------------------------------------------
+ * Represents an interface that stores constants.
+ */
+public interface BackendParameters {
+
+    /* Paths of the resource files. */
+    // modules
+    String TB_SV =
+            "modules/tb.sv";
+    String CLK_DRIVER_SV =
+            "modules/clk_driver.sv";
+    String CLK_GENERATOR_SV =
+            "modules/clk_generator.sv";
+
+    // classes
+    String INTERFACE_SV =
+            "classes/Interface.sv";
+    String CHECKER_SV =
+            "classes/Checker.sv";
+    String READ_DRIVER_SV =
+            "classes/ReadDriver.sv";
+    String WRITE_DRIVER_SV =
+            "classes/WriteDriver.sv";
+    String READ_GENERATOR_SV =
+            "classes/ReadGenerator.sv";
+    String READ_RLE_GENERATOR_SV =
+            "classes/ReadRleGenerator.sv";
+    String READ_RANDOM_GENERATOR_SV =
+            "classes/ReadRandomGenerator.sv";
+    String WRITE_GENERATOR_SV =
+            "classes/WriteGenerator.sv";
+
+    // scripts
+    String PRJ_MPF =
+            "scripts/prj.mpf";
+    String COMPILE_SH =
+            "scripts/compile.sh";
+    String COMPILE_DO =
+            "scripts/compile.do";
+
+    /* All templates of the test environment files. */
+    String[] TEMPLATES = {
+            TB_SV, CLK_DRIVER_SV, CLK_GENERATOR_SV,
+            INTERFACE_SV, CHECKER_SV, READ_DRIVER_SV, WRITE_DRIVER_SV,
+            READ_GENERATOR_SV, READ_RLE_GENERATOR_SV, READ_RANDOM_GENERATOR_SV, WRITE_GENERATOR_SV,
+            PRJ_MPF, COMPILE_SH, COMPILE_DO,
+    };
+
+    /* The test environment that is joined into one file (see FilesWriter.setSingleFile()). */
+    String SINGLE_FILE_SV = "tb_single.sv";
+
+    /* Folders of the working directory where are placed input and output vectors
+    that used to test DUT and check correctness of its work. */
+    String INPUT_DATA_FOLDER = "input_data";
+    String OUTPUT_DATA_FOLDER = "output_data";
+
+    /* Subfolders of the vector folders that are read and written by the DUT instances
+    of the batched testbench ("<folder>/instance_<num>"). */
+    String INSTANCE_FOLDER_PREFIX = "instance_";
+
+    /* Test vector files. Vector of the unpacked port is stored
+    as a few files: "<port_name><suffix>_<element>.tbv". */
+    String VECTOR_EXTENSION = ".tbv";
+    String EXPECTED_SUFFIX = "_expect";
+    String MISMATCH_SUFFIX = "_mismatch";
+
+    /* Run-length encoded test vector files ("<value> <samples number>" lines).
+    They are read by the testbench instead of ".tbv" files when they exist. */
+    String RLE_EXTENSION = ".tbr";
+
+    /* Reports of the results analysis that is done after the simulation
+    and of the input vectors coverage. */
+    String ANALYSIS_REPORT = "tb_analysis.log";
+    String COVERAGE_REPORT = "tb_coverage.log";
+
+    /* The waveform of the vectors that is exported to the working folder. */
+    String RESULTS_VCD = "tb_results.vcd";
+
+    /* Sharded simulation. Every shard is run in its own "shards/shard_<num>" folder. */
+    String SHARDS_FOLDER = "shards";
+    String SHARD_FOLDER_PREFIX = "shard_";
+    String SHARDS_REPORT = "tb_shards.log";
+
+    /* The command that runs a single shard simulation.
+    "<project_path>" and "<shard_path>" are replaced by absolute paths
+    of the working folder and of the shard folder. */
+    String DEFAULT_SIMULATION_COMMAND =
+            "vsim -c -lib <project_path>/work -do \"run -all; quit -f\" tb +PROJECT_PATH=<shard_path>";
+
+//    /* Default directories that stores created .sv and .mpf files */
+//    String DEFAULT_SV_DIR = "sv";
+//    String DEFAULT_MPF_DIR = "modelsim";
+
+}
@@ -0,0 +1,207 @@
+package backend;
+
+import backend.parsers.DependencyGraph;
+import backend.parsers.Parser;
+import backend.parsers.detectors.PortDescriptor;
+import backend.parsers.detectors.PortTable;
+import backend.vectors.VectorLayout;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.TreeSet;
+
+/*
+ * File: DutModel.java
+ * -----------------------------------------------
+ * Immutable description of the parsed DUT module:
+ * its file, clocks, parameters, input and output ports.
+ *
+ * The model is parsed once and can be shared
+ * by any number of Backend sessions and threads.
+ * Getters return copies, so sessions can't change
+ * the model that is used by other sessions.
+ * Ports are kept in compact PortTable objects,
+ * so models of very wide DUTs stay small in the caches.
+ * Descriptions of the ports are created on every request and are not kept,
+ * vector layouts are built from the tables ("getInputLayout()").
+ *
+ * The model also keeps the dependency graph of the DUT (files that it includes
+ * or references), so the test environment is generated without parsing them again,
+ * and modification times of those files, so caches can see that the model is outdated.
+ */
+public final class DutModel {
+
+    /* The parsed DUT file. */
+    private final File file;
+
+    /* The number of code lines of the DUT file. */
+    private final int lines;
+
+    /* Properties of the DUT module. */
+    private final ArrayList<String> clocks;
+    private final HashMap<String, String> parameters;
+    private final PortTable inputs;
+    private final PortTable outputs;
+
+    /* Files of the DUT and their dependencies. */
+    private final DependencyGraph graph;
+
+    /* Modification times of the graph's files and of the DUT's folder. Key is the absolute path. */
+    private final HashMap<String, Long> modified = new HashMap<>();
+
+    private DutModel(File file, Parser parser, DependencyGraph graph) {
+        this.file = file;
+        this.lines = parser.fileToArrayList().size();
+        this.clocks = new ArrayList<>(parser.getInputClocks());
+        this.parameters = new HashMap<>(parser.getParameters());
+        this.inputs = new PortTable(parser.getInputPorts(), this.parameters);
+        this.outputs = new PortTable(parser.getOutputPorts(), this.parameters);
+        this.graph = graph;
+
+        for (final File source : graph.getFiles())
+            modified.put(source.getAbsolutePath(), source.lastModified());
+
+        final File folder = file.getAbsoluteFile().getParentFile();
+        if (folder != null)
+            modified.put(folder.getAbsolutePath(), folder.lastModified());
+    }
+
+    /**
+     * Parses the DUT file.
+     *
+     * @param file The DUT file.
+     * @return The model of the DUT.
+     * @throws IOException Error when reading the file.
+     */
+    public static DutModel parse(File file) throws IOException {
+        return parse(file, ProgressListener.NONE);
+    }
+
+    /**
+     * Parses the DUT file and reports the read lines.
+     *
+     * @param file The DUT file.
+     * @param listener The ProgressListener object.
+     * @return The model of the DUT.
+     * @throws IOException Error when reading the file or reading is interrupted.
+     */
+    public static DutModel parse(File file, ProgressListener listener) throws IOException {
+        final Parser parser = new Parser(file, listener);
+        final DependencyGraph graph = new DependencyGraph();
+        graph.addDut(file);
+
+        return new DutModel(file, parser, graph);
+    }
+
+    /**
+     * Checks if files of the DUT have changed since the model was parsed:
+     * the DUT file, its dependencies, or the set of files in the DUT's folder.
+     *
+     * @return "true" when the model must be parsed again.
+     */
+    public boolean isChanged() {
+        for (final String path : modified.keySet())
+            if (new File(path).lastModified() != modified.get(path))
+                return true;
+
+        return false;
+    }
+
+    /**
+     * Compares the model with the previous model of the same DUT.
+     *
+     * @param previous The previous model.
+     * @return Descriptions of added, removed and changed ports,
+     *         parameters and clocks. Empty when they are the same.
+     */
+    public ArrayList<String> diff(DutModel previous) {
+        final ArrayList<String> changes = new ArrayList<>();
+
+        diff(changes, "Input", describe(previous.inputs), describe(inputs));
+        diff(changes, "Output", describe(previous.outputs), describe(outputs));
+        diff(changes, "Parameter", describeParameters(previous.parameters), describeParameters(parameters));
+
+        for (final String clock : clocks)
+            if (!previous.clocks.contains(clock))
+                changes.add("Clock added: " + clock);
+        for (final String clock : previous.clocks)
+            if (!clocks.contains(clock))
+                changes.add("Clock removed: " + clock);
+
+        return changes;
+    }
+
+    private static void diff(ArrayList<String> changes, String kind,
+                             HashMap<String, String> before, HashMap<String, String> after) {
+
+        for (final String name : new TreeSet<>(after.keySet())) {
+            if (!before.containsKey(name))
+                changes.add(kind + " added: " + after.get(name));
+            else if (!before.get(name).equals(after.get(name)))
+                changes.add(kind + " changed: " + before.get(name) + " -> " + after.get(name));
+        }
+
+        for (final String name : new TreeSet<>(before.keySet()))
+            if (!after.containsKey(name))
+                changes.add(kind + " removed: " + before.get(name));
+    }
+
+    /* Returns declarations of the ports. Key is the port's name. */
+    private static HashMap<String, String> describe(PortTable ports) {
+        final HashMap<String, String> declarations = new HashMap<>();
+
+        for (int index = 0; index < ports.size(); index++)
+            declarations.put(ports.getName(index), ports.getDescriptor(index).toString());
+
+        return declarations;
+    }
+
+    /* Returns "<name> = <value>" of the parameters. Key is the parameter's name. */
+    private static HashMap<String, String> describeParameters(HashMap<String, String> parameters) {
+        final HashMap<String, String> declarations = new HashMap<>();
+
+        for (final String name : parameters.keySet())
+            declarations.put(name, name + " = " + parameters.get(name));
+
+        return declarations;
+    }
+
+    /* Getters of the DUT's properties. */
+    public File getFile() {
+        return file;
+    }
+    public int getLines() {
+        return lines;
+    }
+    public ArrayList<String> getInputClocks() {
+        return new ArrayList<>(clocks);
+    }
+    public HashMap<String, String> getParameters() {
+        return new HashMap<>(parameters);
+    }
+    public HashMap<String, PortDescriptor> getInputPorts() {
+        return inputs.toHashMap();
+    }
+    public HashMap<String, PortDescriptor> getOutputPorts() {
+        return outputs.toHashMap();
+    }
+
+    /* Getters of the vector layouts of the ports. They are built from the tables without descriptions. */
+    public VectorLayout getInputLayout() {
+        return new VectorLayout(inputs);
+    }
+    public VectorLayout getOutputLayout() {
+        return new VectorLayout(outputs);
+    }
+
+    /* Getters of the DUT's dependencies. The graph is a copy, files can be added to it. */
+    public DependencyGraph getDependencyGraph() {
+        return new DependencyGraph(graph);
+    }
+    public ArrayList<File> getSourceFiles() {
+        return graph.getFiles();
+    }
+
+}
@@ -0,0 +1,223 @@
+package backend;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.CRC32;
+
+import static java.nio.file.StandardWatchEventKinds.ENTRY_CREATE;
+import static java.nio.file.StandardWatchEventKinds.ENTRY_DELETE;
+import static java.nio.file.StandardWatchEventKinds.ENTRY_MODIFY;
+import static java.nio.file.StandardWatchEventKinds.OVERFLOW;
+
+/*
+ * File: DutWatcher.java
+ * -----------------------------------------------
+ * Watches the DUT file, the files of its dependency graph
+ * (included files and files of the referenced modules, see "DutModel.getSourceFiles()")
+ * and the "input_data" folder of the working folder and reports their changes,
+ * so the test environment is regenerated while the DUT is edited.
+ *
+ * Events are debounced: changes are reported when
+ * no event has come for the debounce time, so
+ * a few writes of one save are one change.
+ * The DUT is parsed again only when the content hash of its files
+ * has changed or a file is created in their folders (it can declare a referenced module).
+ * Edits that do not change the content (touching, saving without changes) are ignored.
+ * Watched files are updated after every parsing, so new dependencies are watched too.
+ */
+public class DutWatcher {
+
+    /* Receives the changes of the watched files. */
+    public interface ChangeHandler {
+
+        /**
+         * Called when the DUT or the input data is changed.
+         *
+         * @param dut The model of the DUT.
+         * @param changes Descriptions of the changes (see DutModel.diff).
+         * @throws Exception Error of the handler. It is reported and watching goes on.
+         */
+        void onChange(DutModel dut, ArrayList<String> changes) throws Exception;
+    }
+
+    /* The watched DUT file. */
+    private final File dutFile;
+
+    /* The watched files of the DUT's dependency graph and the keys of their folders. */
+    private final HashSet<Path> dutFiles = new HashSet<>();
+    private final HashMap<WatchKey, Path> dutFolders = new HashMap<>();
+
+    /* The watched "input_data" folder. */
+    private final Path inputFolder;
+
+    /* The quiet time after the last event (ms). */
+    private final long debounce;
+
+    /* The current model of the DUT and the hash of the content of its files. */
+    private DutModel dut;
+    private long hash;
+
+    /**
+     * The class constructor.
+     *
+     * @param dutFile The DUT file.
+     * @param workingFolder The working folder of the test environment.
+     * @param debounce The quiet time after the last event (ms).
+     */
+    public DutWatcher(File dutFile, File workingFolder, long debounce) {
+        this.dutFile = dutFile.getAbsoluteFile();
+        this.inputFolder = new File(workingFolder, BackendParameters.INPUT_DATA_FOLDER).getAbsoluteFile().toPath();
+        this.debounce = debounce;
+    }
+
+    /**
+     * Parses the DUT and reports it as the first change.
+     * Then watches the files until the thread is interrupted.
+     *
+     * @param handler The receiver of the changes.
+     * @throws IOException Error when parsing the DUT at the start or watching the folders.
+     * @throws InterruptedException The thread is interrupted.
+     */
+    public void run(ChangeHandler handler) throws IOException, InterruptedException {
+        dut = DutModel.parse(dutFile);
+        hash = hash(dut.getSourceFiles());
+
+        final ArrayList<String> initial = new ArrayList<>();
+        initial.add("DUT is parsed: " + dutFile.getName());
+        handle(handler, initial);
+
+        Files.createDirectories(inputFolder);
+
+        try (WatchService service = FileSystems.getDefault().newWatchService()) {
+            final WatchKey inputKey = inputFolder.register(service, ENTRY_CREATE, ENTRY_MODIFY, ENTRY_DELETE);
+            watchDut(service);
+            System.out.println("Watching: " + dutFiles + ", " + inputFolder);
+
+            while (true) {
+                WatchKey key = service.take();
+                boolean dutTouched = false;
+                boolean dutCreated = false;
+                boolean inputTouched = false;
+
+                /* Collects events until the debounce time passes without them. */
+                while (key != null) {
+                    for (final WatchEvent<?> event : key.pollEvents()) {
+                        final boolean overflow = event.kind() == OVERFLOW;
+
+                        if (key == inputKey)
+                            inputTouched = true;
+                        else if (dutFolders.containsKey(key)) {
+                            if (overflow || dutFiles.contains(dutFolders.get(key).resolve((Path) event.context())))
+                                dutTouched = true;
+                            if (overflow || event.kind() == ENTRY_CREATE)
+                                dutCreated = true;
+                        }
+                    }
+
+                    key.reset();
+                    key = service.poll(debounce, TimeUnit.MILLISECONDS);
+                }
+
+                final ArrayList<String> changes = new ArrayList<>();
+
+                if (dutTouched || dutCreated) {
+                    changes.addAll(reparse(dutCreated));
+                    watchDut(service);
+                }
+                if (inputTouched)
+                    changes.add("Input data is changed");
+
+                if (!changes.isEmpty())
+                    handle(handler, changes);
+            }
+        }
+    }
+
+    /**
+     * Watches the folders of the DUT's files that are not watched yet.
+     * Files of the current model replace the watched files.
+     */
+    private void watchDut(WatchService service) throws IOException {
+        dutFiles.clear();
+
+        for (final File file : dut.getSourceFiles()) {
+            final Path path = file.getAbsoluteFile().toPath();
+            final Path folder = path.getParent();
+            dutFiles.add(path);
+
+            if (folder != null && !dutFolders.containsValue(folder))
+                dutFolders.put(folder.register(service, ENTRY_CREATE, ENTRY_MODIFY), folder);
+        }
+    }
+
+    /**
+     * Parses the DUT again when the content of its files has changed.
+     *
+     * @param isCreated "true" when a file is created in the folders of the DUT's files,
+     *                  so the DUT is parsed even when the content is the same.
+     * @return Descriptions of the changes. Empty when the content is the same.
+     */
+    private ArrayList<String> reparse(boolean isCreated) {
+        final ArrayList<String> changes = new ArrayList<>();
+
+        try {
+            if (!isCreated && hash(dut.getSourceFiles()) == hash)
+                return changes;
+
+            final DutModel newDut = DutModel.parse(dutFile);
+            final long newHash = hash(newDut.getSourceFiles());
+
+            if (newHash == hash)
+                return changes;
+
+            changes.addAll(newDut.diff(dut));
+
+            if (changes.isEmpty())
+                changes.add("DUT is edited. Ports and parameters are the same");
+
+            dut = newDut;
+            hash = newHash;
+        }
+
+        catch (IOException e) {
+            System.out.println("DUT can't be parsed: " + e.getMessage());
+        }
+
+        return changes;
+    }
+
+    private void handle(ChangeHandler handler, ArrayList<String> changes) {
+        for (final String change : changes)
+            System.out.println(change);
+
+        try {
+            handler.onChange(dut, changes);
+        } catch (Exception e) {
+            System.out.println("Error: " + e.getMessage());
+        }
+    }
+
+    /* Returns the CRC-32 of the paths and the content of the files. */
+    private static long hash(ArrayList<File> files) throws IOException {
+        final CRC32 crc = new CRC32();
+
+        for (final File file : files) {
+            crc.update(file.getAbsolutePath().getBytes(StandardCharsets.UTF_8));
+            crc.update(Files.readAllBytes(file.toPath()));
+        }
+
+        return crc.getValue();
+    }
+
+}
@@ -0,0 +1,26 @@
+package backend;
+
+/*
+ * File: ProgressListener.java
+ * -----------------------------------------------
+ * Receives the progress of the long backend actions.
+ *
+ * Actions are run out of the GUI thread, so the listener
+ * is called by the thread that runs the action.
+ * Actions can be cancelled by interrupting that thread.
+ */
+public interface ProgressListener {
+
+    /* The listener that ignores the progress. */
+    ProgressListener NONE = (stage, done, total) -> {};
+
+    /**
+     * Receives the progress of the ongoing stage.
+     *
+     * @param stage The description of the ongoing stage.
+     * @param done The amount of the done work.
+     * @param total The total amount of the stage's work.
+     */
+    void onProgress(String stage, long done, long total);
+
+}
@@ -0,0 +1,202 @@
+package backend.analysis;
+
+import backend.vectors.TestVector;
+import backend.vectors.VectorChannel;
+
+import java.util.Arrays;
+
+/*
+ * File: ChannelCoverage.java
+ * -----------------------------------------------
+ * Stores the toggle coverage and the value statistics
+ * of one input channel.
+ *
+ * Toggles of every bit are counted by bit-sliced counters:
+ * counter bit K of all 64 bits of the word is stored in one word
+ * ("plane" K), so the toggles of the whole word are added
+ * by a few bitwise operations instead of 64 increments.
+ * Planes are flushed to the plain counters before they overflow.
+ * The total number of toggles is counted by the popcount
+ * of the XORed words of the consecutive values.
+ */
+public class ChannelCoverage {
+
+    /* The number of bits of the bit-sliced counters. */
+    private static final int PLANES = 16;
+    private static final long PLANES_LIMIT = (1L << PLANES) - 1;
+
+    /* The number of bins of the values histogram. */
+    public static final int HISTOGRAM_BINS = 16;
+
+    /* The analyzed channel. */
+    private final VectorChannel channel;
+
+    /* The bit-sliced counters of the toggles: [plane][word]. */
+    private final long[][] planes;
+    private long planesSamples;
+
+    /* The number of toggles of every bit and of all bits. */
+    private final long[] toggles;
+    private long totalToggles;
+
+    /* Bits that have been "1" and bits that have been "0" at least once. */
+    private final long[] ones;
+    private final long[] zeros;
+
+    /* The histogram of the most significant bits of the values. */
+    private final long[] histogram = new long[HISTOGRAM_BINS];
+
+    /* The previous value. */
+    private final long[] previous;
+
+    /* The number of samples. */
+    private long samples;
+
+    /**
+     * The class constructor.
+     *
+     * @param channel The analyzed channel.
+     */
+    public ChannelCoverage(VectorChannel channel) {
+        this.channel = channel;
+        this.planes = new long[PLANES][channel.getWords()];
+        this.toggles = new long[channel.getWidth()];
+        this.ones = new long[channel.getWords()];
+        this.zeros = new long[channel.getWords()];
+        this.previous = new long[channel.getWords()];
+    }
+
+    /**
+     * Adds the sample.
+     *
+     * @param value The words of the value (0 is the least significant word).
+     * @param unknown The words of the unknown bits mask.
+     */
+    void add(long[] value, long[] unknown) {
+        final long lastWordMask = TestVector.getLastWordMask(channel.getWidth());
+
+        for (int word = 0; word < value.length; word++) {
+            final long mask = ~unknown[word] & (word == value.length - 1 ? lastWordMask : -1L);
+            ones[word] |= value[word] & mask;
+            zeros[word] |= ~value[word] & mask;
+
+            /* Adds the toggled bits to the bit-sliced counters (ripple carry). */
+            long carry = samples == 0 ? 0 : (value[word] ^ previous[word]) & mask;
+            totalToggles += Long.bitCount(carry);
+
+            for (int plane = 0; carry != 0; plane++) {
+                final long next = planes[plane][word] & carry;
+                planes[plane][word] ^= carry;
+                carry = next;
+            }
+
+            previous[word] = value[word];
+        }
+
+        histogram[getBin(value)]++;
+        samples++;
+
+        if (++planesSamples == PLANES_LIMIT)
+            flush();
+    }
+
+    /**
+     * Adds the bit-sliced counters to the plain counters and clears them.
+     */
+    void flush() {
+        for (int bit = 0; bit < toggles.length; bit++) {
+            long count = 0;
+            for (int plane = 0; plane < PLANES; plane++)
+                count |= (planes[plane][bit >>> 6] >>> (bit & 63) & 1) << plane;
+            toggles[bit] += count;
+        }
+
+        for (final long[] plane : planes)
+            Arrays.fill(plane, 0);
+        planesSamples = 0;
+    }
+
+    /**
+     * Returns the bin of the histogram of the value
+     * (by the most significant bits of the value).
+     */
+    private int getBin(long[] value) {
+        final int width = channel.getWidth();
+        final int binBits = Integer.numberOfTrailingZeros(HISTOGRAM_BINS);
+
+        if (width <= binBits)
+            return (int) value[0];
+
+        final int shift = width - binBits;
+        final long word = value[shift >>> 6] >>> (shift & 63);
+        final long upper = (shift & 63) + binBits > 64 ? value[(shift >>> 6) + 1] << (64 - (shift & 63)) : 0;
+
+        return (int) ((word | upper) & (HISTOGRAM_BINS - 1));
+    }
+
+    /**
+     * Returns the number of bits that have toggled at least once.
+     *
+     * @return The number of toggled bits.
+     */
+    public int getToggledBits() {
+        int toggled = 0;
+        for (final long count : toggles)
+            if (count != 0)
+                toggled++;
+        return toggled;
+    }
+
+    /**
+     * Returns the mask of the bits that have never been "1".
+     *
+     * @return The words of the mask.
+     */
+    public long[] getStuckAtZero() {
+        final long[] stuck = new long[ones.length];
+        for (int word = 0; word < stuck.length; word++)
+            stuck[word] = ~ones[word];
+        stuck[stuck.length - 1] &= TestVector.getLastWordMask(channel.getWidth());
+        return stuck;
+    }
+
+    /**
+     * Returns the mask of the bits that have never been "0".
+     *
+     * @return The words of the mask.
+     */
+    public long[] getStuckAtOne() {
+        final long[] stuck = new long[zeros.length];
+        for (int word = 0; word < stuck.length; word++)
+            stuck[word] = ~zeros[word];
+        stuck[stuck.length - 1] &= TestVector.getLastWordMask(channel.getWidth());
+        return stuck;
+    }
+
+    /**
+     * Checks if some bits of the channel have never toggled.
+     *
+     * @return "true" when the stimulus does not exercise the whole channel.
+     */
+    public boolean isNotExercised() {
+        return getToggledBits() != channel.getWidth();
+    }
+
+    /* Getters of the coverage's properties. */
+    public VectorChannel getChannel() {
+        return channel;
+    }
+    public long getSamples() {
+        return samples;
+    }
+    public long getTotalToggles() {
+        return totalToggles;
+    }
+    public long[] getToggles() {
+        return toggles;
+    }
+    public long[] getHistogram() {
+        return histogram;
+    }
+
+}
@@ -0,0 +1,63 @@
+package backend.analysis;
+
+import backend.vectors.VectorChannel;
+
+/*
+ * File: ChannelLag.java
+ * -----------------------------------------------
+ * Stores the lag that best aligns the actual vector
+ * of one output channel with its expected vector.
+ *
+ * The lag is the number of samples the actual vector
+ * is late for: actual[i + lag] is compared with expected[i].
+ * The negative lag means the actual vector is early.
+ */
+public class ChannelLag {
+
+    /* The aligned channel. */
+    private final VectorChannel channel;
+
+    /* The best lag, the number of samples compared at it
+    and the number of failing samples that remain. */
+    private final int lag;
+    private final long samples;
+    private final long mismatches;
+
+    /* The number of failing samples without the alignment (lag 0). */
+    private final long unalignedMismatches;
+
+    /**
+     * The class constructor.
+     *
+     * @param channel The aligned channel.
+     * @param lag The best lag (in samples).
+     * @param samples The number of samples compared at the best lag.
+     * @param mismatches The number of failing samples at the best lag.
+     * @param unalignedMismatches The number of failing samples at lag 0.
+     */
+    public ChannelLag(VectorChannel channel, int lag, long samples, long mismatches, long unalignedMismatches) {
+        this.channel = channel;
+        this.lag = lag;
+        this.samples = samples;
+        this.mismatches = mismatches;
+        this.unalignedMismatches = unalignedMismatches;
+    }
+
+    /* Getters of the alignment's properties. */
+    public VectorChannel getChannel() {
+        return channel;
+    }
+    public int getLag() {
+        return lag;
+    }
+    public long getSamples() {
+        return samples;
+    }
+    public long getMismatches() {
+        return mismatches;
+    }
+    public long getUnalignedMismatches() {
+        return unalignedMismatches;
+    }
+
+}
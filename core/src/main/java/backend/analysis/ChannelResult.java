@@ -0,0 +1,113 @@
+package backend.analysis;
+
+import backend.vectors.VectorChannel;
+
+import java.util.ArrayList;
+
+/*
+ * File: ChannelResult.java
+ * -----------------------------------------------
+ * Stores the result of comparing actual and expected
+ * vectors of one output channel.
+ */
+public class ChannelResult {
+
+    /* The maximum number of stored ranges of failing samples. */
+    private static final int MAX_RANGES = 1000;
+
+    /* The compared channel. */
+    private final VectorChannel channel;
+
+    /* The number of compared samples. */
+    private long samples;
+
+    /* The number of failing samples. */
+    private long errors;
+
+    /* The first and the last failing samples (-1 when there are no errors). */
+    private long firstError = -1;
+    private long lastError = -1;
+
+    /* The mask of the bits that have failed at least once. */
+    private final long[] failingBits;
+
+    /* The first ranges of failing samples. */
+    private final ArrayList<MismatchRange> ranges = new ArrayList<>();
+    private long rangesNum;
+
+    /**
+     * The class constructor.
+     *
+     * @param channel The compared channel.
+     */
+    public ChannelResult(VectorChannel channel) {
+        this.channel = channel;
+        this.failingBits = new long[channel.getWords()];
+    }
+
+    /**
+     * Adds the range of failing samples.
+     * Ranges must be added in order of samples.
+     *
+     * @param range The range of failing samples.
+     */
+    void addRange(MismatchRange range) {
+        if (firstError < 0)
+            firstError = range.getFirst();
+        lastError = range.getLast();
+        errors += range.size();
+
+        for (int word = 0; word < failingBits.length; word++)
+            failingBits[word] |= range.getBits()[word];
+
+        if (ranges.size() < MAX_RANGES)
+            ranges.add(range);
+        rangesNum++;
+    }
+
+    void setSamples(long samples) {
+        this.samples = samples;
+    }
+
+    /**
+     * Returns the mask of the failing bits as a hexadecimal string,
+     * in the same format as values of the ".tbv" files.
+     *
+     * @return The hexadecimal mask.
+     */
+    public String getFailingBitsHex() {
+        final StringBuilder hex = new StringBuilder();
+
+        for (int digit = (channel.getWidth() + 3) / 4 - 1; digit >= 0; digit--)
+            hex.append(Character.forDigit((int) (failingBits[digit >>> 4] >>> ((digit & 15) * 4)) & 0xF, 16));
+
+        return hex.toString();
+    }
+
+    /* Getters of the result's properties. */
+    public VectorChannel getChannel() {
+        return channel;
+    }
+    public long getSamples() {
+        return samples;
+    }
+    public long getErrors() {
+        return errors;
+    }
+    public long getFirstError() {
+        return firstError;
+    }
+    public long getLastError() {
+        return lastError;
+    }
+    public long[] getFailingBits() {
+        return failingBits;
+    }
+    public ArrayList<MismatchRange> getRanges() {
+        return ranges;
+    }
+    public long getRangesNum() {
+        return rangesNum;
+    }
+
+}
@@ -0,0 +1,149 @@
+package backend.analysis;
+
+import backend.BackendParameters;
+import backend.vectors.VectorChannel;
+import backend.vectors.VectorLayout;
+import backend.vectors.VectorReader;
+
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+
+/*
+ * File: CoverageAnalyzer.java
+ * -----------------------------------------------
+ * Measures how the input vectors ("input_data/<port_name>.tbv")
+ * exercise the DUT's inputs before the simulation is run.
+ *
+ * Counts toggles of every bit, finds stuck bits and
+ * builds histograms of the values. Ports are analyzed concurrently.
+ * Ports with bits that never toggle are flagged in the report.
+ */
+public class CoverageAnalyzer implements BackendParameters {
+
+    /* The working folder of the test environment. */
+    private final File dir;
+
+    /* The layout of the DUT's inputs. */
+    private final VectorLayout inputs;
+
+    /**
+     * The class constructor.
+     *
+     * @param dir The working folder of the test environment.
+     * @param inputs The layout of DUT's inputs (see "DutModel.getInputLayout()").
+     */
+    public CoverageAnalyzer(File dir, VectorLayout inputs) {
+        this.dir = dir;
+        this.inputs = inputs;
+    }
+
+    /**
+     * Analyzes all input ports concurrently.
+     *
+     * @param parallelism The maximum number of concurrently analyzed ports.
+     * @return The coverage of the channels in order of the ports names.
+     * @throws IOException Error when reading vectors.
+     * @throws InterruptedException Analysis is interrupted.
+     */
+    public ArrayList<ChannelCoverage> analyze(int parallelism) throws IOException, InterruptedException {
+        final List<VectorChannel> channels = inputs.getChannels();
+        final ExecutorService pool = Executors.newFixedThreadPool(Math.max(1, Math.min(parallelism, channels.size())));
+        final ArrayList<Future<ChannelCoverage>> futures = new ArrayList<>();
+        final ArrayList<ChannelCoverage> coverages = new ArrayList<>();
+
+        try {
+            for (final VectorChannel channel : channels)
+                futures.add(pool.submit(() -> analyze(channel)));
+
+            for (final Future<ChannelCoverage> future : futures)
+                coverages.add(future.get());
+        }
+
+        catch (ExecutionException e) {
+            if (e.getCause() instanceof IOException)
+                throw (IOException) e.getCause();
+            throw new IOException(e.getCause());
+        }
+
+        finally {
+            pool.shutdownNow();
+        }
+
+        return coverages;
+    }
+
+    private ChannelCoverage analyze(VectorChannel channel) throws IOException {
+        final ChannelCoverage coverage = new ChannelCoverage(channel);
+        final File file = new File(new File(dir, INPUT_DATA_FOLDER), channel.getFileName(""));
+
+        try (VectorReader reader = new VectorReader(file, channel.getWidth())) {
+            while (reader.next())
+                coverage.add(reader.getValue(), reader.getUnknown());
+        }
+
+        coverage.flush();
+        return coverage;
+    }
+
+    /**
+     * Creates the report and appends it
+     * to the "BackendParameters.COVERAGE_REPORT" file.
+     *
+     * @param coverages The coverage of the channels.
+     * @return The text of the report.
+     * @throws IOException Error when writing the report.
+     */
+    public String writeReport(List<ChannelCoverage> coverages) throws IOException {
+        final long notExercised = coverages.stream().filter(ChannelCoverage::isNotExercised).count();
+        final StringBuilder report = new StringBuilder(notExercised == 0 ? "COVERED" : "NOT COVERED").append("\n");
+
+        report.append("\t\tDate: ")
+              .append(LocalDateTime.now().format(DateTimeFormatter.ofPattern("HH:mm dd.MM.yyyy"))).append("\n");
+        report.append("\t\tNot exercised ports: ").append(notExercised).append("\n");
+        report.append("\t\tToggles:").append("\n");
+
+        for (final ChannelCoverage coverage : coverages) {
+            final int width = coverage.getChannel().getWidth();
+
+            report.append("\t\t\t\t").append(coverage.getChannel().getName()).append(": ")
+                  .append(coverage.getToggledBits()).append("/").append(width).append(" bits toggled, ")
+                  .append(coverage.getTotalToggles()).append(" toggles in ")
+                  .append(coverage.getSamples()).append(" samples")
+                  .append(coverage.isNotExercised() ? " - NOT EXERCISED" : "").append("\n");
+
+            report.append("\t\t\t\t\t\tstuck at 0: 'h").append(toHex(coverage.getStuckAtZero(), width))
+                  .append(", stuck at 1: 'h").append(toHex(coverage.getStuckAtOne(), width)).append("\n");
+
+            report.append("\t\t\t\t\t\thistogram:");
+            for (final long count : coverage.getHistogram())
+                report.append(" ").append(count);
+            report.append("\n");
+        }
+
+        report.append("\n");
+
+        try (Writer writer = new FileWriter(new File(dir, COVERAGE_REPORT), StandardCharsets.US_ASCII, true)) {
+            writer.append(report);
+        }
+
+        return report.toString();
+    }
+
+    private static String toHex(long[] words, int width) {
+        final StringBuilder hex = new StringBuilder();
+
+        for (int digit = (width + 3) / 4 - 1; digit >= 0; digit--)
+            hex.append(Character.forDigit((int) (words[digit >>> 4] >>> ((digit & 15) * 4)) & 0xF, 16));
+
+        return hex.toString();
+    }
+
+}
@@ -0,0 +1,165 @@
+package backend.analysis;
+
+import backend.vectors.TestVector;
+import backend.vectors.VectorReader;
+
+import java.io.IOException;
+import java.util.function.Consumer;
+
+/*
+ * File: DiffEngine.java
+ * -----------------------------------------------
+ * Compares actual and expected vectors of one channel.
+ *
+ * Samples are loaded by blocks into flat arrays of 64-bit words
+ * (values and unknown bits masks), and the failing bits of the whole block
+ * are computed by bitwise operations:
+ *
+ *      failing = (actual ^ expected) | actualUnknown | expectedUnknown
+ *
+ * Samples are checked by the whole-value rule of the "Checker.sv":
+ * the sample whose expected bits are all unknown ("'x") is not checked,
+ * otherwise any unknown bit of the actual or expected value fails,
+ * as the "==" operator of the simulator returns "x" for such values.
+ * Consecutive failing samples are merged into MismatchRange objects.
+ */
+public class DiffEngine {
+
+    /* The default number of samples in the block. */
+    private static final int BLOCK_SAMPLES = 4096;
+
+    /* The number of words of the channel's sample
+    and the mask of its most significant word. */
+    private final int words;
+    private final long lastWordMask;
+    private final int blockSamples;
+
+    /* The block of samples. */
+    private final long[] actualValues;
+    private final long[] actualUnknowns;
+    private final long[] expectedValues;
+    private final long[] expectedUnknowns;
+    private final long[] failing;
+
+    /* The range of failing samples that is not finished yet. */
+    private long rangeFirst;
+    private long[] rangeBits;
+
+    /**
+     * The class constructor.
+     *
+     * @param width The width of the compared channel (in bits).
+     */
+    public DiffEngine(int width) {
+        this(width, BLOCK_SAMPLES);
+    }
+
+    /**
+     * The class constructor.
+     *
+     * @param width The width of the compared channel (in bits).
+     * @param blockSamples The number of samples in the block.
+     */
+    public DiffEngine(int width, int blockSamples) {
+        this.words = TestVector.getWordsPerSample(width);
+        this.lastWordMask = TestVector.getLastWordMask(width);
+        this.blockSamples = blockSamples;
+        this.actualValues = new long[blockSamples * words];
+        this.actualUnknowns = new long[blockSamples * words];
+        this.expectedValues = new long[blockSamples * words];
+        this.expectedUnknowns = new long[blockSamples * words];
+        this.failing = new long[blockSamples * words];
+    }
+
+    /**
+     * Compares the vectors until one of them is over.
+     *
+     * @param actual The reader of the actual vector.
+     * @param expected The reader of the expected vector.
+     * @param ranges Receives the ranges of failing samples in order.
+     * @return The number of compared samples.
+     * @throws IOException Error when reading vectors.
+     */
+    public long compare(VectorReader actual, VectorReader expected, Consumer<MismatchRange> ranges)
+            throws IOException {
+
+        rangeBits = null;
+        long base = 0;
+
+        while (true) {
+            final int samples = load(actual, expected);
+            diff(samples);
+            collect(base, samples, ranges);
+            base += samples;
+
+            if (samples < blockSamples)
+                break;
+        }
+
+        if (rangeBits != null)
+            ranges.accept(new MismatchRange(rangeFirst, base, rangeBits));
+
+        return base;
+    }
+
+    /**
+     * Loads the next block of samples of both vectors.
+     *
+     * @return The number of loaded samples.
+     */
+    private int load(VectorReader actual, VectorReader expected) throws IOException {
+        int samples = 0;
+
+        for (int offset = 0; samples < blockSamples && actual.next() && expected.next(); samples++, offset += words) {
+            System.arraycopy(actual.getValue(), 0, actualValues, offset, words);
+            System.arraycopy(actual.getUnknown(), 0, actualUnknowns, offset, words);
+            System.arraycopy(expected.getValue(), 0, expectedValues, offset, words);
+            System.arraycopy(expected.getUnknown(), 0, expectedUnknowns, offset, words);
+        }
+
+        return samples;
+    }
+
+    /**
+     * Computes the failing bits of the loaded samples.
+     * Samples with all expected bits unknown do not fail.
+     */
+    private void diff(int samples) {
+        for (int sample = 0, offset = 0; sample < samples; sample++, offset += words) {
+            boolean isDefined = expectedUnknowns[offset + words - 1] != lastWordMask;
+            for (int word = 0; word < words - 1; word++)
+                isDefined |= expectedUnknowns[offset + word] != -1L;
+
+            for (int index = offset; index < offset + words; index++)
+                failing[index] = isDefined
+                        ? (actualValues[index] ^ expectedValues[index]) | actualUnknowns[index] | expectedUnknowns[index]
+                        : 0;
+        }
+    }
+
+    /**
+     * Merges the failing samples of the block into the ranges.
+     */
+    private void collect(long base, int samples, Consumer<MismatchRange> ranges) {
+        for (int sample = 0, offset = 0; sample < samples; sample++, offset += words) {
+            long any = 0;
+            for (int word = 0; word < words; word++)
+                any |= failing[offset + word];
+
+            if (any != 0) {
+                if (rangeBits == null) {
+                    rangeFirst = base + sample;
+                    rangeBits = new long[words];
+                }
+                for (int word = 0; word < words; word++)
+                    rangeBits[word] |= failing[offset + word];
+            }
+
+            else if (rangeBits != null) {
+                ranges.accept(new MismatchRange(rangeFirst, base + sample, rangeBits));
+                rangeBits = null;
+            }
+        }
+    }
+
+}
@@ -0,0 +1,221 @@
+package backend.analysis;
+
+import backend.BackendParameters;
+import backend.vectors.TestVector;
+import backend.vectors.VectorChannel;
+import backend.vectors.VectorLayout;
+import backend.vectors.VectorReader;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+
+/*
+ * File: LatencyAligner.java
+ * -----------------------------------------------
+ * Finds the output latency of the DUT after the simulation,
+ * when the pipeline depth has changed and every expected vector
+ * is off by a few samples.
+ *
+ * For every output channel the actual vector ("output_data")
+ * is compared with the expected one ("input_data/<port>_expect.tbv")
+ * at every lag in range [-maxLag : maxLag].
+ * Every lag is tested over the same window of expected samples
+ * [maxLag : size - maxLag), so the lags are compared by the same samples
+ * and a large lag can't win by a small overlap of the vectors.
+ * Channels are aligned one by one, lags of the channel are tested concurrently.
+ * The lag with the fewest failing samples wins;
+ * the smaller lag wins when the numbers are equal.
+ *
+ * Vectors are read into the memory once per channel. Failing samples
+ * are counted by a loop of bitwise operations over the flat arrays
+ * of 64-bit words by the whole-value rule of the DiffEngine.
+ */
+public class LatencyAligner implements BackendParameters {
+
+    /* The working folder of the test environment. */
+    private final File dir;
+
+    /* The layout of the DUT's outputs. */
+    private final VectorLayout outputs;
+
+    /**
+     * The class constructor.
+     *
+     * @param dir The working folder of the test environment.
+     * @param outputs The layout of DUT's outputs (see "DutModel.getOutputLayout()").
+     */
+    public LatencyAligner(File dir, VectorLayout outputs) {
+        this.dir = dir;
+        this.outputs = outputs;
+    }
+
+    /**
+     * Finds the best lag of every output channel.
+     *
+     * @param maxLag The maximum lag that is tested (in samples).
+     * @param parallelism The maximum number of concurrently tested lags.
+     * @return The best lags of the channels in order of the ports names.
+     * @throws IOException Error when reading vectors
+     *                     or vectors are too short for the maximum lag.
+     * @throws InterruptedException Aligning is interrupted.
+     */
+    public ArrayList<ChannelLag> align(int maxLag, int parallelism) throws IOException, InterruptedException {
+        if (maxLag < 0)
+            throw new IllegalArgumentException("Maximum lag must not be negative: " + maxLag);
+
+        final List<VectorChannel> channels = outputs.getChannels();
+        final ExecutorService pool = Executors.newFixedThreadPool(Math.max(1, parallelism));
+        final ArrayList<ChannelLag> results = new ArrayList<>();
+
+        try {
+            for (final VectorChannel channel : channels) {
+                final TestVector actual = VectorReader.read(getActualFile(channel), channel.getWidth());
+                final TestVector expected = VectorReader.read(getExpectedFile(channel), channel.getWidth());
+
+                /* The window of expected samples that is compared at every lag. */
+                final int samples = Math.min(actual.size(), expected.size()) - 2 * maxLag;
+                if (samples <= 0)
+                    throw new IOException("Vectors of " + channel.getName() + " are too short for the lag " +
+                                          maxLag + ": " + Math.min(actual.size(), expected.size()) + " samples");
+
+                /* Failing samples of every tested lag. Index of the lag is "lag + maxLag". */
+                final ArrayList<Future<Long>> lags = new ArrayList<>();
+
+                for (int lag = -maxLag; lag <= maxLag; lag++) {
+                    final int tested = lag;
+                    lags.add(pool.submit(() -> countMismatches(actual, expected, tested, maxLag, samples)));
+                }
+
+                results.add(selectBest(channel, lags, maxLag, samples));
+            }
+        }
+
+        catch (ExecutionException e) {
+            if (e.getCause() instanceof IOException)
+                throw (IOException) e.getCause();
+            throw new IOException(e.getCause());
+        }
+
+        finally {
+            pool.shutdownNow();
+        }
+
+        return results;
+    }
+
+    /**
+     * Selects the lag with the fewest failing samples.
+     */
+    private ChannelLag selectBest(VectorChannel channel, ArrayList<Future<Long>> lags, int maxLag, int samples)
+            throws ExecutionException, InterruptedException {
+
+        final long unaligned = lags.get(maxLag).get();
+        int bestLag = 0;
+        long best = unaligned;
+
+        for (int index = 0; index < lags.size(); index++) {
+            final int lag = index - maxLag;
+            final long mismatches = lags.get(index).get();
+
+            if (mismatches < best || mismatches == best && Math.abs(lag) < Math.abs(bestLag)) {
+                bestLag = lag;
+                best = mismatches;
+            }
+        }
+
+        return new ChannelLag(channel, bestLag, samples, best, unaligned);
+    }
+
+    /**
+     * Counts failing samples when actual[i + lag] is compared with expected[i]
+     * for "i" in range [first : first + samples).
+     * Samples are checked by the whole-value rule (see DiffEngine):
+     * the sample with all expected bits unknown is not checked,
+     * otherwise any unknown bit fails.
+     *
+     * @return The number of failing samples.
+     */
+    static long countMismatches(TestVector actual, TestVector expected, int lag, int first, int samples) {
+        final int words = actual.getWordsPerSample();
+        final long lastWordMask = TestVector.getLastWordMask(actual.getWidth());
+
+        final long[] actualValues = actual.getValues();
+        final long[] expectedValues = expected.getValues();
+        final long[] actualUnknowns = actual.hasUnknowns() ? actual.getUnknowns() : null;
+        final long[] expectedUnknowns = expected.hasUnknowns() ? expected.getUnknowns() : null;
+
+        final int actualOffset = (first + lag) * words;
+        final int expectedOffset = first * words;
+        long mismatches = 0;
+
+        /* The common case: one word per sample and all bits are known. */
+        if (words == 1 && actualUnknowns == null && expectedUnknowns == null) {
+            for (int sample = 0; sample < samples; sample++)
+                if (actualValues[actualOffset + sample] != expectedValues[expectedOffset + sample])
+                    mismatches++;
+
+            return mismatches;
+        }
+
+        for (int sample = 0; sample < samples; sample++) {
+            final int a = actualOffset + sample * words;
+            final int e = expectedOffset + sample * words;
+
+            if (expectedUnknowns != null) {
+                boolean isDefined = expectedUnknowns[e + words - 1] != lastWordMask;
+                for (int word = 0; word < words - 1; word++)
+                    isDefined |= expectedUnknowns[e + word] != -1L;
+
+                if (!isDefined)
+                    continue;
+            }
+
+            long failing = 0;
+            for (int word = 0; word < words; word++)
+                failing |= (actualValues[a + word] ^ expectedValues[e + word])
+                        | (actualUnknowns == null ? 0 : actualUnknowns[a + word])
+                        | (expectedUnknowns == null ? 0 : expectedUnknowns[e + word]);
+
+            if (failing != 0)
+                mismatches++;
+        }
+
+        return mismatches;
+    }
+
+    private File getActualFile(VectorChannel channel) {
+        return new File(new File(dir, OUTPUT_DATA_FOLDER), channel.getFileName(""));
+    }
+
+    private File getExpectedFile(VectorChannel channel) {
+        return new File(new File(dir, INPUT_DATA_FOLDER), channel.getFileName(EXPECTED_SUFFIX));
+    }
+
+    /**
+     * Creates the report of the alignment.
+     *
+     * @param results The best lags of the channels.
+     * @return The text of the report.
+     */
+    public static String createReport(List<ChannelLag> results) {
+        final StringBuilder report = new StringBuilder("Output latency alignment:\n");
+
+        for (final ChannelLag result : results) {
+            report.append("\t\t").append(result.getChannel().getName())
+                  .append(": lag ").append(result.getLag())
+                  .append(", mismatches ").append(result.getMismatches())
+                  .append(" of ").append(result.getSamples())
+                  .append(" (without alignment ").append(result.getUnalignedMismatches()).append(")\n");
+        }
+
+        final long lags = results.stream().mapToInt(ChannelLag::getLag).distinct().count();
+        if (lags > 1)
+            report.append("\t\tChannels have different lags.\n");
+
+        return report.toString();
+    }
+
+}
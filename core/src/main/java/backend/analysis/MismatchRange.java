@@ -0,0 +1,51 @@
+package backend.analysis;
+
+/*
+ * File: MismatchRange.java
+ * -----------------------------------------------
+ * Describes a range of consecutive failing samples of a channel.
+ */
+public class MismatchRange {
+
+    /* The first failing sample and the sample that follows the last one. */
+    private final long first;
+    private final long end;
+
+    /* The mask of the bits that fail in the range. */
+    private final long[] bits;
+
+    /**
+     * The class constructor.
+     *
+     * @param first The first failing sample.
+     * @param end The sample that follows the last failing sample.
+     * @param bits The mask of the bits that fail in the range.
+     */
+    public MismatchRange(long first, long end, long[] bits) {
+        this.first = first;
+        this.end = end;
+        this.bits = bits;
+    }
+
+    /* Getters of the range's properties. */
+    public long getFirst() {
+        return first;
+    }
+    public long getLast() {
+        return end - 1;
+    }
+    public long getEnd() {
+        return end;
+    }
+    public long size() {
+        return end - first;
+    }
+    public long[] getBits() {
+        return bits;
+    }
+
+    public String toString() {
+        return size() == 1 ? String.valueOf(first) : first + ".." + getLast();
+    }
+
+}
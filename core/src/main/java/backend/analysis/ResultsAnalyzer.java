@@ -0,0 +1,150 @@
+package backend.analysis;
+
+import backend.BackendParameters;
+import backend.vectors.VectorChannel;
+import backend.vectors.VectorLayout;
+import backend.vectors.VectorReader;
+
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+
+/*
+ * File: ResultsAnalyzer.java
+ * -----------------------------------------------
+ * Checks results of the simulation after it is finished.
+ *
+ * Compares the actual output vectors ("output_data/<port_name>.tbv")
+ * with the expected ones ("input_data/<port_name>_expect.tbv").
+ * Channels are compared concurrently by the DiffEngine objects,
+ * files are memory-mapped.
+ *
+ * The analyzer makes in-simulation checking unnecessary,
+ * so the simulation can be run with the "+SKIP_CHECK" plusarg.
+ */
+public class ResultsAnalyzer implements BackendParameters {
+
+    /* The working folder of the test environment. */
+    private final File dir;
+
+    /* The layout of the DUT's outputs. */
+    private final VectorLayout outputs;
+
+    /**
+     * The class constructor.
+     *
+     * @param dir The working folder of the test environment.
+     * @param outputs The layout of DUT's outputs (see "DutModel.getOutputLayout()").
+     */
+    public ResultsAnalyzer(File dir, VectorLayout outputs) {
+        this.dir = dir;
+        this.outputs = outputs;
+    }
+
+    /**
+     * Compares all output channels concurrently.
+     *
+     * @param parallelism The maximum number of concurrently compared channels.
+     * @return The results of the channels in order of the ports names.
+     * @throws IOException Error when reading vectors.
+     * @throws InterruptedException Comparing is interrupted.
+     */
+    public ArrayList<ChannelResult> analyze(int parallelism) throws IOException, InterruptedException {
+        final List<VectorChannel> channels = outputs.getChannels();
+        final ExecutorService pool = Executors.newFixedThreadPool(Math.max(1, Math.min(parallelism, channels.size())));
+        final ArrayList<Future<ChannelResult>> futures = new ArrayList<>();
+        final ArrayList<ChannelResult> results = new ArrayList<>();
+
+        try {
+            for (final VectorChannel channel : channels)
+                futures.add(pool.submit(() -> compare(channel)));
+
+            for (final Future<ChannelResult> future : futures)
+                results.add(future.get());
+        }
+
+        catch (ExecutionException e) {
+            if (e.getCause() instanceof IOException)
+                throw (IOException) e.getCause();
+            throw new IOException(e.getCause());
+        }
+
+        finally {
+            pool.shutdownNow();
+        }
+
+        return results;
+    }
+
+    /**
+     * Compares actual and expected vectors of the channel.
+     * The actual vector is shorter by one sample,
+     * because the last input sample is not applied,
+     * so only the common samples are compared.
+     */
+    private ChannelResult compare(VectorChannel channel) throws IOException {
+        final ChannelResult result = new ChannelResult(channel);
+
+        try (VectorReader actual = new VectorReader(getActualFile(channel), channel.getWidth());
+             VectorReader expected = new VectorReader(getExpectedFile(channel), channel.getWidth())) {
+
+            result.setSamples(new DiffEngine(channel.getWidth()).compare(actual, expected, result::addRange));
+        }
+
+        return result;
+    }
+
+    private File getActualFile(VectorChannel channel) {
+        return new File(new File(dir, OUTPUT_DATA_FOLDER), channel.getFileName(""));
+    }
+
+    private File getExpectedFile(VectorChannel channel) {
+        return new File(new File(dir, INPUT_DATA_FOLDER), channel.getFileName(EXPECTED_SUFFIX));
+    }
+
+    /**
+     * Creates the report in the format of the "tb.log" file
+     * and appends it to the "BackendParameters.ANALYSIS_REPORT" file.
+     *
+     * @param results The results of the channels.
+     * @return The text of the report.
+     * @throws IOException Error when writing the report.
+     */
+    public String writeReport(List<ChannelResult> results) throws IOException {
+        final long errors = results.stream().mapToLong(ChannelResult::getErrors).sum();
+        final long samples = results.stream().mapToLong(ChannelResult::getSamples).max().orElse(0);
+        final StringBuilder report = new StringBuilder(errors == 0 ? "PASS" : "FAIL").append("\n");
+
+        report.append("\t\tDate: ")
+              .append(LocalDateTime.now().format(DateTimeFormatter.ofPattern("HH:mm dd.MM.yyyy"))).append("\n");
+        report.append("\t\tSamples: ").append(samples).append("\n");
+        report.append("\t\tMismatches:").append("\n");
+
+        for (final ChannelResult result : results) {
+            report.append("\t\t\t\t").append(result.getChannel().getName()).append(": ").append(result.getErrors());
+
+            if (result.getErrors() != 0)
+                report.append(" (samples ").append(result.getFirstError()).append("..").append(result.getLastError())
+                      .append(" in ").append(result.getRangesNum()).append(" ranges")
+                      .append(", bits 'h").append(result.getFailingBitsHex()).append(")");
+
+            report.append("\n");
+        }
+
+        report.append("\n");
+
+        try (Writer writer = new FileWriter(new File(dir, ANALYSIS_REPORT), StandardCharsets.US_ASCII, true)) {
+            writer.append(report);
+        }
+
+        return report.toString();
+    }
+
+}
@@ -0,0 +1,484 @@
+package backend.filesWriter;
+
+import backend.BackendParameters;
+import backend.ProgressListener;
+import backend.filesWriter.codegens.mpf.MPFCodegen;
+import backend.filesWriter.codegens.scripts.CompileScriptCodegen;
+import backend.filesWriter.codegens.sv.*;
+import backend.parsers.DependencyGraph;
+import backend.parsers.detectors.PortDescriptor;
+
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+
+/*
+ * File: FilesWriter.java
+ * -----------------------------------------------
+ * Writes a test environment files based
+ * on the information received.
+ * Operates with resource package
+ * where templates of the test environment files
+ * are placed.
+ *
+ * Templates are read only when the files are written,
+ * so creating the object does not read resources.
+ * Settings are stored and applied to the new generators
+ * on every run, thus the environment can be written again
+ * after the settings are changed.
+ *
+ * In the single file mode the ".sv" files are joined into one
+ * include-free "tb_single.sv" file, so the simulator opens only it and the DUT.
+ */
+public class FilesWriter implements BackendParameters {
+
+    /* The working directory that must be opened.
+    It is specified by user. */
+    private File dir;
+
+    /* The DUT file. It is the top level file of the compiled project. */
+    private File dutFile;
+
+    /* Dependencies of the DUT file. Taken from the DUT model, so the DUT is not parsed again. */
+    private DependencyGraph dutGraph;
+
+    /* Factories of the generators of the ".sv" files in order of their writing.
+    Generator reads its template when it is created. */
+    static final SVCodegenFactory[] SV_CODEGENS = {
+        TBCodegen::new,
+        ClockDriverCodegen::new,
+        InterfaceCodegen::new,
+        CheckerCodegen::new,
+        ReadDriverCodegen::new,
+        WriteDriverCodegen::new,
+        () -> new SVCodegen(READ_GENERATOR_SV),
+        () -> new SVCodegen(READ_RLE_GENERATOR_SV),
+        () -> new SVCodegen(READ_RANDOM_GENERATOR_SV),
+        () -> new SVCodegen(WRITE_GENERATOR_SV),
+        () -> new SVCodegen(CLK_GENERATOR_SV),
+    };
+
+    /* Settings of the generators. */
+    private HashMap<String, String> clocks;
+    private String sampleFreq;
+    private long randomSamples;
+    private boolean isSingleFile;
+    private int instances = 1;
+    private HashMap<String, String> parameters;
+    private HashMap<String, PortDescriptor> inputs;
+    private HashMap<String, PortDescriptor> outputs;
+
+    /* The numbers of written and unchanged files of the last run. */
+    private int writtenFiles;
+    private int unchangedFiles;
+
+    /* Receives the progress of the files writing. */
+    private ProgressListener listener = ProgressListener.NONE;
+
+    /**
+     * Generates all files needed for test environment.
+     * Overwrites resource files (if needed) and copies them to a destination folder.
+     *
+     * @throws IOException The error of creating a new files.
+     */
+    public void run() throws IOException {
+        final DependencyGraph graph = dutGraph == null ? new DependencyGraph() : new DependencyGraph(dutGraph);
+        if (dutGraph == null)
+            graph.addDut(dutFile);
+
+        if (instances > 1)
+            createInstanceFolders();
+
+        long bytes = 0;
+        writtenFiles = 0;
+        unchangedFiles = 0;
+
+        final LinkedHashMap<String, ArrayList<String>> rendered = new LinkedHashMap<>();
+
+        for (int index = 0; index < SV_CODEGENS.length; index++) {
+            if (Thread.currentThread().isInterrupted())
+                throw new InterruptedIOException("Generation of the test environment is cancelled.");
+
+            final SVCodegen codegen = SV_CODEGENS[index].create();
+            configure(codegen, dir, clocks, sampleFreq, randomSamples, instances, dutFile, parameters, inputs, outputs);
+
+            if (isSingleFile)
+                rendered.put(codegen.getName(), codegen.getParsedFile());
+            else {
+                bytes += writeFile(codegen.getParsedFile(), codegen.getName());
+                graph.addFile(new File(dir, codegen.getName()), codegen.getParsedFile());
+            }
+            listener.onProgress("Rendered " + codegen.getName() + " (" + bytes + " bytes written)",
+                                index + 1, SV_CODEGENS.length + 1);
+        }
+
+        if (isSingleFile) {
+            final ArrayList<String> lines = new SourceAmalgamator(rendered).amalgamate(dir);
+            writeFile(lines, SINGLE_FILE_SV);
+            graph.addFile(new File(dir, SINGLE_FILE_SV), lines);
+        }
+
+        createModelsimProject(graph);
+        createCompileScripts(graph);
+        listener.onProgress("Project files are written", SV_CODEGENS.length + 1, SV_CODEGENS.length + 1);
+        System.out.println("Files written: " + writtenFiles + ", unchanged: " + unchangedFiles);
+    }
+
+    /**
+     * Applies the settings to the generator.
+     * Settings are applied in the fixed order,
+     * because generators replace template lines
+     * that are added by the previous settings.
+     * Settings that are not specified are skipped.
+     *
+     * @param codegen The generator of the ".sv" file.
+     * @param dir The working folder.
+     * @param clocks The HashMap object that contains correspondence
+     *               between DUT's clocks and their frequencies.
+     * @param sampleFreq The sampling frequency of the test environment.
+     * @param randomSamples The default number of samples of the random stimulus
+     *                      or 0 when inputs are read from the files.
+     * @param instances The number of the DUT instances of the testbench.
+     * @param dutFile The DUT file.
+     * @param parameters The HashMap object with names
+     *                   and values of DUT's parameters.
+     * @param inputs The HashMap object with names
+     *               and descriptions of DUT's inputs.
+     * @param outputs The HashMap object with names
+     *                and descriptions of DUT's outputs.
+     */
+    static void configure(SVCodegen codegen, File dir, HashMap<String, String> clocks, String sampleFreq,
+                          long randomSamples, int instances, File dutFile, HashMap<String, String> parameters,
+                          HashMap<String, PortDescriptor> inputs, HashMap<String, PortDescriptor> outputs) {
+
+        codegen.setDirectory(dir);
+        codegen.setInputFolders(getInputFolders(dir, instances));
+        if (clocks != null)
+            codegen.setClocks(clocks);
+        if (sampleFreq != null)
+            codegen.setSampleFreq(sampleFreq);
+        codegen.setRandomStimulus(randomSamples);
+        codegen.setDutName(dutFile.getName());
+        codegen.setParameters(parameters);
+        codegen.setOutputs(outputs);
+        codegen.setInputs(inputs);
+        codegen.setInstances(instances);
+    }
+
+    /**
+     * Sets the listener of the files writing progress.
+     *
+     * @param listener The ProgressListener object.
+     */
+    public void setProgressListener(ProgressListener listener) {
+        this.listener = listener;
+    }
+
+    private void createModelsimProject(DependencyGraph graph) throws IOException {
+        final MPFCodegen mpfCodegen = new MPFCodegen(PRJ_MPF);
+        mpfCodegen.setDirectory(dir);
+        mpfCodegen.setFiles(graph);
+        writeFile(mpfCodegen.getParsedFile(), mpfCodegen.getName());
+        Files.createDirectories(new File(dir, "work").toPath());
+        System.out.println("Modelsim project created.");
+    }
+
+    /**
+     * Writes scripts that compile the DUT and test environment files
+     * level by level of the dependency graph.
+     *
+     * @param graph The dependency graph of the DUT and test environment files.
+     * @throws IOException The error of creating a new files.
+     */
+    private void createCompileScripts(DependencyGraph graph) throws IOException {
+        final ArrayList<ArrayList<File>> levels = graph.getCompileLevels();
+        final CompileScriptCodegen[] scriptCodegens = {
+            new CompileScriptCodegen(COMPILE_SH),
+            new CompileScriptCodegen(COMPILE_DO),
+        };
+
+        for (CompileScriptCodegen codegen : scriptCodegens) {
+            codegen.setLevels(levels);
+            writeFile(codegen.getParsedFile(), codegen.getName());
+        }
+
+        if (!getFile(scriptCodegens[0].getName()).setExecutable(true))
+            System.out.println("Compile script can't be made executable.");
+        System.out.println("Compile scripts created. Compile levels: " + levels.size());
+    }
+
+    /**
+     * Writes a parsed file into specified directory.
+     * The file that already has the same lines is not written,
+     * so its modification time is kept and it is not compiled again.
+     *
+     * @return The number of written symbols.
+     * @throws IOException Error when creating a new folder or file.
+     */
+    public long writeFile(final ArrayList<String> lines, final String fileName)
+            throws IOException {
+
+        if (isUnchanged(getFile(fileName), lines)) {
+            System.out.println("File unchanged: " + getFile(fileName).getAbsolutePath());
+            unchangedFiles++;
+            return 0;
+        }
+
+        writtenFiles++;
+
+        final FileWriter fileWriter = new FileWriter(createFile(fileName));
+        long written = 0;
+
+        for (final String line: lines) {
+            fileWriter.append(line).append("\n");
+            written += line.length() + 1;
+        }
+
+        fileWriter.close();
+        return written;
+    }
+
+    /**
+     * Checks if the file already has the lines.
+     * The file that can't be read is considered changed.
+     */
+    private boolean isUnchanged(File file, ArrayList<String> lines) {
+        if (!file.isFile())
+            return false;
+
+        try {
+            return Files.readAllLines(file.toPath(), Charset.defaultCharset()).equals(lines);
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Creates a subdirectory for a new file.
+     * Writes new empty file into it.
+     * The file that is written by the previous generation
+     * of the session is overwritten.
+     *
+     * @param fileName The name of parsed file.
+     * @return The created file.
+     * @throws IOException Error when creating a new folder or file.
+     */
+    private File createFile(String fileName) throws IOException {
+        File file = getFile(fileName);
+
+        if (file.createNewFile())
+            System.out.println("File created: " + file.getAbsolutePath());
+        else if (file.isFile())
+            System.out.println("File overwritten: " + file.getAbsolutePath());
+        else
+            throw new IOException("File " + file.getAbsolutePath() + " can't be created.");
+
+        return file;
+    }
+
+    /**
+     * Returns the file of the working directory.
+     *
+     * @param fileName The name of the file.
+     * @return The File object.
+     */
+    private File getFile(String fileName) {
+        return new File(dir, fileName);
+    }
+
+    /**
+     * Sets the absolute path of the working directory.
+     * Test environment will be placed there.
+     * Creates the folders of input and output vectors,
+     * so vectors can be placed there before the environment is written.
+     *
+     * @param dir The File object that contains absolute path
+     *                      of the working folder.
+     */
+    public void setDirectory(File dir) {
+        if (dir.mkdir())
+            System.out.println("Directory created: " + dir.getAbsolutePath());
+        else
+            System.out.println("Directory can't be created: " + dir.getAbsolutePath());
+
+        for (String folder : new String[]{INPUT_DATA_FOLDER, OUTPUT_DATA_FOLDER})
+            if (!new File(dir, folder).mkdir())
+                System.out.println("Error when creating a new folder. Check that specified working folder is empty.\n"
+                        + new File(dir, folder).getAbsolutePath() + "\n");
+
+        this.dir = dir;
+        System.out.println("Working folder is set. Folder = " + dir.getAbsolutePath());
+    }
+
+    /**
+     * Sets a connection between DUT's and clk_hub's sv.
+     * Connection is represented as HashMap
+     * which key is name of DUT's clock input
+     * and value is name of clk_hub output.
+     *
+     * @param clocksHashMap The HashMap object that contains correspondence
+     *                      between DUT's and clk_hub's sv.
+     */
+    public void setClocksHashMap(HashMap<String, String> clocksHashMap) {
+        clocks = clocksHashMap;
+    }
+
+    /**
+     * Sets a sampling frequency of the created test environment.
+     * Simulation points will be written to the report files
+     * every tact of this frequency.
+     *
+     * @param freq Sampling frequency that is used
+     *             in the test environment for writing
+     *             output data to the report file.
+     */
+    public void setSampleFrequency(String freq) {
+        sampleFreq = freq;
+    }
+
+    /**
+     * Sets the stimulus mode of the ReadDriver class.
+     * In the random stimulus mode inputs are driven by ReadRandomGenerator objects
+     * and expected outputs are not read, so the simulation does not read files.
+     *
+     * @param samples The default number of samples of the random stimulus
+     *                (the "+SAMPLES=<n>" plusarg overrides it)
+     *                or 0 when inputs are read from the files.
+     */
+    public void setRandomStimulus(long samples) {
+        randomSamples = samples;
+    }
+
+    /**
+     * Creates the vector subfolders of the DUT instances,
+     * so the simulator can open output files there.
+     *
+     * @throws IOException Error when creating a folder.
+     */
+    private void createInstanceFolders() throws IOException {
+        for (int instance = 0; instance < instances; instance++)
+            for (String folder : new String[]{INPUT_DATA_FOLDER, OUTPUT_DATA_FOLDER})
+                Files.createDirectories(new File(new File(dir, folder), INSTANCE_FOLDER_PREFIX + instance).toPath());
+    }
+
+    /**
+     * Returns the folders with input vectors that are read by the testbench:
+     * the "input_data" folder or its "instance_<num>" subfolders of the batched testbench.
+     *
+     * @param dir The working folder.
+     * @param instances The number of the DUT instances of the testbench.
+     * @return The ArrayList object with the folders in order of the instances.
+     */
+    public static ArrayList<File> getInputFolders(File dir, int instances) {
+        final File inputFolder = new File(dir, INPUT_DATA_FOLDER);
+        final ArrayList<File> folders = new ArrayList<>();
+
+        if (instances <= 1)
+            folders.add(inputFolder);
+        else
+            for (int instance = 0; instance < instances; instance++)
+                folders.add(new File(inputFolder, INSTANCE_FOLDER_PREFIX + instance));
+
+        return folders;
+    }
+
+    /**
+     * Checks if the working folder has vectors of the batched testbench:
+     * the "instance_<num>" subfolders of the "input_data" folder.
+     *
+     * @param dir The working folder.
+     * @return "true" when the "input_data" folder has instance subfolders.
+     */
+    public static boolean isBatched(File dir) {
+        final File[] instances = new File(dir, INPUT_DATA_FOLDER).listFiles(file ->
+                file.isDirectory() && file.getName().startsWith(INSTANCE_FOLDER_PREFIX));
+
+        return instances != null && instances.length > 0;
+    }
+
+    /**
+     * Sets the number of the DUT instances of the testbench.
+     * Every instance has its own interface and drivers
+     * and reads and writes the "instance_<num>" subfolders
+     * of the vector folders. All instances share the clocks.
+     *
+     * @param instances The number of instances (1 keeps the single DUT testbench).
+     */
+    public void setInstances(int instances) {
+        this.instances = instances;
+    }
+
+    /**
+     * Sets the single file mode.
+     * In this mode the ".sv" files are joined into the "tb_single.sv" file
+     * and the project and the compile scripts contain only it and the DUT.
+     *
+     * @param isSingleFile "true" when the files must be joined.
+     */
+    public void setSingleFile(boolean isSingleFile) {
+        this.isSingleFile = isSingleFile;
+    }
+
+    /**
+     * Sets a name of a DUT module.
+     *
+     * @param dutFile The file of a DUT module.
+     */
+    public void setDutFile(File dutFile) {
+        this.dutFile = dutFile;
+    }
+
+    /**
+     * Sets dependencies of the DUT file: the DUT and the files it includes or references.
+     * When they are not set, the DUT file is parsed again to find them.
+     *
+     * @param graph The DependencyGraph object with files of the DUT.
+     */
+    public void setDutGraph(DependencyGraph graph) {
+        this.dutGraph = graph;
+    }
+
+    /**
+     * Sets DUT module's parameters HashMap,
+     * that contains all names and all values.
+     *
+     * @param parameters The HashMap object with names
+     *                   and values of DUT's parameters.
+     */
+    public void setParameters(HashMap<String, String> parameters) {
+        this.parameters = parameters;
+    }
+
+    /**
+     * Sets DUT module's output ports HashMap,
+     * that contains all names and all descriptions.
+     *
+     * @param ports The HashMap object with names
+     *              and descriptions of DUT's outputs.
+     */
+    public void setDutOutputs(HashMap<String, PortDescriptor> ports) {
+        outputs = ports;
+    }
+
+    /**
+     * Sets DUT module's input ports HashMap,
+     * that contains all names and all descriptions.
+     *
+     * @param ports The HashMap object with names
+     *              and descriptions of DUT's inputs.
+     */
+    public void setDutInputs(HashMap<String, PortDescriptor> ports) {
+        inputs = ports;
+    }
+
+    /* Creates the generator of the ".sv" file. */
+    interface SVCodegenFactory {
+        SVCodegen create() throws IOException;
+    }
+}
@@ -0,0 +1,139 @@
+package backend.filesWriter;
+
+import backend.BackendParameters;
+import backend.filesWriter.codegens.sv.SVCodegen;
+import backend.parsers.detectors.PortDescriptor;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+
+/*
+ * File: PreviewRenderer.java
+ * -----------------------------------------------
+ * Renders the test environment ".sv" files in memory,
+ * so they can be previewed while the clocks and
+ * the sampling frequency are being configured.
+ *
+ * Generators edit their templates in place, so every render
+ * creates a new generator. Rendered files are cached,
+ * and only files whose generators depend on the changed
+ * setting are rendered again. For example, the change
+ * of the sampling frequency renders only "Interface.sv".
+ */
+public class PreviewRenderer implements BackendParameters {
+
+    /* Properties of the DUT and the working folder. They do not change while previewing. */
+    private final File dir;
+    private final File dutFile;
+    private final HashMap<String, String> parameters;
+    private final HashMap<String, PortDescriptor> inputs;
+    private final HashMap<String, PortDescriptor> outputs;
+
+    /* Rendered files in order of their writing. */
+    private final LinkedHashMap<String, ArrayList<String>> rendered = new LinkedHashMap<>();
+
+    /* Flags of the generators whose files depend on the clocks or the sampling frequency. */
+    private final boolean[] dependsOnClocks = new boolean[FilesWriter.SV_CODEGENS.length];
+    private final boolean[] dependsOnFreq = new boolean[FilesWriter.SV_CODEGENS.length];
+
+    /* Settings of the last render. */
+    private HashMap<String, String> clocks;
+    private String sampleFreq;
+
+    /**
+     * The class constructor.
+     *
+     * @param dir The working folder of the test environment.
+     * @param dutFile The DUT file.
+     * @param parameters The HashMap object with names
+     *                   and values of DUT's parameters.
+     * @param inputs The HashMap object with names
+     *               and descriptions of DUT's inputs.
+     * @param outputs The HashMap object with names
+     *                and descriptions of DUT's outputs.
+     */
+    public PreviewRenderer(File dir, File dutFile, HashMap<String, String> parameters,
+                           HashMap<String, PortDescriptor> inputs, HashMap<String, PortDescriptor> outputs) {
+        this.dir = dir;
+        this.dutFile = dutFile;
+        this.parameters = parameters;
+        this.inputs = inputs;
+        this.outputs = outputs;
+    }
+
+    /**
+     * Renders the files that are affected by changed settings.
+     * Can be cancelled by interrupting the rendering thread.
+     * Then settings of the last completed render are kept,
+     * so the next render repeats the cancelled work.
+     *
+     * @param clocks The HashMap object that contains correspondence
+     *               between DUT's clocks and their frequencies.
+     * @param sampleFreq The sampling frequency of the test environment.
+     * @return Names and lines of the rendered files.
+     *         Files that are not affected are not returned.
+     * @throws IOException Error when reading templates or the rendering is cancelled.
+     */
+    public synchronized LinkedHashMap<String, ArrayList<String>> render(HashMap<String, String> clocks, String sampleFreq)
+            throws IOException {
+
+        final boolean isFirst = rendered.isEmpty();
+        final boolean clocksChanged = !clocks.equals(this.clocks);
+        final boolean freqChanged = !sampleFreq.equals(this.sampleFreq);
+        final LinkedHashMap<String, ArrayList<String>> changed = new LinkedHashMap<>();
+
+        for (int index = 0; index < FilesWriter.SV_CODEGENS.length; index++) {
+            if (Thread.currentThread().isInterrupted())
+                throw new InterruptedIOException("Rendering of the preview is cancelled.");
+
+            if (isFirst || clocksChanged && dependsOnClocks[index] || freqChanged && dependsOnFreq[index]) {
+                final SVCodegen codegen = FilesWriter.SV_CODEGENS[index].create();
+
+                dependsOnClocks[index] = overrides(codegen, "setClocks", HashMap.class);
+                dependsOnFreq[index] = overrides(codegen, "setSampleFreq", String.class);
+                changed.put(codegen.getName(), render(codegen, clocks, sampleFreq));
+            }
+        }
+
+        rendered.putAll(changed);
+        this.clocks = new HashMap<>(clocks);
+        this.sampleFreq = sampleFreq;
+
+        return changed;
+    }
+
+    /**
+     * Applies the settings to the generator in the same order
+     * as the FilesWriter object does when the environment is written.
+     */
+    private ArrayList<String> render(SVCodegen codegen, HashMap<String, String> clocks, String sampleFreq) {
+        FilesWriter.configure(codegen, dir, clocks, sampleFreq, 0, 1, dutFile, parameters, inputs, outputs);
+        return codegen.getParsedFile();
+    }
+
+    /**
+     * Checks if the generator's output depends on the setting,
+     * i.e. the generator overrides the setter of the SVCodegen class.
+     */
+    private boolean overrides(SVCodegen codegen, String setter, Class<?> type) {
+        try {
+            return codegen.getClass().getMethod(setter, type).getDeclaringClass() != SVCodegen.class;
+        } catch (NoSuchMethodException e) {
+            return true;
+        }
+    }
+
+    /**
+     * Returns all rendered files.
+     *
+     * @return Names and lines of the files in order of their writing.
+     */
+    public synchronized LinkedHashMap<String, ArrayList<String>> getRenderedFiles() {
+        return new LinkedHashMap<>(rendered);
+    }
+
+}
@@ -0,0 +1,94 @@
+package backend.filesWriter;
+
+import backend.parsers.DependencyGraph;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/*
+ * File: SourceAmalgamator.java
+ * -----------------------------------------------
+ * Joins the ".sv" files of the test environment
+ * into one source file without "`include" directives.
+ *
+ * Compile units are placed in order of the compile levels
+ * of their dependency graph. Every "`include" directive
+ * of the generated file is replaced by the lines of the included file,
+ * so every file is placed before the code that uses it.
+ * Every file is placed once: the repeated "`include" of the same file is dropped.
+ * Directives that include files which are not generated are kept.
+ */
+class SourceAmalgamator {
+
+    /* "`include "file.sv"" directive placed on its own line. */
+    private static final Pattern INCLUDE =
+            Pattern.compile("^\\s*`include\\s+\"([^\"]+)\"\\s*(?://.*)?$");
+
+    /* Generated files in order of their writing. Key is the name of the file. */
+    private final LinkedHashMap<String, ArrayList<String>> files;
+
+    /* Lines of the joined file and names of the placed files. */
+    private final ArrayList<String> lines = new ArrayList<>();
+    private final HashSet<String> placed = new HashSet<>();
+
+    /**
+     * The class constructor.
+     *
+     * @param files The LinkedHashMap object with generated files
+     *              in order of their writing. Key is the name of the file.
+     */
+    SourceAmalgamator(LinkedHashMap<String, ArrayList<String>> files) {
+        this.files = files;
+    }
+
+    /**
+     * Joins the files.
+     *
+     * @param dir The working folder where the files would be written.
+     * @return The lines of the joined file.
+     */
+    ArrayList<String> amalgamate(File dir) {
+        final DependencyGraph graph = new DependencyGraph();
+
+        for (final String name : files.keySet())
+            graph.addFile(new File(dir, name), files.get(name));
+
+        lines.clear();
+        placed.clear();
+        lines.add("// Test environment joined into one file. It is generated, do not edit it.");
+
+        for (final ArrayList<File> level : graph.getCompileLevels())
+            for (final File unit : level)
+                place(unit.getName());
+
+        /* Included files whose directives are not placed on their own lines. */
+        for (final String name : files.keySet())
+            place(name);
+
+        return lines;
+    }
+
+    /* Places the lines of the file with included files instead of their directives. */
+    private void place(String name) {
+        if (!placed.add(name))
+            return;
+
+        lines.add("");
+        lines.add("// ---- " + name + " ----");
+
+        for (final String line : files.get(name)) {
+            final Matcher matcher = INCLUDE.matcher(line);
+            final String included = matcher.matches() ? new File(matcher.group(1)).getName() : null;
+
+            if (included != null && files.containsKey(included))
+                place(included);
+            else
+                lines.add(line);
+        }
+    }
+
+}
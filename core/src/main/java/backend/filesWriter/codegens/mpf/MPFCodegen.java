@@ -1,17 +1,18 @@
 package backend.filesWriter.codegens.mpf;
 
-import backend.parsers.Parser;
+import backend.parsers.DependencyGraph;
+import backend.parsers.Templates;
 
 import java.io.File;
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.HashMap;
 
 public class MPFCodegen extends ArrayList<String> {
 
     private int filesCount = 0;
-    private String prjDir;
-    private File dutFile;
+    private File prjDir;
     private final String mpfName;
 
     private static final String[] FILES_COUNT = {
@@ -25,39 +26,48 @@ public class MPFCodegen extends ArrayList<String> {
             "last_compile 0 cover_fsm 0 cover_branch 0 cover_excludedefault 0 vlog_enable0In 0 vlog_disableopt 0 " +
             "cover_covercells 0 voptflow 1 vlog_showsource 0 vlog_hazard 0 cover_optlevel 3 toggle - " +
             "vlog_0InOptions {} ood 1 cover_noshort 0 vlog_upper 0 compile_to work vlog_options {} " +
-            "compile_order 0 cover_expr 0 dont_compile 0 cover_stmt 0",
+            "compile_order <compile_order> cover_expr 0 dont_compile <dont_compile> cover_stmt 0",
     };
 
     public MPFCodegen(final String filePath) throws IOException {
         final ArrayList<String> pathElements = new ArrayList<>(Arrays.asList(filePath.split("/")));
         mpfName = pathElements.get(pathElements.size() - 1);
 
-        final Parser parser = new Parser(filePath);
-        addAll(parser.fileToArrayList());
-    }
-
-    public void setDutFile(File dutFile) {
-        this.dutFile = dutFile;
+        addAll(Templates.read(filePath));
     }
 
     public void setDirectory(File dir) {
-        prjDir = dir.getAbsolutePath().replace("\\", "/");
+        prjDir = dir.getAbsoluteFile();
     }
 
-    public void setFiles(String[] filesNames) {
-        addFilesCountDeclaration(filesNames.length + 1);
-
-        addFileDeclaration(dutFile.getAbsolutePath().replace("\\", "/"), "{Top Level}");
-
-        for (String fileName : filesNames)
-            addFileDeclaration(prjDir + "/" + fileName, "tb");
+    /**
+     * Adds declarations of the DUT and test environment files.
+     * Files that are included by other files are not compiled on their own.
+     * Compile order of other files follows the dependency graph.
+     *
+     * @param graph The dependency graph of the DUT and test environment files.
+     */
+    public void setFiles(DependencyGraph graph) {
+        final ArrayList<File> files = graph.getFiles();
+        final HashMap<File, Integer> compileOrder = graph.getCompileOrder();
+
+        addFilesCountDeclaration(files.size());
+
+        for (final File file : files)
+            addFileDeclaration(
+                    file.getAbsolutePath().replace("\\", "/"),
+                    prjDir.equals(file.getAbsoluteFile().getParentFile()) ? "tb" : "{Top Level}",
+                    compileOrder.get(file),
+                    graph.isIncluded(file));
     }
 
-    private void addFileDeclaration(String path, String folder) {
+    private void addFileDeclaration(String path, String folder, int compileOrder, boolean isIncluded) {
         for (String line : FILE_DECLARATION) {
             line = line.replace("<file_num>", filesCount + "");
             line = line.replace("<absolute_path>", path);
             line = line.replace("<folder_name>", folder);
+            line = line.replace("<compile_order>", compileOrder + "");
+            line = line.replace("<dont_compile>", isIncluded ? "1" : "0");
             add(size(), line);
         }
 
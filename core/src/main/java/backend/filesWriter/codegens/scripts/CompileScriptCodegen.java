@@ -0,0 +1,157 @@
+package backend.filesWriter.codegens.scripts;
+
+import backend.BackendParameters;
+import backend.parsers.Templates;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+
+/*
+ * File: CompileScriptCodegen.java
+ * -----------------------------------------------
+ * Overwrites the compile script templates
+ * ("BackendParameters.COMPILE_SH" and "BackendParameters.COMPILE_DO")
+ * based on the compile levels of the dependency graph.
+ *
+ * Every compile unit is compiled into its own library of the "libs" folder
+ * and is linked with the libraries of the previous levels by "-L".
+ * The testbench is compiled into the "work" library that the simulation is run from.
+ * Shell script compiles units of one level in parallel
+ * and waits for them before the next level is started,
+ * it stops at the first level that is not compiled.
+ * ModelSim macro compiles the units one by one.
+ */
+public class CompileScriptCodegen extends ArrayList<String> {
+
+    /* The template of code for compiling of one unit by the shell script. */
+    private static final String[] SH_UNIT = {
+            "compile \"<library>\" \"<absolute_path>\"<links> & pids=\"$pids $!\"",
+    };
+
+    private static final String[] SH_LEVEL_END = {
+            "wait_level || exit 1",
+            "",
+    };
+
+    /* The template of code for compiling of one unit by the ModelSim macro. */
+    private static final String[] DO_UNIT = {
+            "vlib \"<library>\"",
+            "vlog -sv -incr -work \"<library>\" \"<absolute_path>\"<links>",
+    };
+
+    private static final String[] DO_LEVEL_END = {
+            "",
+    };
+
+    private static final String LEVEL_BEGIN = "# Level <level_num>";
+
+    /* Links the library of the previous level. */
+    private static final String LINK = " -L \"$libs/<library_name>\"";
+
+    /* The library of the testbench. The simulation is run from it. */
+    private static final String WORK_LIBRARY = "work";
+
+    /* Names of the testbench files that are compiled into the "work" library. */
+    private static final String[] TB_FILES = {
+            new File(BackendParameters.TB_SV).getName(),
+            BackendParameters.SINGLE_FILE_SV,
+    };
+
+    /* The name of the script. */
+    private final String scriptName;
+
+    /**
+     * The class constructor.
+     *
+     * @param filePath The path to the script template in the resource directory.
+     * @throws IOException Error when reading the template.
+     */
+    public CompileScriptCodegen(final String filePath) throws IOException {
+        final ArrayList<String> pathElements = new ArrayList<>(Arrays.asList(filePath.split("/")));
+        scriptName = pathElements.get(pathElements.size() - 1);
+
+        addAll(Templates.read(filePath));
+    }
+
+    /**
+     * Fills in the compile commands.
+     *
+     * @param levels The compile levels of the dependency graph.
+     */
+    public void setLevels(ArrayList<ArrayList<File>> levels) {
+        final boolean isShell = scriptName.endsWith(".sh");
+        final int index = indexOf("<compile_levels>");
+        final ArrayList<String> lines = new ArrayList<>();
+        final HashSet<String> names = new HashSet<>();
+        final StringBuilder links = new StringBuilder();
+
+        for (int levelNum = 0; levelNum < levels.size(); levelNum++) {
+            final StringBuilder levelLinks = new StringBuilder();
+            lines.add(LEVEL_BEGIN.replace("<level_num>", levelNum + ""));
+
+            for (final File unit : levels.get(levelNum)) {
+                final String library;
+
+                if (Arrays.asList(TB_FILES).contains(unit.getName()))
+                    library = WORK_LIBRARY;
+                else {
+                    final String name = getLibraryName(unit, names);
+                    library = "$libs/" + name;
+                    levelLinks.append(LINK.replace("<library_name>", name));
+                }
+
+                for (final String line : isShell ? SH_UNIT : DO_UNIT)
+                    lines.add(line.replace("<library>", library)
+                                  .replace("<absolute_path>", unit.getAbsolutePath().replace("\\", "/"))
+                                  .replace("<links>", links));
+            }
+
+            lines.addAll(Arrays.asList(isShell ? SH_LEVEL_END : DO_LEVEL_END));
+            links.append(levelLinks);
+        }
+
+        remove(index);
+        addAll(index, lines);
+    }
+
+    /**
+     * Returns the name of the unit's library: the name of the file without extension.
+     * Names are kept when the units are not changed, so libraries are reused
+     * by the incremental compiler. Same names of the files of different folders get numbers.
+     */
+    private static String getLibraryName(File unit, HashSet<String> names) {
+        final String fileName = unit.getName();
+        final int dot = fileName.lastIndexOf('.');
+        final String base = (dot > 0 ? fileName.substring(0, dot) : fileName).replaceAll("[^A-Za-z0-9_]", "_");
+
+        String name = base;
+        for (int num = 1; name.equals(WORK_LIBRARY) || !names.add(name); num++)
+            name = base + "_" + num;
+
+        return name;
+    }
+
+    /**
+     * Returns a name of the script.
+     *
+     * @return The String value of the script name.
+     */
+    public String getName() {
+        return scriptName;
+    }
+
+    /**
+     * Returns a parsed file as ArrayList object
+     * that contains all code lines of the file.
+     *
+     * @return The ArrayList object
+     *         that contains parsed code.
+     */
+    public ArrayList<String> getParsedFile() {
+        return this;
+    }
+
+}
@@ -2,8 +2,12 @@ package backend.filesWriter.codegens.sv;
 
 import backend.BackendParameters;
 import backend.parsers.detectors.PortDescriptor;
+import backend.parsers.detectors.ResetsDetector;
+import backend.vectors.RleCodec;
 
+import java.io.File;
 import java.io.IOException;
+import java.util.ArrayList;
 import java.util.HashMap;
 
 /*
@@ -31,6 +35,66 @@ public class ReadDriverCodegen extends SVCodegen implements BackendParameters {
             "\t\tend"
     };
 
+    /* The template of code for initialization of ReadRleGenerator object.
+    Used when unpacked size of input port equals to 0. */
+    private static final String[] RLE_GENERATOR_INIT = {
+            "\t\tthis.gen_<port_name> = new(iface);",
+            "\t\tthis.gen_<port_name>.open({$sformatf(\"%s\", filePath), \"/<port_name>.tbr\"});",
+    };
+
+    /* The template of code for initialization of ReadRleGenerator object.
+    Used when unpacked size of input port larger then 0. */
+    private static final String[] RLE_GENERATOR_INIT_UNPACKED = {
+            "\t\tfor (int i = 0; i <= PARAMETER - 1; i++) begin",
+            "\t\t    this.gen_<port_name>[i] = new(iface);",
+            "\t\t    this.gen_<port_name>[i].open({$sformatf(\"%s\", filePath), \"/<port_name>_\", $sformatf(\"%0d\", i), \".tbr\"});",
+            "\t\tend"
+    };
+
+    /* The template of code for initialization of ReadRandomGenerator object.
+    Used when unpacked size of input port equals to 0.
+    The seed of the port is the seed of the driver plus the hash of the port's name,
+    so vectors of the ports don't change when other ports are added. */
+    private static final String[] RANDOM_GENERATOR_INIT = {
+            "\t\tthis.gen_<port_name> = new(iface);",
+            "\t\tthis.gen_<port_name>.open(seed + <port_seed>, samples);",
+    };
+
+    /* The template of code for initialization of ReadRandomGenerator object.
+    Used when unpacked size of input port larger then 0. */
+    private static final String[] RANDOM_GENERATOR_INIT_UNPACKED = {
+            "\t\tfor (int i = 0; i <= PARAMETER - 1; i++) begin",
+            "\t\t    this.gen_<port_name>[i] = new(iface);",
+            "\t\t    this.gen_<port_name>[i].open(seed + <port_seed> + i, samples);",
+            "\t\tend"
+    };
+
+    /* The template of code for initialization of ReadRandomGenerator object of the reset port.
+    Used when unpacked size of input port equals to 0.
+    The reset is held active for the first samples, so the DUT is reset,
+    and inactive after them, so the random stimulus doesn't keep the DUT in reset. */
+    private static final String[] RANDOM_RESET_INIT = {
+            "\t\tthis.gen_<port_name> = new(iface);",
+            "\t\tthis.gen_<port_name>.open(seed + <port_seed>, samples);",
+            "\t\tthis.gen_<port_name>.holdReset(<active_level>, resetSamples);",
+    };
+
+    /* The template of code for initialization of ReadRandomGenerator object of the reset port.
+    Used when unpacked size of input port larger then 0. */
+    private static final String[] RANDOM_RESET_INIT_UNPACKED = {
+            "\t\tfor (int i = 0; i <= PARAMETER - 1; i++) begin",
+            "\t\t    this.gen_<port_name>[i] = new(iface);",
+            "\t\t    this.gen_<port_name>[i].open(seed + <port_seed> + i, samples);",
+            "\t\t    this.gen_<port_name>[i].holdReset(<active_level>, resetSamples);",
+            "\t\tend"
+    };
+
+    /* The default seed of the random stimulus. */
+    private static final String DEFAULT_SEED = "1";
+
+    /* The default number of the first samples of the random stimulus that hold reset ports active. */
+    private static final String DEFAULT_RESET_SAMPLES = "16";
+
     /* The template of code for running of ReadGenerator object.
     Used when unpacked size of input port equals to 0. */
     private static final String[] GENERATOR_RUN = {
@@ -73,6 +137,15 @@ public class ReadDriverCodegen extends SVCodegen implements BackendParameters {
             "\t\treturn gen_<port_name>[0].getSize();",
     };
 
+    /* Folders with input vectors of the DUT instances. Ports that have run-length encoded
+    vectors (".tbr" files) in all folders are read by ReadRleGenerator objects,
+    because all instances share the ReadDriver class. */
+    private ArrayList<File> inputFolders;
+
+    /* The default number of samples of the random stimulus.
+    Inputs are read from the files when it is 0. */
+    private long randomSamples;
+
     /**
      * The class constructor.
      *
@@ -83,6 +156,87 @@ public class ReadDriverCodegen extends SVCodegen implements BackendParameters {
         super(READ_DRIVER_SV);
     }
 
+    @Override
+    public void setInputFolders(ArrayList<File> folders) {
+        inputFolders = folders;
+    }
+
+    /**
+     * Sets the stimulus mode.
+     * In the random stimulus mode inputs are driven by ReadRandomGenerator objects
+     * and expected outputs are not read.
+     *
+     * @param samples The default number of samples of the random stimulus
+     *                or 0 when inputs are read from the files.
+     */
+    @Override
+    public void setRandomStimulus(long samples) {
+        randomSamples = samples;
+
+        for (int index = 0; index < size(); index++)
+            set(index, get(index).replace("<random_seed>", DEFAULT_SEED)
+                                 .replace("<reset_samples>", DEFAULT_RESET_SAMPLES)
+                                 .replace("<random_samples>", String.valueOf(samples)));
+    }
+
+    /**
+     * Checks if the port's vector is run-length encoded (see "RleCodec.isEncoded()").
+     *
+     * @param name The name of the port (with the "_expect" suffix for expected outputs).
+     * @param desc The description of the port.
+     * @return "true" when the port's ".tbr" files exist in all input folders.
+     */
+    private boolean isRle(String name, PortDescriptor desc) {
+        return inputFolders != null && RleCodec.isEncoded(inputFolders, name, desc.getDepth(getParameters()));
+    }
+
+    /**
+     * Adds ReadGenerator objects initialization.
+     * Ports with run-length encoded vectors open ".tbr" files.
+     * In the random stimulus mode ports are driven by ReadRandomGenerator objects
+     * and reset ports (see "ResetsDetector") are held active for the first samples
+     * and inactive after them.
+     */
+    private void addGeneratorsInit(int index, HashMap<String, PortDescriptor> ports) {
+        if (randomSamples > 0) {
+            for (String name : ports.keySet()) {
+                final HashMap<String, PortDescriptor> port = new HashMap<>();
+                port.put(name, ports.get(name));
+
+                /* Fibonacci hashing spreads similar names ("in1", "in2") over the seeds,
+                so ports usually get distant seeds. It is not guaranteed: elements
+                of the unpacked port take consecutive seeds and names can collide,
+                then two generators can produce the same vector. */
+                final String seed = String.valueOf((name.hashCode() * 0x9E3779B9) >>> 1);
+                final boolean isReset = ResetsDetector.isResetPort(name);
+                final String level = ResetsDetector.getActiveLevel(name);
+                definePackingAddPort(false, index, port,
+                                     replaceSeed(isReset ? RANDOM_RESET_INIT : RANDOM_GENERATOR_INIT, seed, level),
+                                     replaceSeed(isReset ? RANDOM_RESET_INIT_UNPACKED : RANDOM_GENERATOR_INIT_UNPACKED,
+                                                 seed, level));
+            }
+            return;
+        }
+
+        final HashMap<String, PortDescriptor> plainPorts = new HashMap<>();
+        final HashMap<String, PortDescriptor> rlePorts = new HashMap<>();
+
+        for (String name : ports.keySet())
+            (isRle(name, ports.get(name)) ? rlePorts : plainPorts).put(name, ports.get(name));
+
+        definePackingAddPort(false, index, rlePorts, RLE_GENERATOR_INIT, RLE_GENERATOR_INIT_UNPACKED);
+        definePackingAddPort(false, index, plainPorts, GENERATOR_INIT, GENERATOR_INIT_UNPACKED);
+    }
+
+    private static String[] replaceSeed(String[] macro, String seed, String level) {
+        final String[] lines = new String[macro.length];
+
+        for (int line = 0; line < macro.length; line++)
+            lines[line] = macro[line].replace("<port_seed>", seed).replace("<active_level>", level);
+
+        return lines;
+    }
+
     /**
      * Overwrites fields in the file
      * where must be placed code
@@ -103,7 +257,7 @@ public class ReadDriverCodegen extends SVCodegen implements BackendParameters {
 
             /* Fills in ReadGenerator initialization field. */
             else if (get(index).contains("local function void initGens();"))
-                definePackingAddPort(false, ++index, inputs, GENERATOR_INIT, GENERATOR_INIT_UNPACKED);
+                addGeneratorsInit(++index, inputs);
 
             /* Fills in ReadGenerator running field. */
             else if (get(index).contains("function void run()"))
@@ -132,7 +286,8 @@ public class ReadDriverCodegen extends SVCodegen implements BackendParameters {
      *              Value contain PortDescriptor object.
      */
     public void setOutputs(HashMap<String, PortDescriptor> outputs) {
-        outputs = addExpectedNames(outputs);
+        /* Expected outputs are not read in the random stimulus mode. */
+        outputs = randomSamples > 0 ? new HashMap<>() : addExpectedNames(outputs);
 
         for (int index = 0; index < size(); index++) {
             /* Adds ReadGenerator object declaration. */
@@ -143,7 +298,7 @@ public class ReadDriverCodegen extends SVCodegen implements BackendParameters {
 
             /* Fills in ReadGenerator initialization field. */
             else if (get(index).contains("local function void initGens();"))
-                definePackingAddPort(false, ++index, outputs, GENERATOR_INIT, GENERATOR_INIT_UNPACKED);
+                addGeneratorsInit(++index, outputs);
 
             /* Fills in ReadGenerator running field. */
             else if (get(index).contains("function void run()"))
@@ -175,11 +330,14 @@ public class ReadDriverCodegen extends SVCodegen implements BackendParameters {
     private void addGeneratorsDeclaration(int index, HashMap<String, PortDescriptor> ports) {
         for (String name: ports.keySet()) {
             if (!name.toLowerCase().contains("clk") && !name.toLowerCase().contains("clock")) {
+                final String className = randomSamples > 0 ? "ReadRandomGenerator" :
+                                         isRle(name, ports.get(name)) ? "ReadRleGenerator" : "ReadGenerator";
+
                 /* When unpacked size of port equals 0. */
                 if (ports.get(name).getUnpackedSize().equals("")) {
                     String packedSize = decodeSizeDeclaration(ports.get(name).getPackedSize());
                     add(index,
-                        "\tReadGenerator #(" + packedSize + ") gen_" + name + ";");
+                        "\t" + className + " #(" + packedSize + ") gen_" + name + ";");
                 }
 
                 /* When unpacked size of port is larger then 0. */
@@ -187,7 +345,7 @@ public class ReadDriverCodegen extends SVCodegen implements BackendParameters {
                     String packedSize = decodeSizeDeclaration(ports.get(name).getPackedSize());
                     String unpackedSize = decodeSizeDeclaration(ports.get(name).getUnpackedSize());
                     add(index,
-                        "\tReadGenerator #(" + packedSize + ") gen_" + name + " [" + unpackedSize + "];");
+                        "\t" + className + " #(" + packedSize + ") gen_" + name + " [" + unpackedSize + "];");
                 }
 
                 add(index, "\t// Port: " + ports.get(name).toString());
@@ -1,6 +1,6 @@
 package backend.filesWriter.codegens.sv;
 
-import backend.parsers.Parser;
+import backend.parsers.Templates;
 import backend.parsers.detectors.PortDescriptor;
 
 import java.io.*;
@@ -33,8 +33,7 @@ public class SVCodegen extends ArrayList<String> {
         final ArrayList<String> pathElements = new ArrayList<>(Arrays.asList(filePath.split("/")));
         fileName = pathElements.get(pathElements.size() - 1);
 
-        final Parser parser = new Parser(filePath);
-        addAll(parser.fileToArrayList());
+        addAll(Templates.read(filePath));
         setDate();
     }
 
@@ -230,8 +229,11 @@ public class SVCodegen extends ArrayList<String> {
     /* Abstract methods. */
     public void setClocks(HashMap<String, String> clocksHashMap) {}
     public void setSampleFreq(String freq) {}
+    public void setRandomStimulus(long samples) {}
     public void setDutName(String name) {}
     public void setOutputs(HashMap<String, PortDescriptor> ports) {}
     public void setInputs(HashMap<String, PortDescriptor> ports) {}
     public void setDirectory(File dir) {}
+    public void setInputFolders(ArrayList<File> folders) {}
+    public void setInstances(int instances) {}
 }
@@ -0,0 +1,324 @@
+package backend.filesWriter.codegens.sv;
+
+import backend.BackendParameters;
+import backend.parsers.detectors.PortDescriptor;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.regex.Pattern;
+
+/*
+ * File: TBCodeGenerator.java
+ * -----------------------------------------------
+ * Inherits CodeGenerator object.
+ * Overwrites "BackendParameters.TB_SV" file
+ * based on specified data.
+ */
+public class TBCodegen extends SVCodegen implements BackendParameters {
+
+    /* Shared declarations of the batched testbench. They replace the interface declaration. */
+    private static final String[] BATCH_DECLARATIONS = {
+            "    // The interface of the clocks that are shared by all instances of the DUT.",
+            "    Interface clocks();",
+            "",
+            "    // The number of the DUT instances. Every instance reads and writes",
+            "    // the \"<instance_folder><num>\" subfolders of the vector folders.",
+            "    localparam INSTANCES = <instances>;",
+            "",
+            "    // The number of instances whose test vectors are ended.",
+            "    int finished_instances = 0;",
+    };
+
+    /* The beginning of the instances loop of the batched testbench. */
+    private static final String[] BATCH_BEGIN = {
+            "    /*",
+            "        Instances of the DUT and of the test environment objects.",
+            "        All instances are driven by the shared clocks.",
+            "    */",
+            "    for (genvar i = 0; i < INSTANCES; i++) begin : inst",
+            "        // The interface is based on the ports and parameters lists of the DUT.",
+            "        Interface iface();",
+            "",
+            "        // Set when the test vectors of the instance are ended.",
+            "        bit finished = 0;",
+            "",
+            "        // Clocks of the instance.",
+    };
+
+    /* The clock connection of the instance. */
+    private static final String CLOCK_ASSIGN = "        assign iface.<clock> = clocks.<clock>;";
+
+    /* Stops the simulation when the vectors of the last instance are ended. */
+    private static final String[] BATCH_STOP = {
+            "        finished = 1;",
+            "        finished_instances++;",
+            "        if (finished_instances == INSTANCES)",
+            "            $stop();",
+    };
+
+    /* The marker comment of the testbench part. Markers are not written to the testbench. */
+    private static final Pattern MARKER = Pattern.compile("\\s*// </?\\w+>");
+
+    /* Names of the DUT's clocks. They are connected to the shared clocks in the batched testbench. */
+    private final ArrayList<String> clocks = new ArrayList<>();
+
+    /**
+     * The class constructor.
+     *
+     * @throws IOException "Environment.sv" file can't be read
+     *                     (file stores in the resource directory).
+     */
+    public TBCodegen() throws IOException {
+        super(TB_SV);
+    }
+
+    /**
+     * Sets DUT module's input ports HashMap,
+     * that contains all names and all descriptions.
+     *
+     * @param inputs The HashMap object with names
+     *               and descriptions of DUT's inputs.
+     */
+    public void setInputs(HashMap<String, PortDescriptor> inputs) {
+        for (int index = 0; index < size(); index++) {
+            if (get(index).equals("\t\t// inputs")) {
+                for (String name: inputs.keySet()) {
+                    String editedLine = "\t\t." + name + " (iface." + name + "),";
+                    add(index + 1, editedLine);
+                }
+
+                break;
+            }
+        }
+    }
+
+    /**
+     * Sets DUT module's output ports HashMap,
+     * that contains all names and all descriptions.
+     *
+     * @param outputs The HashMap object with names
+     *              and descriptions of DUT's outputs.
+     */
+    public void setOutputs(HashMap<String, PortDescriptor> outputs) {
+        for (int index = 0; index < size(); index++) {
+            if (get(index).equals("\t\t// outputs")) {
+                for (String name: outputs.keySet()) {
+                    String editedLine = "\t\t." + name + " (iface." + name + "),";
+                    add(index + 1, editedLine);
+                }
+
+                /* Deletes last comma in the outputs declaration field. */
+                int lastDutPortIndex = indexOf("\t\t// outputs") + outputs.keySet().size();
+                String lastDutPortLine = get(lastDutPortIndex);
+                set(lastDutPortIndex, lastDutPortLine.substring(0, lastDutPortLine.indexOf(",")));
+
+                break;
+            }
+        }
+    }
+
+    /**
+     * Sets a name of a DUT module.
+     * Name used in the DUT module connection field.
+     *
+     * @param name The name of a DUT module.
+     */
+    public void setDutName(String name) {
+        for (int index = 0; index < size(); index++) {
+            /* Replaces template "design_under_test" name with a new one in a testbench description field. */
+            if (get(index).contains("design_under_test module.")) {
+                /* Replaces template name with new specified name. */
+                String editedLine = get(index).replace(
+                        "design_under_test", name.substring(0, name.indexOf(".sv")));
+
+                /* Adds spaces to the end of the line. */
+                int tabsNum = ("design_under_test".length() - name.length()) >> 2;
+                for (int cnt = 0; cnt <= tabsNum; cnt++) {
+                    editedLine = editedLine.replace("module.", "module.\t");
+                }
+
+                /* Replace old line with a new one. */
+                set(index, editedLine);
+
+                continue;
+            }
+
+            /* Replaces template "design_under_test" name with a new one in DUT declaration field. */
+            if (get(index).contains("design_under_test #(")) {
+                String editedLine = get(index).replace(
+                        "design_under_test", name.substring(0, name.indexOf(".sv")));
+                set(index, editedLine);
+
+                break;
+            }
+        }
+    }
+
+    /**
+     * Adds clocks to the clocks correspondence declaration field.
+     *
+     * @param clocksHashMap The HashMap object that contains correspondence
+     *                      between DUT's and clk_hub's modules.
+     */
+    @SuppressWarnings("SuspiciousListRemoveInLoop")
+    public void setClocks(HashMap<String, String> clocksHashMap) {
+        clocks.addAll(clocksHashMap.keySet());
+
+        for (int index = 0; index < size(); index++) {
+            /* Sets clock driver parameters. */
+            if (get(index).contains(".DUT_CLK_FREQ")) {
+                remove(index);
+
+                for (String name : clocksHashMap.keySet()) {
+                    String editedLine =
+                            "\t\t.DUT_" + name.toUpperCase() + "_FREQ (iface.DUT_" + name.toUpperCase() + "_FREQ),";
+                    add(index, editedLine);
+                }
+            }
+
+            /* Sets clock driver ports. */
+            if (get(index).contains(".dut_clk")) {
+                remove(index);
+
+                for (String name : clocksHashMap.keySet()) {
+                    String editedLine = "\t\t." + name + " (iface." + name + "),";
+                    add(index, editedLine);
+                }
+            }
+        }
+    }
+
+    /**
+     * Sets a name of directory where will be placed input vectors,
+     * that contains input data for simulation.
+     * Folders are created by the FilesWriter object.
+     *
+     * @param dir The File object that contains path
+     *            to the working folder.
+     */
+    public void setDirectory(final File dir) {
+        for (int index = 0; index < size(); index++) {
+            set(index, get(index).replace(
+                    "<project_path>", dir.getAbsolutePath().replace("\\", "/")));
+            set(index, get(index).replace("<input_data_folder>", INPUT_DATA_FOLDER));
+            set(index, get(index).replace("<output_data_folder>", OUTPUT_DATA_FOLDER));
+        }
+    }
+
+    /**
+     * Instantiates a few copies of the DUT in the testbench.
+     * Must be applied after other settings.
+     *
+     * The testbench of the single DUT is wrapped into the "inst" generate loop:
+     * every instance has its own interface, drivers and checker, and reads and writes
+     * the "instance_<num>" subfolders of the vector folders.
+     * The clock driver is not duplicated, it drives the shared "clocks" interface.
+     * An instance stops when its vectors are ended,
+     * the simulation stops when all instances are stopped.
+     *
+     * Parts of the testbench are found by the marker comments of "tb.sv"
+     * ("// <instance_body>" ... "// </instance_body>" etc.).
+     * Markers are removed in both modes.
+     *
+     * @param instances The number of instances (1 keeps the single DUT testbench).
+     * @throws IllegalStateException The marker or the stop of the simulation is missing in "tb.sv".
+     */
+    public void setInstances(int instances) {
+        if (instances > 1)
+            wrapInstances(instances);
+
+        removeIf(line -> MARKER.matcher(line).matches());
+    }
+
+    private void wrapInstances(int instances) {
+        /* Moves the declarations of the instance's objects to the loop. */
+        int[] region = findRegion("instance_objects");
+        final ArrayList<String> declarations = new ArrayList<>(subList(region[0], region[1]));
+        subList(region[0], region[1]).clear();
+
+        /* Replaces the interface and its comment by the shared declarations. */
+        region = findRegion("instance_interface");
+        subList(region[0], region[1]).clear();
+        for (int index = BATCH_DECLARATIONS.length - 1; index >= 0; index--)
+            add(region[0], BATCH_DECLARATIONS[index]
+                    .replace("<instances>", instances + "")
+                    .replace("<instance_folder>", INSTANCE_FOLDER_PREFIX));
+
+        /* Connects the clock driver to the shared clocks. */
+        region = findRegion("shared_clocks");
+        for (int index = region[0]; index < region[1]; index++)
+            set(index, get(index).replace("(iface.", "(clocks."));
+
+        /* Wraps the rest of the testbench into the loop. */
+        region = findRegion("instance_body");
+        final ArrayList<String> body = new ArrayList<>();
+        boolean isStopFound = false;
+
+        body.addAll(List.of(BATCH_BEGIN));
+        for (final String clock : clocks)
+            body.add(CLOCK_ASSIGN.replace("<clock>", clock));
+        body.add(CLOCK_ASSIGN.replace("<clock>", "reading_clk"));
+        body.add(CLOCK_ASSIGN.replace("<clock>", "writing_clk"));
+
+        for (final String line : declarations)
+            body.add(indent(line));
+        body.add("");
+        body.add("");
+
+        for (final String line : subList(region[0], region[1])) {
+            if (line.contains("$stop();")) {
+                for (final String stopLine : BATCH_STOP)
+                    body.add("    " + stopLine);
+                isStopFound = true;
+                continue;
+            }
+
+            body.add(indent(line
+                    .replace("\"/" + INPUT_DATA_FOLDER + "\"}",
+                             "\"/" + INPUT_DATA_FOLDER + "/" + INSTANCE_FOLDER_PREFIX + "\", $sformatf(\"%0d\", i)}")
+                    .replace("\"/" + OUTPUT_DATA_FOLDER + "\"}",
+                             "\"/" + OUTPUT_DATA_FOLDER + "/" + INSTANCE_FOLDER_PREFIX + "\", $sformatf(\"%0d\", i)}")
+                    .replace("createLog(PROJECT_PATH", "createLog(WRITE_FILES")
+                    .replace("readDriver = new(iface, READ_FILES)", "readDriver = new(iface, READ_FILES, i)")
+                    .replace("_clk) begin", "_clk) if (!finished) begin")));
+
+            if (line.contains("THE SIMULATION END"))
+                body.add("            $display(\"Instance: %0d\", i);");
+        }
+
+        if (!isStopFound)
+            throw new IllegalStateException("The stop of the simulation is not found in the body of " + TB_SV);
+
+        body.add("    end");
+        body.add("");
+        body.add("");
+
+        subList(region[0], region[1]).clear();
+        addAll(region[0], body);
+    }
+
+    /**
+     * Finds the lines between the marker comments "// <name>" and "// </name>".
+     *
+     * @param name The name of the region.
+     * @return The index of the first line and the index of the end marker.
+     * @throws IllegalStateException A marker is missing.
+     */
+    private int[] findRegion(String name) {
+        final int begin = indexOf("    // <" + name + ">");
+        final int end = indexOf("    // </" + name + ">");
+
+        if (begin < 0 || end < begin)
+            throw new IllegalStateException("Marker \"" + name + "\" is not found in " + TB_SV);
+
+        return new int[]{begin + 1, end};
+    }
+
+    /* Indents the line of the testbench one level deeper. */
+    private static String indent(String line) {
+        return line.isBlank() ? line : "    " + line;
+    }
+}
@@ -55,7 +55,8 @@ public class WriteDriverCodegen extends SVCodegen implements BackendParameters {
     Used when unpacked size of input port equals to 0. */
     private static final String[] GENERATOR_RUN = {
             "\t\tthis.gen_<port_name>.writeStr($sformatf(\"%h\", iface.<port_name>));",
-            "\t\tthis.gen_<port_name>_mismatch.writeStr($sformatf(\"%h\", iface.<port_name>_mismatch));",
+            "\t\tif (isChecked)",
+            "\t\t    this.gen_<port_name>_mismatch.writeStr($sformatf(\"%h\", iface.<port_name>_mismatch));",
     };
 
     /* The template of code for running of WriteGenerator object.
@@ -63,7 +64,8 @@ public class WriteDriverCodegen extends SVCodegen implements BackendParameters {
     private static final String[] GENERATOR_RUN_UNPACKED = {
             "\t\tfor (int i = 0; i <= PARAMETER - 1; i++) begin",
             "\t\t    this.gen_<port_name>[i].writeStr($sformatf(\"%h\", iface.<port_name>[i]));",
-            "\t\t    this.gen_<port_name>_mismatch[i].writeStr($sformatf(\"%h\", iface.<port_name>_mismatch[i]));",
+            "\t\t    if (isChecked)",
+            "\t\t        this.gen_<port_name>_mismatch[i].writeStr($sformatf(\"%h\", iface.<port_name>_mismatch[i]));",
             "\t\tend"
     };
 
@@ -0,0 +1,47 @@
+package backend.models;
+
+import java.util.HashMap;
+
+/*
+ * File: GoldenModel.java
+ * -----------------------------------------------
+ * Service provider interface of a Java reference model of the DUT.
+ *
+ * The model computes expected outputs of the DUT sample by sample.
+ * Implementations are found by the java.util.ServiceLoader,
+ * so they must be listed in the
+ * "META-INF/services/backend.models.GoldenModel" resource file
+ * and have a public constructor without arguments.
+ *
+ * A new model object is created for every test case,
+ * so the model can keep sequential state in its fields.
+ */
+public interface GoldenModel {
+
+    /**
+     * Returns the name that is used to select the model.
+     *
+     * @return The name of the model.
+     */
+    String getName();
+
+    /**
+     * Prepares the model for a new test case.
+     * Called once before the first sample.
+     *
+     * @param parameters The HashMap object with names
+     *                   and values of DUT's parameters.
+     */
+    default void reset(HashMap<String, String> parameters) {}
+
+    /**
+     * Computes the expected outputs of one sample.
+     * Output values are cleared to zero before every call.
+     *
+     * @param inputs The values of the DUT's inputs.
+     * @param outputs The expected values of the DUT's outputs.
+     *                Outputs that are set as unknown are not checked.
+     */
+    void step(Sample inputs, Sample outputs);
+
+}
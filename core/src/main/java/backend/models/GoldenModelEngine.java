@@ -0,0 +1,324 @@
+package backend.models;
+
+import backend.BackendParameters;
+import backend.parsers.detectors.PortDescriptor;
+import backend.vectors.SampleBlock;
+import backend.vectors.VectorChannel;
+import backend.vectors.VectorLayout;
+import backend.vectors.VectorReader;
+import backend.vectors.VectorWriter;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.function.Supplier;
+
+/*
+ * File: GoldenModelEngine.java
+ * -----------------------------------------------
+ * Computes the expected vectors ("<port_name>_expect.tbv")
+ * of the test cases with the Java golden model.
+ *
+ * Every test case is processed by a pipeline of three stages:
+ * the reader parses the input vectors, the model computes
+ * the expected outputs and the writer formats them.
+ * Stages pass blocks of samples through bounded queues,
+ * so a slow stage holds the faster ones back
+ * and memory usage does not depend on the vectors size.
+ *
+ * Test cases are independent, so they are processed concurrently.
+ */
+public class GoldenModelEngine implements BackendParameters {
+
+    /* The number of samples in the block. */
+    private static final int BLOCK_SAMPLES = 4096;
+
+    /* The number of blocks that can wait in the queue between the stages. */
+    private static final int QUEUE_BLOCKS = 4;
+
+    /* Creates a new model object for every test case. */
+    private final Supplier<GoldenModel> models;
+
+    /* Layouts of the DUT's inputs and outputs. */
+    private final VectorLayout inputs;
+    private final VectorLayout outputs;
+
+    /* Names and values of the DUT's parameters. */
+    private final HashMap<String, String> parameters;
+
+    /**
+     * The class constructor.
+     *
+     * @param models The factory of the golden model.
+     * @param inputs The HashMap object with names
+     *               and descriptions of DUT's inputs.
+     * @param outputs The HashMap object with names
+     *                and descriptions of DUT's outputs.
+     * @param parameters The HashMap object with names
+     *                   and values of DUT's parameters.
+     */
+    public GoldenModelEngine(Supplier<GoldenModel> models,
+                             HashMap<String, PortDescriptor> inputs,
+                             HashMap<String, PortDescriptor> outputs,
+                             HashMap<String, String> parameters) {
+        this.models = models;
+        this.inputs = new VectorLayout(inputs, parameters);
+        this.outputs = new VectorLayout(outputs, parameters);
+        this.parameters = parameters;
+    }
+
+    /**
+     * Returns the folders of the test cases.
+     * The folder is a test case itself when it contains input vectors.
+     * Otherwise, every subfolder with input vectors is a test case.
+     *
+     * @param inputFolder The "input_data" folder.
+     * @return The list of test cases folders.
+     */
+    public static ArrayList<File> findTestCases(File inputFolder) {
+        final ArrayList<File> testCases = new ArrayList<>();
+
+        if (hasVectors(inputFolder)) {
+            testCases.add(inputFolder);
+            return testCases;
+        }
+
+        final File[] folders = inputFolder.listFiles(File::isDirectory);
+        if (folders != null) {
+            Arrays.sort(folders);
+            for (final File folder : folders)
+                if (hasVectors(folder))
+                    testCases.add(folder);
+        }
+
+        return testCases;
+    }
+
+    private static boolean hasVectors(File folder) {
+        final String[] names = folder.list((dir, name) -> name.endsWith(VECTOR_EXTENSION));
+        return names != null && names.length != 0;
+    }
+
+    /**
+     * Processes the test cases concurrently.
+     *
+     * @param testCases The folders of the test cases.
+     * @param parallelism The maximum number of concurrently processed test cases.
+     * @throws IOException Error when reading or writing vectors.
+     * @throws InterruptedException Processing is interrupted.
+     */
+    public void run(List<File> testCases, int parallelism) throws IOException, InterruptedException {
+        final ExecutorService pool = Executors.newFixedThreadPool(Math.max(1, Math.min(parallelism, testCases.size())));
+
+        try {
+            final ArrayList<Future<?>> futures = new ArrayList<>();
+            for (final File testCase : testCases)
+                futures.add(pool.submit(() -> { run(testCase); return null; }));
+
+            for (final Future<?> future : futures)
+                await(future);
+        }
+
+        finally {
+            pool.shutdownNow();
+        }
+    }
+
+    /**
+     * Processes the test case.
+     *
+     * @param testCase The folder of the test case.
+     * @throws IOException Error when reading or writing vectors.
+     * @throws InterruptedException Processing is interrupted.
+     */
+    public void run(File testCase) throws IOException, InterruptedException {
+        final GoldenModel model = models.get();
+        model.reset(parameters);
+
+        final ArrayBlockingQueue<SampleBlock> inputBlocks = new ArrayBlockingQueue<>(QUEUE_BLOCKS);
+        final ArrayBlockingQueue<SampleBlock> outputBlocks = new ArrayBlockingQueue<>(QUEUE_BLOCKS);
+        final ExecutorService stages = Executors.newFixedThreadPool(2);
+
+        try {
+            final Future<?> reading = stages.submit(() -> { read(testCase, inputBlocks); return null; });
+            final Future<?> writing = stages.submit(() -> { write(testCase, outputBlocks); return null; });
+
+            final Sample inputSample = new Sample(inputs);
+            final Sample outputSample = new Sample(outputs);
+            long samples = 0;
+
+            for (SampleBlock input = inputBlocks.take(); input != SampleBlock.END; input = inputBlocks.take()) {
+                final SampleBlock output = new SampleBlock(input.getSize(), outputs.getSampleWords());
+
+                for (int sample = 0; sample < input.getSize(); sample++) {
+                    inputSample.bind(input.getValues(), input.getUnknowns(), sample);
+                    outputSample.bind(output.getValues(), output.getUnknowns(), sample);
+                    model.step(inputSample, outputSample);
+                }
+
+                output.setSize(input.getSize());
+                samples += input.getSize();
+
+                send(outputBlocks, output, writing);
+            }
+
+            await(reading);
+            send(outputBlocks, SampleBlock.END, writing);
+            await(writing);
+
+            System.out.println("Expected vectors are generated: " + testCase.getAbsolutePath()
+                    + " (" + samples + " samples).");
+        }
+
+        finally {
+            stages.shutdownNow();
+        }
+    }
+
+    /**
+     * Sends the block to the writer stage.
+     * The writer has failed when it does not take blocks anymore,
+     * so its error is thrown instead of waiting for the free space forever.
+     */
+    private static void send(BlockingQueue<SampleBlock> blocks, SampleBlock block, Future<?> writing)
+            throws IOException, InterruptedException {
+
+        while (!blocks.offer(block, 100, TimeUnit.MILLISECONDS)) {
+            if (writing.isDone()) {
+                await(writing);
+                throw new IOException("Writer of the expected vectors has stopped before the end of the vectors.");
+            }
+        }
+    }
+
+    /**
+     * The reader stage. Reads samples of all inputs into the blocks.
+     * Always finishes with the SampleBlock.END block.
+     */
+    private void read(File testCase, BlockingQueue<SampleBlock> blocks) throws IOException, InterruptedException {
+        final ArrayList<VectorChannel> channels = inputs.getChannels();
+        final VectorReader[] readers = new VectorReader[channels.size()];
+
+        try {
+            for (int index = 0; index < readers.length; index++)
+                readers[index] = new VectorReader(new File(testCase, channels.get(index).getFileName("")),
+                                                  channels.get(index).getWidth());
+
+            while (true) {
+                final SampleBlock block = new SampleBlock(BLOCK_SAMPLES, inputs.getSampleWords());
+
+                while (block.getSize() < BLOCK_SAMPLES && readSample(readers, channels, block))
+                    block.setSize(block.getSize() + 1);
+
+                if (block.getSize() != 0)
+                    blocks.put(block);
+                if (block.getSize() < BLOCK_SAMPLES)
+                    break;
+            }
+        }
+
+        finally {
+            for (final VectorReader reader : readers)
+                if (reader != null)
+                    reader.close();
+
+            blocks.put(SampleBlock.END);
+        }
+    }
+
+    /**
+     * Reads the next sample of every input into the block.
+     *
+     * @return "false" when all vectors are over.
+     * @throws IOException Error when reading vectors
+     *                     or vectors have different sizes.
+     */
+    private boolean readSample(VectorReader[] readers, ArrayList<VectorChannel> channels, SampleBlock block)
+            throws IOException {
+
+        int finished = 0;
+
+        for (int index = 0; index < readers.length; index++) {
+            if (!readers[index].next()) {
+                finished++;
+                continue;
+            }
+
+            final int offset = block.getSize() * inputs.getSampleWords() + channels.get(index).getOffset();
+            final int words = channels.get(index).getWords();
+            System.arraycopy(readers[index].getValue(), 0, block.getValues(), offset, words);
+            System.arraycopy(readers[index].getUnknown(), 0, block.getUnknowns(), offset, words);
+        }
+
+        if (finished != 0 && finished != readers.length)
+            throw new IOException("Input vectors have different sizes: "
+                    + readers[0].getFile().getParentFile().getAbsolutePath());
+
+        return finished == 0 && readers.length != 0;
+    }
+
+    /**
+     * The writer stage. Writes samples of all outputs
+     * until the SampleBlock.END block is taken.
+     */
+    private void write(File testCase, BlockingQueue<SampleBlock> blocks) throws IOException, InterruptedException {
+        final ArrayList<VectorChannel> channels = outputs.getChannels();
+        final VectorWriter[] writers = new VectorWriter[channels.size()];
+        final long[][] values = new long[channels.size()][];
+        final long[][] unknowns = new long[channels.size()][];
+
+        try {
+            for (int index = 0; index < writers.length; index++) {
+                final VectorChannel channel = channels.get(index);
+                writers[index] = new VectorWriter(new File(testCase, channel.getFileName(EXPECTED_SUFFIX)),
+                                                  channel.getWidth());
+                values[index] = new long[channel.getWords()];
+                unknowns[index] = new long[channel.getWords()];
+            }
+
+            for (SampleBlock block = blocks.take(); block != SampleBlock.END; block = blocks.take()) {
+                for (int sample = 0; sample < block.getSize(); sample++) {
+                    for (int index = 0; index < writers.length; index++) {
+                        final int offset = sample * outputs.getSampleWords() + channels.get(index).getOffset();
+                        System.arraycopy(block.getValues(), offset, values[index], 0, values[index].length);
+                        System.arraycopy(block.getUnknowns(), offset, unknowns[index], 0, unknowns[index].length);
+                        writers[index].write(values[index], unknowns[index]);
+                    }
+                }
+            }
+        }
+
+        finally {
+            for (final VectorWriter writer : writers)
+                if (writer != null)
+                    writer.close();
+        }
+    }
+
+    /**
+     * Waits for the task and rethrows its exception.
+     */
+    private static void await(Future<?> future) throws IOException, InterruptedException {
+        try {
+            future.get();
+        }
+
+        catch (ExecutionException e) {
+            final Throwable cause = e.getCause();
+
+            if (cause instanceof IOException)
+                throw (IOException) cause;
+            if (cause instanceof InterruptedException)
+                throw (InterruptedException) cause;
+            if (cause instanceof RuntimeException)
+                throw (RuntimeException) cause;
+
+            throw new IOException(cause);
+        }
+    }
+
+}
@@ -0,0 +1,46 @@
+package backend.models;
+
+import java.util.ArrayList;
+import java.util.ServiceLoader;
+import java.util.function.Supplier;
+
+/*
+ * File: GoldenModels.java
+ * -----------------------------------------------
+ * Looks for the GoldenModel implementations
+ * that are registered as services.
+ */
+public class GoldenModels {
+
+    /**
+     * Returns the names of all registered models.
+     *
+     * @return The list of models names.
+     */
+    public static ArrayList<String> getNames() {
+        final ArrayList<String> names = new ArrayList<>();
+
+        for (final GoldenModel model : ServiceLoader.load(GoldenModel.class))
+            names.add(model.getName());
+
+        return names;
+    }
+
+    /**
+     * Returns the factory of the model with specified name.
+     * Every call of the factory creates a new model object.
+     *
+     * @param name The name of the model.
+     * @return The factory of the model.
+     * @throws IllegalArgumentException The model is not registered.
+     */
+    public static Supplier<GoldenModel> find(String name) {
+        for (final ServiceLoader.Provider<GoldenModel> provider :
+                (Iterable<ServiceLoader.Provider<GoldenModel>>) ServiceLoader.load(GoldenModel.class).stream()::iterator)
+            if (provider.get().getName().equals(name))
+                return provider;
+
+        throw new IllegalArgumentException("Golden model is not found: " + name + ". Available models: " + getNames());
+    }
+
+}
@@ -0,0 +1,192 @@
+package backend.models;
+
+import backend.vectors.TestVector;
+import backend.vectors.VectorChannel;
+import backend.vectors.VectorLayout;
+
+/*
+ * File: Sample.java
+ * -----------------------------------------------
+ * Gives access to the values of all ports of one sample.
+ *
+ * The object is a view over a block of flat samples
+ * (see VectorLayout), so it is reused for every sample
+ * and no objects are created per sample.
+ */
+public class Sample {
+
+    /* The layout of the ports of the sample. */
+    private final VectorLayout layout;
+
+    /* The block of samples and the offset of the ongoing sample in it. */
+    private long[] values;
+    private long[] unknowns;
+    private int base;
+
+    /**
+     * The class constructor.
+     *
+     * @param layout The layout of the ports of the sample.
+     */
+    public Sample(VectorLayout layout) {
+        this.layout = layout;
+    }
+
+    /**
+     * Points the view to the sample of the block.
+     *
+     * @param values The values of the block of samples.
+     * @param unknowns The unknown bits masks of the block of samples.
+     * @param sample The index of the sample in the block.
+     */
+    void bind(long[] values, long[] unknowns, int sample) {
+        this.values = values;
+        this.unknowns = unknowns;
+        this.base = sample * layout.getSampleWords();
+    }
+
+    /**
+     * Returns the value of the port that is not unpacked.
+     * Used for ports that are not wider than 64 bits.
+     *
+     * @param port The name of the port.
+     * @return The value of the port.
+     */
+    public long get(String port) {
+        return get(layout.getChannel(port, -1));
+    }
+
+    /**
+     * Returns the value of the element of the unpacked port.
+     * Used for ports that are not wider than 64 bits.
+     *
+     * @param port The name of the port.
+     * @param element The index of the element.
+     * @return The value of the element.
+     */
+    public long get(String port, int element) {
+        return get(layout.getChannel(port, element));
+    }
+
+    /**
+     * Returns the value of the channel.
+     * Used for ports that are not wider than 64 bits.
+     *
+     * @param channel The channel of the sample's layout.
+     * @return The value of the channel.
+     */
+    public long get(VectorChannel channel) {
+        return values[base + channel.getOffset()];
+    }
+
+    /**
+     * Returns the value of the signed port, extended to 64 bits.
+     *
+     * @param channel The channel of the sample's layout.
+     * @return The signed value of the channel.
+     */
+    public long getSigned(VectorChannel channel) {
+        final int shift = Long.SIZE - Math.min(channel.getWidth(), Long.SIZE);
+        return get(channel) << shift >> shift;
+    }
+
+    /**
+     * Returns one word of the value of the wide channel.
+     *
+     * @param channel The channel of the sample's layout.
+     * @param word The index of the word (0 is the least significant word).
+     * @return The word of the value.
+     */
+    public long getWord(VectorChannel channel, int word) {
+        return values[base + channel.getOffset() + word];
+    }
+
+    /**
+     * Checks if the channel contains unknown bits.
+     *
+     * @param channel The channel of the sample's layout.
+     * @return "true" when some bits of the channel are unknown.
+     */
+    public boolean isUnknown(VectorChannel channel) {
+        for (int word = 0; word < channel.getWords(); word++)
+            if (unknowns[base + channel.getOffset() + word] != 0)
+                return true;
+
+        return false;
+    }
+
+    /**
+     * Sets the value of the port that is not unpacked.
+     *
+     * @param port The name of the port.
+     * @param value The value of the port.
+     */
+    public void set(String port, long value) {
+        set(layout.getChannel(port, -1), value);
+    }
+
+    /**
+     * Sets the value of the element of the unpacked port.
+     *
+     * @param port The name of the port.
+     * @param element The index of the element.
+     * @param value The value of the element.
+     */
+    public void set(String port, int element, long value) {
+        set(layout.getChannel(port, element), value);
+    }
+
+    /**
+     * Sets the value of the channel. Bits that do not fit
+     * into the width of the channel are dropped.
+     *
+     * @param channel The channel of the sample's layout.
+     * @param value The value of the channel.
+     */
+    public void set(VectorChannel channel, long value) {
+        setWord(channel, 0, value);
+
+        /* Extends the sign to the upper words of the wide channel. */
+        for (int word = 1; word < channel.getWords(); word++)
+            setWord(channel, word, value < 0 ? -1L : 0);
+    }
+
+    /**
+     * Sets one word of the value of the wide channel.
+     *
+     * @param channel The channel of the sample's layout.
+     * @param word The index of the word (0 is the least significant word).
+     * @param value The word of the value.
+     */
+    public void setWord(VectorChannel channel, int word, long value) {
+        final boolean isLastWord = word == channel.getWords() - 1;
+        final int index = base + channel.getOffset() + word;
+
+        values[index] = isLastWord ? value & TestVector.getLastWordMask(channel.getWidth()) : value;
+        unknowns[index] = 0;
+    }
+
+    /**
+     * Marks all bits of the channel as unknown.
+     * Unknown expected values are not checked.
+     *
+     * @param channel The channel of the sample's layout.
+     */
+    public void setUnknown(VectorChannel channel) {
+        for (int word = 0; word < channel.getWords(); word++) {
+            final int index = base + channel.getOffset() + word;
+            values[index] = 0;
+            unknowns[index] = word == channel.getWords() - 1 ? TestVector.getLastWordMask(channel.getWidth()) : -1L;
+        }
+    }
+
+    /**
+     * Returns the layout of the ports of the sample.
+     *
+     * @return The VectorLayout object.
+     */
+    public VectorLayout getLayout() {
+        return layout;
+    }
+
+}
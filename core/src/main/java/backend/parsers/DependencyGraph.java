@@ -0,0 +1,259 @@
+package backend.parsers;
+
+import backend.parsers.detectors.DependenciesDetector;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.*;
+
+/*
+ * File: DependencyGraph.java
+ * -----------------------------------------------
+ * Describes dependencies between source files
+ * of the test environment and of the DUT.
+ *
+ * Files that are included by other files are not compiled
+ * on their own. Other files (compile units) are grouped
+ * into the compile levels: units of one level do not depend
+ * on each other, but they depend on units of previous levels.
+ */
+public class DependencyGraph {
+
+    /* Extensions of the source files that can be a part of the DUT. */
+    private static final String[] SOURCE_EXTENSIONS = {".sv", ".v", ".svh", ".vh"};
+
+    /* Detected dependencies of every source file. Key is the absolute path of the file. */
+    private final LinkedHashMap<String, DependenciesDetector> files = new LinkedHashMap<>();
+
+    /* Source files of the graph in order of adding. Key is the absolute path of the file. */
+    private final LinkedHashMap<String, File> sources = new LinkedHashMap<>();
+
+    /**
+     * Creates an empty graph.
+     */
+    public DependencyGraph() {
+    }
+
+    /**
+     * Creates a copy of the graph.
+     * Files added to the copy are not added to the original graph.
+     *
+     * @param graph The graph to copy.
+     */
+    public DependencyGraph(DependencyGraph graph) {
+        files.putAll(graph.files);
+        sources.putAll(graph.sources);
+    }
+
+    /**
+     * Adds a source file with already parsed lines of code.
+     * Used for the generated files of the test environment.
+     *
+     * @param file The source file.
+     * @param lines The code lines of the file.
+     */
+    public void addFile(File file, ArrayList<String> lines) {
+        sources.put(file.getAbsolutePath(), file);
+        files.put(file.getAbsolutePath(), new DependenciesDetector(lines));
+    }
+
+    /**
+     * Adds the DUT file and all files of its folder
+     * that are included or referenced by it (directly or transitively).
+     *
+     * @param dutFile The DUT file.
+     * @throws IOException Error when reading source files.
+     */
+    public void addDut(File dutFile) throws IOException {
+        final HashMap<String, File> declarations = getFolderDeclarations(dutFile.getParentFile());
+        final ArrayDeque<File> queue = new ArrayDeque<>(List.of(dutFile));
+
+        while (!queue.isEmpty()) {
+            final File file = queue.poll();
+            if (sources.containsKey(file.getAbsolutePath()) || !file.isFile())
+                continue;
+
+            final Parser parser = new Parser(file);
+            addFile(file, parser.fileToArrayList());
+
+            for (final String include : parser.getDependencies().getIncludes())
+                queue.add(new File(file.getParentFile(), include));
+
+            for (final String reference : parser.getDependencies().getReferences())
+                if (declarations.containsKey(reference))
+                    queue.add(declarations.get(reference));
+        }
+    }
+
+    /**
+     * Finds design units that are declared in the source files of the folder.
+     * Files are only scanned for declarations, they are not parsed.
+     *
+     * @param folder The folder with source files.
+     * @return The HashMap object. Key is the name of design unit.
+     *         Value is the file where it is declared.
+     */
+    private HashMap<String, File> getFolderDeclarations(File folder) throws IOException {
+        final HashMap<String, File> declarations = new HashMap<>();
+        final File[] folderFiles = folder == null ? null : folder.listFiles(this::isSourceFile);
+
+        if (folderFiles != null)
+            for (final File file : folderFiles)
+                for (final String unit : DependenciesDetector.scanDeclarations(file))
+                    declarations.putIfAbsent(unit, file);
+
+        return declarations;
+    }
+
+    private boolean isSourceFile(File file) {
+        for (final String extension : SOURCE_EXTENSIONS)
+            if (file.getName().endsWith(extension))
+                return file.isFile();
+
+        return false;
+    }
+
+    /**
+     * Returns all files of the graph in order of adding.
+     *
+     * @return The list of source files.
+     */
+    public ArrayList<File> getFiles() {
+        return new ArrayList<>(sources.values());
+    }
+
+    /**
+     * Checks if the file is included by some other file of the graph.
+     * Such file is compiled as a part of the file that includes it.
+     *
+     * @param file The source file of the graph.
+     * @return "true" when the file is included by another file.
+     */
+    public boolean isIncluded(File file) {
+        for (final String path : files.keySet())
+            for (final String include : files.get(path).getIncludes())
+                if (new File(sources.get(path).getParentFile(), include).getAbsolutePath()
+                        .equals(file.getAbsolutePath()))
+                    return true;
+
+        return false;
+    }
+
+    /**
+     * Groups the compile units into the compile levels.
+     *
+     * @return The list of levels. Every level contains units
+     *         that depend only on units of previous levels.
+     */
+    public ArrayList<ArrayList<File>> getCompileLevels() {
+        final LinkedHashMap<String, HashSet<String>> dependencies = getUnitsDependencies();
+        final HashMap<String, Integer> levels = new HashMap<>();
+        final ArrayList<ArrayList<File>> result = new ArrayList<>();
+
+        while (levels.size() != dependencies.size()) {
+            final ArrayList<String> level = new ArrayList<>();
+
+            for (final String unit : dependencies.keySet())
+                if (!levels.containsKey(unit) && levels.keySet().containsAll(dependencies.get(unit)))
+                    level.add(unit);
+
+            /* Dependencies are cyclic. Remaining units are compiled together. */
+            if (level.isEmpty())
+                for (final String unit : dependencies.keySet())
+                    if (!levels.containsKey(unit))
+                        level.add(unit);
+
+            final ArrayList<File> levelFiles = new ArrayList<>();
+            for (final String unit : level) {
+                levels.put(unit, result.size());
+                levelFiles.add(sources.get(unit));
+            }
+            result.add(levelFiles);
+        }
+
+        return result;
+    }
+
+    /**
+     * Returns the compile order of every source file.
+     * Compile units are numbered one by one in order of their compile levels.
+     * Included files are not compiled on their own,
+     * they all get the number that follows the last unit.
+     *
+     * @return The HashMap object. Key is the source file.
+     *         Value is its compile order.
+     */
+    public HashMap<File, Integer> getCompileOrder() {
+        final HashMap<File, Integer> order = new HashMap<>();
+        final ArrayList<ArrayList<File>> levels = getCompileLevels();
+
+        int num = 0;
+        for (final ArrayList<File> level : levels)
+            for (final File unit : level)
+                order.put(unit, num++);
+
+        for (final File file : sources.values())
+            order.putIfAbsent(file, num);
+
+        return order;
+    }
+
+    /**
+     * Collects dependencies between compile units.
+     * Dependencies of included files are added to the units that include them.
+     * Dependencies on included files are replaced by dependencies
+     * on the units that include them.
+     */
+    private LinkedHashMap<String, HashSet<String>> getUnitsDependencies() {
+        /* Design units that are declared by every compile unit (including included files). */
+        final HashMap<String, String> declaringUnits = new HashMap<>();
+        final LinkedHashMap<String, HashSet<String>> references = new LinkedHashMap<>();
+
+        for (final String path : sources.keySet()) {
+            if (isIncluded(sources.get(path)))
+                continue;
+
+            final HashSet<String> unitReferences = new HashSet<>();
+            for (final String member : getIncludedClosure(path)) {
+                for (final String unit : files.get(member).getDeclarations())
+                    declaringUnits.putIfAbsent(unit, path);
+                unitReferences.addAll(files.get(member).getReferences());
+            }
+            references.put(path, unitReferences);
+        }
+
+        final LinkedHashMap<String, HashSet<String>> dependencies = new LinkedHashMap<>();
+        for (final String path : references.keySet()) {
+            final HashSet<String> unitDependencies = new HashSet<>();
+
+            for (final String reference : references.get(path)) {
+                final String unit = declaringUnits.get(reference);
+                if (unit != null && !unit.equals(path))
+                    unitDependencies.add(unit);
+            }
+            dependencies.put(path, unitDependencies);
+        }
+
+        return dependencies;
+    }
+
+    /**
+     * Returns the file and all files that are included by it (transitively).
+     */
+    private LinkedHashSet<String> getIncludedClosure(String path) {
+        final LinkedHashSet<String> closure = new LinkedHashSet<>();
+        final ArrayDeque<String> queue = new ArrayDeque<>(List.of(path));
+
+        while (!queue.isEmpty()) {
+            final String member = queue.poll();
+            if (!files.containsKey(member) || !closure.add(member))
+                continue;
+
+            for (final String include : files.get(member).getIncludes())
+                queue.add(new File(sources.get(member).getParentFile(), include).getAbsolutePath());
+        }
+
+        return closure;
+    }
+
+}
@@ -0,0 +1,223 @@
+package backend.parsers;
+
+import java.util.HashMap;
+import java.util.HashSet;
+
+/*
+ * File: ExpressionEvaluator.java
+ * -----------------------------------------------
+ * Evaluates constant integer expressions of the parsed module,
+ * such as sizes of ports ("DATA_WIDTH * 2 - 1").
+ *
+ * Supports decimal and sized ("8'hFF") numbers,
+ * parameters names, "+", "-", "*", "/", "%", "**",
+ * parentheses and the "$clog2()" function.
+ */
+public class ExpressionEvaluator {
+
+    /* Names and values of the parameters of the parsed module. */
+    private final HashMap<String, String> parameters;
+
+    /* Parameters that are evaluated at the moment. Used to detect cyclic references. */
+    private final HashSet<String> evaluated = new HashSet<>();
+
+    /* The ongoing expression and the position of the parsed symbol. */
+    private String expression;
+    private int position;
+
+    /**
+     * The class constructor.
+     *
+     * @param parameters The HashMap object with names
+     *                   and values of module's parameters.
+     */
+    public ExpressionEvaluator(HashMap<String, String> parameters) {
+        this.parameters = parameters == null ? new HashMap<>() : parameters;
+    }
+
+    /**
+     * Evaluates the expression.
+     *
+     * @param expression The String value of the expression.
+     * @return The value of the expression.
+     * @throws IllegalArgumentException The expression can't be evaluated.
+     */
+    public long evaluate(String expression) {
+        final String savedExpression = this.expression;
+        final int savedPosition = position;
+
+        this.expression = expression.replaceAll("\\s", "");
+        position = 0;
+
+        try {
+            final long result = parseSum();
+            if (position != this.expression.length())
+                throw error();
+            return result;
+        }
+
+        finally {
+            this.expression = savedExpression;
+            position = savedPosition;
+        }
+    }
+
+    private long parseSum() {
+        long result = parseProduct();
+
+        while (position < expression.length()) {
+            final char operator = expression.charAt(position);
+            if (operator != '+' && operator != '-')
+                break;
+
+            position++;
+            result = operator == '+' ? result + parseProduct() : result - parseProduct();
+        }
+
+        return result;
+    }
+
+    private long parseProduct() {
+        long result = parsePower();
+
+        while (position < expression.length()) {
+            final char operator = expression.charAt(position);
+            if (operator != '*' && operator != '/' && operator != '%')
+                break;
+
+            position++;
+            final long operand = parsePower();
+
+            if (operator == '*')
+                result *= operand;
+            else if (operand == 0)
+                throw new IllegalArgumentException("Division by zero in the expression: " + expression);
+            else
+                result = operator == '/' ? result / operand : result % operand;
+        }
+
+        return result;
+    }
+
+    private long parsePower() {
+        final long base = parseUnary();
+
+        if (expression.startsWith("**", position)) {
+            position += 2;
+            final long exponent = parsePower();
+            long result = 1;
+            for (long i = 0; i < exponent; i++)
+                result *= base;
+            return result;
+        }
+
+        return base;
+    }
+
+    private long parseUnary() {
+        if (position < expression.length() && expression.charAt(position) == '-') {
+            position++;
+            return -parseUnary();
+        }
+        if (position < expression.length() && expression.charAt(position) == '+') {
+            position++;
+            return parseUnary();
+        }
+
+        return parseOperand();
+    }
+
+    private long parseOperand() {
+        if (position >= expression.length())
+            throw error();
+
+        final char symbol = expression.charAt(position);
+
+        if (symbol == '(') {
+            position++;
+            final long result = parseSum();
+            expect(')');
+            return result;
+        }
+
+        if (expression.startsWith("$clog2(", position)) {
+            position += "$clog2(".length();
+            final long argument = parseSum();
+            expect(')');
+            return argument <= 1 ? 0 : 64 - Long.numberOfLeadingZeros(argument - 1);
+        }
+
+        if (Character.isDigit(symbol) || symbol == '\'')
+            return parseNumber();
+
+        if (Character.isLetter(symbol) || symbol == '_')
+            return parseParameter();
+
+        throw error();
+    }
+
+    /**
+     * Parses decimal or sized number ("42", "8'd42", "'h2A").
+     */
+    private long parseNumber() {
+        final int begin = position;
+        while (position < expression.length() && Character.isDigit(expression.charAt(position)))
+            position++;
+
+        if (position >= expression.length() || expression.charAt(position) != '\'')
+            return Long.parseLong(expression.substring(begin, position));
+
+        position++;
+        if (position < expression.length() && Character.toLowerCase(expression.charAt(position)) == 's')
+            position++;
+        if (position >= expression.length())
+            throw error();
+
+        final int radix;
+        switch (Character.toLowerCase(expression.charAt(position++))) {
+            case 'h' -> radix = 16;
+            case 'd' -> radix = 10;
+            case 'o' -> radix = 8;
+            case 'b' -> radix = 2;
+            default -> throw error();
+        }
+
+        final int digitsBegin = position;
+        while (position < expression.length()
+                && (Character.digit(expression.charAt(position), radix) >= 0 || expression.charAt(position) == '_'))
+            position++;
+
+        return Long.parseLong(expression.substring(digitsBegin, position).replace("_", ""), radix);
+    }
+
+    private long parseParameter() {
+        final int begin = position;
+        while (position < expression.length()
+                && (Character.isLetterOrDigit(expression.charAt(position)) || expression.charAt(position) == '_'))
+            position++;
+
+        final String name = expression.substring(begin, position);
+
+        if (!parameters.containsKey(name))
+            throw new IllegalArgumentException("Unknown parameter \"" + name + "\" in the expression: " + expression);
+        if (!evaluated.add(name))
+            throw new IllegalArgumentException("Parameter \"" + name + "\" refers to itself.");
+
+        try {
+            return evaluate(parameters.get(name));
+        } finally {
+            evaluated.remove(name);
+        }
+    }
+
+    private void expect(char symbol) {
+        if (position >= expression.length() || expression.charAt(position) != symbol)
+            throw error();
+        position++;
+    }
+
+    private IllegalArgumentException error() {
+        return new IllegalArgumentException("Expression can't be evaluated: " + expression);
+    }
+
+}
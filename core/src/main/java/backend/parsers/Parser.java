@@ -1,6 +1,8 @@
 package backend.parsers;
 
+import backend.ProgressListener;
 import backend.parsers.detectors.ClocksDetector;
+import backend.parsers.detectors.DependenciesDetector;
 import backend.parsers.detectors.PortDescriptor;
 import backend.parsers.detectors.ParametersDetector;
 import backend.parsers.detectors.PortsDetector;
@@ -19,11 +21,15 @@ import java.util.Objects;
  */
 public class Parser {
 
+    /* The number of lines that are read between the progress reports. */
+    private static final int PROGRESS_LINES = 4096;
+
     /* Detects needed data in the parsed files.
     Detecting data is covered in the detectors names. */
     private ClocksDetector inputClkParser;
     private PortsDetector portsDetector;
     private ParametersDetector parametersDetector;
+    private DependenciesDetector dependenciesDetector;
 
     /* The list of parsed file's code lines. */
     private final ArrayList<String> parsedFile;
@@ -41,9 +47,24 @@ public class Parser {
      * @throws IOException Covers problems with reading of a specified file.
      */
     public Parser(File file) throws IOException {
+        this(file, ProgressListener.NONE);
+    }
+
+    /**
+     * The class constructor.
+     * Used to parse the DUT file out of the GUI thread:
+     * reports the read lines to the listener and stops
+     * when the thread is interrupted.
+     *
+     * @param file The File object that contains a path to specified file.
+     * @param listener The ProgressListener object.
+     * @throws IOException Covers problems with reading of a specified file.
+     * @throws InterruptedIOException Reading is interrupted.
+     */
+    public Parser(File file, ProgressListener listener) throws IOException {
         this.file = file;
         InputStream inputStream = new FileInputStream(file);
-        parsedFile = toArrayList(inputStream);
+        parsedFile = toArrayList(inputStream, file.getName(), file.length(), listener);
         System.out.println("File parsed: " + file);
         initDetectors(parsedFile);
     }
@@ -58,7 +79,7 @@ public class Parser {
      */
     public Parser(String filePath) throws IOException {
         InputStream inputStream = getClass().getClassLoader().getResourceAsStream(filePath);
-        parsedFile = toArrayList(inputStream);
+        parsedFile = toArrayList(inputStream, filePath, 0, ProgressListener.NONE);
         System.out.println("File parsed: " + filePath);
         initDetectors(parsedFile);
     }
@@ -72,16 +93,40 @@ public class Parser {
         portsDetector = new PortsDetector(parsedFile);
         inputClkParser = new ClocksDetector(portsDetector.getInputPorts().keySet());
         parametersDetector = new ParametersDetector(parsedFile);
+        dependenciesDetector = new DependenciesDetector(parsedFile);
     }
 
-    private ArrayList<String> toArrayList(InputStream inputStream) throws IOException {
+    /**
+     * Reads lines of the file.
+     * Every PROGRESS_LINES lines reports the read characters
+     * and checks if the thread is interrupted.
+     *
+     * @param inputStream The stream of the file.
+     * @param name The name of the file (for the progress).
+     * @param size The size of the file (0 when it is unknown).
+     * @param listener The ProgressListener object.
+     */
+    private ArrayList<String> toArrayList(InputStream inputStream, String name, long size,
+                                          ProgressListener listener) throws IOException {
         BufferedReader bufferedReader = new BufferedReader(
                 new InputStreamReader(Objects.requireNonNull(inputStream)));
         ArrayList<String> parsedFile = new ArrayList<>();
+        long read = 0;
 
         String newLine;
-        while ((newLine = bufferedReader.readLine()) != null)
+        while ((newLine = bufferedReader.readLine()) != null) {
             parsedFile.add(newLine);
+            read += newLine.length() + 1;
+
+            if (parsedFile.size() % PROGRESS_LINES == 0) {
+                if (Thread.currentThread().isInterrupted()) {
+                    bufferedReader.close();
+                    throw new InterruptedIOException("Parsing is interrupted: " + name);
+                }
+                listener.onProgress("Parsing " + name + ": " + parsedFile.size() + " lines",
+                                    Math.min(read, size), size);
+            }
+        }
 
         inputStream.close();
         bufferedReader.close();
@@ -122,4 +167,7 @@ public class Parser {
     public HashMap<String, String> getParameters() {
         return parametersDetector.getParameters();
     }
+    public DependenciesDetector getDependencies() {
+        return dependenciesDetector;
+    }
 }
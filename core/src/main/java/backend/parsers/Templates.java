@@ -0,0 +1,66 @@
+package backend.parsers;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+
+/*
+ * File: Templates.java
+ * -----------------------------------------------
+ * Caches lines of the test environment templates
+ * that are read from the resource directory.
+ *
+ * Templates are read once per process on the first use,
+ * so long-running processes (the daemon, batch tools)
+ * do not read resources on every generation.
+ * Cached lines are unmodifiable. Generators copy them
+ * before filling in.
+ */
+public class Templates {
+
+    /* Lines of the read templates. Key is the path in the resource directory. */
+    private static final ConcurrentHashMap<String, List<String>> cache = new ConcurrentHashMap<>();
+
+    /**
+     * Returns lines of the template.
+     * Reads the template on the first call.
+     *
+     * @param path The path of the template in the resource directory.
+     * @return The unmodifiable list of the template's lines.
+     * @throws IOException Error when reading the template.
+     */
+    public static List<String> read(String path) throws IOException {
+        final List<String> lines = cache.get(path);
+
+        if (lines != null)
+            return lines;
+
+        final List<String> read = Collections.unmodifiableList(new ArrayList<>(new Parser(path).fileToArrayList()));
+        final List<String> cached = cache.putIfAbsent(path, read);
+
+        return cached == null ? read : cached;
+    }
+
+    /**
+     * Reads templates in advance.
+     *
+     * @param paths The paths of the templates in the resource directory.
+     * @throws IOException Error when reading a template.
+     */
+    public static void preload(String... paths) throws IOException {
+        for (final String path : paths)
+            read(path);
+    }
+
+    /**
+     * Returns the number of cached templates.
+     *
+     * @return The number of templates.
+     */
+    public static int size() {
+        return cache.size();
+    }
+
+}
@@ -41,18 +41,20 @@ public class ClocksDetector {
      * Checks if specified port is a clock port
      * by finding a "clk" or "clock" key words
      * in the port's name.
+     * It is the only clock name rule of the tool,
+     * "PortDescriptor.isClock()" uses it too.
      *
      * @param port The String value that contains
      *             a name of port.
      * @return The boolean "true" value, if ongoing port
      *         is a clock port. Else "false".
      */
-    private boolean isClockPort(String port) {
+    public static boolean isClockPort(String port) {
         String[] clockKeyWords = {"clock", "clk"};
         boolean clkFound = false;
 
         for (String keyWord: clockKeyWords) {
-            clkFound = port.toLowerCase().contains(keyWord);
+            clkFound |= port.toLowerCase().contains(keyWord);
         }
 
         return clkFound;
@@ -0,0 +1,181 @@
+package backend.parsers.detectors;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileReader;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/*
+ * File: DependenciesDetector.java
+ * -----------------------------------------------
+ * Looks for dependencies of the parsed file:
+ *  -- files that are included by "`include" directives;
+ *  -- design units (modules, interfaces, packages, classes)
+ *     that are declared in the file;
+ *  -- design units that are instantiated or referenced
+ *     by the file.
+ */
+public class DependenciesDetector {
+
+    /* "`include "file.sv"" directive. */
+    private static final Pattern INCLUDE =
+            Pattern.compile("`include\\s+\"([^\"]+)\"");
+
+    /* Declaration of a design unit. For example, "module tb ();". */
+    private static final Pattern DECLARATION =
+            Pattern.compile("^\\s*(?:virtual\\s+)?(?:module|interface|package|class|program)\\s+(?:automatic\\s+)?(\\w+)");
+
+    /* Instantiation of a design unit. For example, "clk_generator #(" or "Interface iface();". */
+    private static final Pattern INSTANCE =
+            Pattern.compile("^\\s*(\\w+)\\s*(?:#\\s*\\(|\\w+\\s*(?:\\[[^]]*]\\s*)?\\()");
+
+    /* Import of a package. For example, "import my_pkg::*;". */
+    private static final Pattern IMPORT =
+            Pattern.compile("\\bimport\\s+(\\w+)\\s*::");
+
+    /* Words that can't be the name of an instantiated design unit. */
+    private static final HashSet<String> KEYWORDS = new HashSet<>(Arrays.asList(
+            "module", "endmodule", "interface", "endinterface", "package", "endpackage", "class", "endclass",
+            "function", "endfunction", "task", "endtask", "program", "virtual", "local", "protected", "static",
+            "extern", "pure", "automatic", "if", "else", "for", "foreach", "while", "do", "repeat", "forever",
+            "case", "casex", "casez", "return", "begin", "end", "assign", "always", "always_ff", "always_comb",
+            "always_latch", "initial", "final", "generate", "wait", "void", "new", "input", "output", "inout",
+            "assert", "assume", "cover", "property", "sequence", "constraint", "typedef", "import", "export"));
+
+    /* Found dependencies. */
+    private final LinkedHashSet<String> includes = new LinkedHashSet<>();
+    private final LinkedHashSet<String> declarations = new LinkedHashSet<>();
+    private final LinkedHashSet<String> references = new LinkedHashSet<>();
+
+    /**
+     * The class constructor.
+     *
+     * @param parsedFile The ArrayList object
+     *                   that contains all code lines
+     *                   of parsed file.
+     */
+    public DependenciesDetector(ArrayList<String> parsedFile) {
+        boolean isBlockComment = false;
+
+        for (String codeLine : parsedFile) {
+            /* Skips block comments. */
+            if (isBlockComment) {
+                if (!codeLine.contains("*/"))
+                    continue;
+                codeLine = codeLine.substring(codeLine.indexOf("*/") + 2);
+                isBlockComment = false;
+            }
+            if (codeLine.contains("/*") && !codeLine.contains("*/")) {
+                codeLine = codeLine.substring(0, codeLine.indexOf("/*"));
+                isBlockComment = true;
+            }
+
+            if (codeLine.contains("//"))
+                codeLine = codeLine.substring(0, codeLine.indexOf("//"));
+
+            detect(codeLine);
+        }
+
+        references.removeAll(declarations);
+    }
+
+    /**
+     * Looks only for the design units that are declared in the file.
+     * The file is read line by line and every line is matched
+     * by the declaration pattern only, so the folder of the DUT
+     * can be scanned without parsing every its file.
+     *
+     * @param file The source file.
+     * @return The set of declared design units.
+     * @throws IOException Error when reading the file.
+     */
+    public static LinkedHashSet<String> scanDeclarations(File file) throws IOException {
+        final LinkedHashSet<String> declarations = new LinkedHashSet<>();
+        boolean isBlockComment = false;
+
+        try (BufferedReader reader = new BufferedReader(new FileReader(file))) {
+            String codeLine;
+            while ((codeLine = reader.readLine()) != null) {
+                if (isBlockComment) {
+                    if (!codeLine.contains("*/"))
+                        continue;
+                    codeLine = codeLine.substring(codeLine.indexOf("*/") + 2);
+                    isBlockComment = false;
+                }
+                if (codeLine.contains("/*") && !codeLine.contains("*/")) {
+                    codeLine = codeLine.substring(0, codeLine.indexOf("/*"));
+                    isBlockComment = true;
+                }
+
+                final Matcher matcher = DECLARATION.matcher(codeLine);
+                if (matcher.find())
+                    declarations.add(matcher.group(1));
+            }
+        }
+
+        return declarations;
+    }
+
+    /**
+     * Looks for dependencies in the ongoing line of code.
+     *
+     * @param codeLine The String value that contains
+     *                 a separate line of code.
+     */
+    private void detect(String codeLine) {
+        Matcher matcher = INCLUDE.matcher(codeLine);
+        if (matcher.find()) {
+            includes.add(matcher.group(1));
+            return;
+        }
+
+        matcher = DECLARATION.matcher(codeLine);
+        if (matcher.find()) {
+            declarations.add(matcher.group(1));
+            return;
+        }
+
+        matcher = IMPORT.matcher(codeLine);
+        while (matcher.find())
+            references.add(matcher.group(1));
+
+        matcher = INSTANCE.matcher(codeLine);
+        if (matcher.find() && !KEYWORDS.contains(matcher.group(1)))
+            references.add(matcher.group(1));
+    }
+
+    /**
+     * Returns names of the files that are included by the parsed file.
+     *
+     * @return The set of included files names (as they are written in the code).
+     */
+    public LinkedHashSet<String> getIncludes() {
+        return includes;
+    }
+
+    /**
+     * Returns names of the design units that are declared in the parsed file.
+     *
+     * @return The set of declared design units.
+     */
+    public LinkedHashSet<String> getDeclarations() {
+        return declarations;
+    }
+
+    /**
+     * Returns names of the design units that are instantiated
+     * or imported by the parsed file but are not declared in it.
+     *
+     * @return The set of referenced design units.
+     */
+    public LinkedHashSet<String> getReferences() {
+        return references;
+    }
+
+}
@@ -0,0 +1,162 @@
+package backend.parsers.detectors;
+
+import backend.parsers.ExpressionEvaluator;
+
+import java.util.HashMap;
+
+/*
+ * File: PortDescriptor.java
+ * -----------------------------------------------
+ * Stores a full port's description
+ * of a SystemVerilog/Verilog module.
+ */
+public class PortDescriptor {
+
+    /* Port's properties. */
+    private String name = "";
+    private String type = "";
+    private String signed = "";
+    private String packedSize = "";
+    private String unpackedSize = "";
+
+    /* The declaration of the port. It is built on the first call
+    of toString() and is reset when a property is changed. */
+    private String declaration;
+
+    /* Getters and setters of the port's properties. */
+    public void setName(String name) {
+        this.name = name;
+        declaration = null;
+    }
+    public String getName() {
+        return name;
+    }
+
+    public void setType(String type) {
+        this.type = type;
+        declaration = null;
+    }
+    public String getType() {
+        return type;
+    }
+
+    public void setSigned(String signed) {
+        this.signed = signed;
+        declaration = null;
+    }
+    public String getSigned() {
+        return signed;
+    }
+
+    public void setPackedSize(String packedSize) {
+        this.packedSize = packedSize;
+        declaration = null;
+    }
+    public String getPackedSize() {
+        return packedSize;
+    }
+
+    public String getUnpackedSize() {
+        return unpackedSize;
+    }
+    public void setUnpackedSize(String unpackedSize) {
+        this.unpackedSize = unpackedSize;
+        declaration = null;
+    }
+
+    /**
+     * Checks if the port is a clock port
+     * by the rule of "ClocksDetector.isClockPort()".
+     * Clock ports are driven by the clock driver,
+     * so they do not have test vectors.
+     *
+     * @return "true" when the port is a clock port.
+     */
+    public boolean isClock() {
+        return ClocksDetector.isClockPort(name);
+    }
+
+    /**
+     * Returns the width of the port (in bits).
+     * Packed size is resolved against the module's parameters.
+     *
+     * @param parameters The HashMap object with names
+     *                   and values of module's parameters.
+     * @return The width of the port. Port without packed size is 1 bit wide.
+     */
+    public int getWidth(HashMap<String, String> parameters) {
+        return packedSize.equals("") ? 1 : decodeRange(packedSize, parameters);
+    }
+
+    /**
+     * Returns the number of elements of the unpacked port.
+     * Unpacked size is resolved against the module's parameters.
+     *
+     * @param parameters The HashMap object with names
+     *                   and values of module's parameters.
+     * @return The number of elements. Port that is not unpacked has 0 elements.
+     */
+    public int getDepth(HashMap<String, String> parameters) {
+        return unpackedSize.equals("") ? 0 : decodeRange(unpackedSize, parameters);
+    }
+
+    /**
+     * Translates the size of the port in a format of code
+     * ("[SOME_PARAMETER - 1 : 0]" or "[SOME_PARAMETER]") to the number.
+     */
+    private int decodeRange(String codedSize, HashMap<String, String> parameters) {
+        final ExpressionEvaluator evaluator = new ExpressionEvaluator(parameters);
+        final String range = codedSize.substring(codedSize.indexOf('[') + 1, codedSize.lastIndexOf(']'));
+
+        if (!range.contains(":"))
+            return (int) evaluator.evaluate(range);
+
+        final long msb = evaluator.evaluate(range.substring(0, range.indexOf(':')));
+        final long lsb = evaluator.evaluate(range.substring(range.indexOf(':') + 1));
+
+        return (int) (Math.abs(msb - lsb) + 1);
+    }
+
+    /**
+     * Collects port's properties to a one string.
+     * Result have a form of SystemVerilog/Verilog
+     * module's port declaration.
+     *
+     * @return The Sting value that contains
+     *         SystemVerilog/Verilog module's port declaration.
+     */
+    public String toString() {
+        if (declaration != null)
+            return declaration;
+
+        StringBuilder result = new StringBuilder("logic");
+
+        if (!signed.equals(""))
+            result.append(" ").append(signed);
+
+        if (!packedSize.equals(""))
+            result.append(" ").append(packedSize);
+
+        result.append(" ").append(name);
+
+        if (!unpackedSize.equals(""))
+            result.append(" ").append(unpackedSize);
+
+        declaration = result.toString();
+        return declaration;
+    }
+
+    public PortDescriptor deepCopy() {
+        PortDescriptor portDescriptor = new PortDescriptor();
+
+        portDescriptor.setName(name);
+        portDescriptor.setType(type);
+        portDescriptor.setSigned(signed);
+        portDescriptor.setPackedSize(packedSize);
+        portDescriptor.setUnpackedSize(unpackedSize);
+        portDescriptor.declaration = declaration;
+
+        return portDescriptor;
+    }
+
+}
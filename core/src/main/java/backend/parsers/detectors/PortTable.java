@@ -0,0 +1,213 @@
+package backend.parsers.detectors;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.HashMap;
+
+/*
+ * File: PortTable.java
+ * -----------------------------------------------
+ * Compact immutable storage of the module's ports.
+ *
+ * Properties of the ports are stored in parallel arrays
+ * instead of a PortDescriptor object (and a HashMap entry) per port:
+ * names are packed into one UTF-8 array, types are indexes,
+ * sizes are interned, so all ports declared with the same range
+ * share one string, and widths and depths are resolved once
+ * against the module's parameters.
+ *
+ * Ports are sorted by the bytes of their names.
+ * PortDescriptor objects are created only on demand,
+ * vector layouts are built from the table directly (see "VectorLayout").
+ */
+public final class PortTable {
+
+    /* Types of the ports ("" is the port without a type). The index of the type is stored. */
+    private static final String[] TYPES = {"", "logic", "wire", "reg"};
+
+    /* The width or depth that can't be resolved against the parameters. */
+    private static final int UNRESOLVED = -1;
+
+    /* The number of ports. */
+    private final int size;
+
+    /* Names of the ports. The name of the port "i" is the bytes
+    from nameOffsets[i] to nameOffsets[i + 1]. */
+    private final byte[] names;
+    private final int[] nameOffsets;
+
+    /* Properties of the ports. */
+    private final byte[] types;
+    private final boolean[] signed;
+    private final String[] packedSizes;
+    private final String[] unpackedSizes;
+    private final int[] widths;
+    private final int[] depths;
+
+    /**
+     * The class constructor.
+     *
+     * @param ports The HashMap object with names
+     *              and descriptions of the ports.
+     * @param parameters The HashMap object with names
+     *                   and values of module's parameters.
+     * @throws IllegalArgumentException The type of the port is unknown.
+     */
+    public PortTable(HashMap<String, PortDescriptor> ports, HashMap<String, String> parameters) {
+        size = ports.size();
+
+        final byte[][] encoded = new byte[size][];
+        int index = 0;
+        int length = 0;
+
+        for (final String name : ports.keySet()) {
+            encoded[index++] = name.getBytes(StandardCharsets.UTF_8);
+            length += encoded[index - 1].length;
+        }
+
+        Arrays.sort(encoded, Arrays::compareUnsigned);
+
+        names = new byte[length];
+        nameOffsets = new int[size + 1];
+        types = new byte[size];
+        signed = new boolean[size];
+        packedSizes = new String[size];
+        unpackedSizes = new String[size];
+        widths = new int[size];
+        depths = new int[size];
+
+        /* Resolved sizes. Ports are mostly declared with a few ranges. */
+        final HashMap<String, Integer> resolved = new HashMap<>();
+
+        for (index = 0; index < size; index++) {
+            System.arraycopy(encoded[index], 0, names, nameOffsets[index], encoded[index].length);
+            nameOffsets[index + 1] = nameOffsets[index] + encoded[index].length;
+
+            final PortDescriptor desc = ports.get(new String(encoded[index], StandardCharsets.UTF_8));
+            types[index] = typeIndex(desc);
+            signed[index] = !desc.getSigned().equals("");
+            packedSizes[index] = desc.getPackedSize().intern();
+            unpackedSizes[index] = desc.getUnpackedSize().intern();
+            widths[index] = resolved.computeIfAbsent("w" + packedSizes[index], key -> resolve(desc, parameters, true));
+            depths[index] = resolved.computeIfAbsent("d" + unpackedSizes[index], key -> resolve(desc, parameters, false));
+        }
+    }
+
+    /* Returns the index of the port's type. */
+    private static byte typeIndex(PortDescriptor desc) {
+        for (byte index = 0; index < TYPES.length; index++)
+            if (TYPES[index].equals(desc.getType()))
+                return index;
+
+        throw new IllegalArgumentException("Type of the port \"" + desc.getName() + "\" is unknown: " +
+                                           desc.getType());
+    }
+
+    /**
+     * Resolves the width or the depth of the port.
+     * Error of the resolving is reported when the value is requested.
+     */
+    private static int resolve(PortDescriptor desc, HashMap<String, String> parameters, boolean isWidth) {
+        try {
+            return isWidth ? desc.getWidth(parameters) : desc.getDepth(parameters);
+        } catch (IllegalArgumentException e) {
+            return UNRESOLVED;
+        }
+    }
+
+    /**
+     * Returns the number of ports.
+     *
+     * @return The number of ports.
+     */
+    public int size() {
+        return size;
+    }
+
+    /* Getters of the port's properties. Index is in range from 0 to size() - 1. */
+    public String getName(int index) {
+        return new String(names, nameOffsets[index], nameOffsets[index + 1] - nameOffsets[index],
+                          StandardCharsets.UTF_8);
+    }
+    public String getType(int index) {
+        return TYPES[types[index]];
+    }
+    public boolean isSigned(int index) {
+        return signed[index];
+    }
+    public String getPackedSize(int index) {
+        return packedSizes[index];
+    }
+    public String getUnpackedSize(int index) {
+        return unpackedSizes[index];
+    }
+    public boolean isClock(int index) {
+        return ClocksDetector.isClockPort(getName(index));
+    }
+
+    /**
+     * Returns the width of the port (in bits).
+     *
+     * @param index The index of the port.
+     * @return The width that is resolved against the module's parameters.
+     * @throws IllegalArgumentException The packed size can't be resolved.
+     */
+    public int getWidth(int index) {
+        if (widths[index] == UNRESOLVED)
+            throw new IllegalArgumentException("Width of the port \"" + getName(index) + "\" can't be resolved: " +
+                                               packedSizes[index]);
+
+        return widths[index];
+    }
+
+    /**
+     * Returns the number of elements of the unpacked port.
+     *
+     * @param index The index of the port.
+     * @return The depth that is resolved against the module's parameters.
+     * @throws IllegalArgumentException The unpacked size can't be resolved.
+     */
+    public int getDepth(int index) {
+        if (depths[index] == UNRESOLVED)
+            throw new IllegalArgumentException("Depth of the port \"" + getName(index) + "\" can't be resolved: " +
+                                               unpackedSizes[index]);
+
+        return depths[index];
+    }
+
+    /**
+     * Creates the description of the port.
+     *
+     * @param index The index of the port.
+     * @return The new PortDescriptor object.
+     */
+    public PortDescriptor getDescriptor(int index) {
+        final PortDescriptor desc = new PortDescriptor();
+
+        desc.setName(getName(index));
+        desc.setType(getType(index));
+        desc.setSigned(signed[index] ? "signed" : "");
+        desc.setPackedSize(packedSizes[index]);
+        desc.setUnpackedSize(unpackedSizes[index]);
+
+        return desc;
+    }
+
+    /**
+     * Creates descriptions of all ports.
+     * Descriptions are new objects, so they can be changed by the caller.
+     *
+     * @return The HashMap object. Key contains a name of the port.
+     */
+    public HashMap<String, PortDescriptor> toHashMap() {
+        final HashMap<String, PortDescriptor> ports = new HashMap<>();
+
+        for (int index = 0; index < size; index++) {
+            final PortDescriptor desc = getDescriptor(index);
+            ports.put(desc.getName(), desc);
+        }
+
+        return ports;
+    }
+
+}
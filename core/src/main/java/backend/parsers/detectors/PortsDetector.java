@@ -46,6 +46,8 @@ public class PortsDetector {
 
     /**
      * Returns all ports that are written in the ongoing line of code.
+     * Sizes are interned, so ports of all lines that are declared
+     * with the same range share one string.
      *
      * @param portDeclaration The String value that contains
      *                        a separate line of code with
@@ -64,10 +66,10 @@ public class PortsDetector {
         descriptor.setSigned(getSigned(cleanDeclaration));
         cleanDeclaration = cleanDeclaration.replace(descriptor.getSigned(), "");
 
-        descriptor.setPackedSize(getPackedSize(cleanDeclaration));
+        descriptor.setPackedSize(getPackedSize(cleanDeclaration).intern());
         cleanDeclaration = cleanDeclaration.replace(descriptor.getPackedSize(), "");
 
-        descriptor.setUnpackedSize(getUnpackedSize(cleanDeclaration));
+        descriptor.setUnpackedSize(getUnpackedSize(cleanDeclaration).intern());
         cleanDeclaration = cleanDeclaration.replace(descriptor.getUnpackedSize(), "");
 
         for (final String name: cleanDeclaration.split(",")) {
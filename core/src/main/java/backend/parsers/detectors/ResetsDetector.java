@@ -0,0 +1,75 @@
+package backend.parsers.detectors;
+
+import java.util.Arrays;
+import java.util.HashSet;
+
+/*
+ * File: ResetsDetector.java
+ * -----------------------------------------------
+ * Looks for reset ports by their names.
+ * Used by the random stimulus mode, where reset ports
+ * are held active for the first samples and inactive after them
+ * instead of being randomized.
+ */
+public class ResetsDetector {
+
+    /* Words of the name that mark the reset port. */
+    private static final HashSet<String> RESET_WORDS = new HashSet<>(Arrays.asList(
+            "rst", "reset", "arst", "areset", "srst", "sreset"));
+
+    /* Words of the name that mark the active low reset port. */
+    private static final HashSet<String> ACTIVE_LOW_WORDS = new HashSet<>(Arrays.asList(
+            "rstn", "resetn", "nrst", "nreset", "arstn", "aresetn", "srstn", "sresetn", "rstb", "resetb"));
+
+    /**
+     * Checks if specified port is a reset port.
+     * The name is split into words by "_" and one of the words
+     * must be a reset word ("rst", "reset", "rst_n", "aresetn", etc.),
+     * so names like "awburst" or "first_valid" are not resets.
+     *
+     * @param port The String value that contains
+     *             a name of port.
+     * @return The boolean "true" value, if ongoing port
+     *         is a reset port. Else "false".
+     */
+    public static boolean isResetPort(String port) {
+        for (String word: port.toLowerCase().split("_")) {
+            if (RESET_WORDS.contains(word) || ACTIVE_LOW_WORDS.contains(word))
+                return true;
+        }
+
+        return false;
+    }
+
+    /**
+     * Checks if specified reset port is active low
+     * by its name: "rst_n", "resetn", "nrst", "n_reset", "rst_b" etc.
+     *
+     * @param port The String value that contains
+     *             a name of reset port.
+     * @return The boolean "true" value, if the reset
+     *         is active when the port is 0. Else "false".
+     */
+    public static boolean isActiveLow(String port) {
+        final String name = port.toLowerCase();
+
+        for (String word: name.split("_")) {
+            if (ACTIVE_LOW_WORDS.contains(word))
+                return true;
+        }
+
+        return name.endsWith("_n") || name.endsWith("_b") || name.startsWith("n_");
+    }
+
+    /**
+     * Returns the value that makes the reset port active.
+     *
+     * @param port The String value that contains
+     *             a name of reset port.
+     * @return The SystemVerilog literal: "'0" for the active low reset, else "'1".
+     */
+    public static String getActiveLevel(String port) {
+        return isActiveLow(port) ? "'0" : "'1";
+    }
+
+}
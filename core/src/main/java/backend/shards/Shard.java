@@ -0,0 +1,91 @@
+package backend.shards;
+
+import backend.BackendParameters;
+
+import java.io.File;
+
+/*
+ * File: Shard.java
+ * -----------------------------------------------
+ * Describes one part of the sharded simulation.
+ *
+ * The shard simulates the samples [firstSample, lastSample)
+ * of the whole test vector. Its input vectors start
+ * "warmUp" samples earlier, so the sequential state
+ * of the DUT is restored before the shard's own samples
+ * are checked. Results of the warm-up samples are dropped
+ * when the shards are merged.
+ */
+public class Shard implements BackendParameters {
+
+    /* The number of the shard. */
+    private final int number;
+
+    /* The folder where the shard is run. */
+    private final File dir;
+
+    /* The range of the samples that belong to this shard. */
+    private final long firstSample;
+    private final long lastSample;
+
+    /* The number of samples that are simulated before the first sample. */
+    private final long warmUp;
+
+    /**
+     * The class constructor.
+     *
+     * @param number The number of the shard.
+     * @param dir The folder where the shard is run.
+     * @param firstSample The first sample that belongs to the shard.
+     * @param lastSample The sample that follows the last sample of the shard.
+     * @param warmUp The number of samples that are simulated
+     *               before the first sample of the shard.
+     */
+    public Shard(int number, File dir, long firstSample, long lastSample, long warmUp) {
+        this.number = number;
+        this.dir = dir;
+        this.firstSample = firstSample;
+        this.lastSample = lastSample;
+        this.warmUp = warmUp;
+    }
+
+    /* Getters of the shard's properties. */
+    public int getNumber() {
+        return number;
+    }
+    public File getDirectory() {
+        return dir;
+    }
+    public long getFirstSample() {
+        return firstSample;
+    }
+    public long getLastSample() {
+        return lastSample;
+    }
+    public long getWarmUp() {
+        return warmUp;
+    }
+
+    /**
+     * Returns the folder where the shard's input vectors are placed.
+     *
+     * @return The File object of the shard's input folder.
+     */
+    public File getInputFolder() {
+        return new File(dir, INPUT_DATA_FOLDER);
+    }
+
+    /**
+     * Returns the folder where the shard's simulation writes results.
+     *
+     * @return The File object of the shard's output folder.
+     */
+    public File getOutputFolder() {
+        return new File(dir, OUTPUT_DATA_FOLDER);
+    }
+
+    public String toString() {
+        return "shard " + number + " [" + firstSample + " : " + lastSample + "), warm-up " + warmUp;
+    }
+
+}
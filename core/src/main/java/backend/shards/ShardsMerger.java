@@ -0,0 +1,169 @@
+package backend.shards;
+
+import backend.BackendParameters;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.*;
+
+/*
+ * File: ShardsMerger.java
+ * -----------------------------------------------
+ * Merges results of the shard simulations
+ * into the "output_data" folder of the working directory.
+ *
+ * Results of the warm-up samples are dropped,
+ * so merged files are equal to the files
+ * that are written by a single simulation.
+ * Mismatches are counted again over the merged
+ * "*_mismatch.tbv" files, because shard logs
+ * also count mismatches of the warm-up samples.
+ */
+public class ShardsMerger implements BackendParameters {
+
+    /* The working folder of the test environment. */
+    private final File dir;
+
+    /**
+     * The class constructor.
+     *
+     * @param dir The working folder of the test environment.
+     */
+    public ShardsMerger(File dir) {
+        this.dir = dir;
+    }
+
+    /**
+     * Merges results of the shards and writes the report.
+     *
+     * @param shards The list of simulated shards.
+     * @return The text of the report.
+     * @throws IOException Error when reading results of the shards
+     *                     or writing the merged files.
+     */
+    public String merge(List<Shard> shards) throws IOException {
+        final File outputFolder = new File(dir, OUTPUT_DATA_FOLDER);
+        Files.createDirectories(outputFolder.toPath());
+
+        final TreeMap<String, Long> mismatches = new TreeMap<>();
+
+        for (final String name : getResultNames(shards.get(0))) {
+            final long errors = mergeFile(name, shards, new File(outputFolder, name));
+
+            if (name.contains(MISMATCH_SUFFIX))
+                mismatches.put(toPortName(name), errors);
+        }
+
+        final String report = createReport(shards, mismatches);
+
+        try (Writer writer = new FileWriter(new File(dir, SHARDS_REPORT), StandardCharsets.US_ASCII, true)) {
+            writer.append(report);
+        }
+
+        System.out.println("Results of " + shards.size() + " shards are merged.");
+        return report;
+    }
+
+    /**
+     * Returns sorted names of the files that are written by the shard simulation.
+     */
+    private TreeSet<String> getResultNames(Shard shard) throws IOException {
+        final String[] names = shard.getOutputFolder().list((folder, name) -> name.endsWith(VECTOR_EXTENSION));
+
+        if (names == null || names.length == 0)
+            throw new IOException("Shard simulation has not written any results: "
+                    + shard.getOutputFolder().getAbsolutePath());
+
+        return new TreeSet<>(Arrays.asList(names));
+    }
+
+    /**
+     * Concatenates the shards' own samples of the specified result file.
+     *
+     * @param name The name of the result file.
+     * @param shards The list of simulated shards.
+     * @param merged The merged file.
+     * @return The number of lines with a non-zero value.
+     * @throws IOException Error when reading or writing files.
+     */
+    private long mergeFile(String name, List<Shard> shards, File merged) throws IOException {
+        long nonZeroLines = 0;
+
+        try (BufferedWriter writer = Files.newBufferedWriter(merged.toPath(), StandardCharsets.US_ASCII)) {
+            for (final Shard shard : shards) {
+                final File result = new File(shard.getOutputFolder(), name);
+                final long samples = shard.getLastSample() - shard.getFirstSample();
+
+                if (!result.exists())
+                    throw new IOException("Shard result does not exist: " + result.getAbsolutePath());
+
+                try (BufferedReader reader = Files.newBufferedReader(result.toPath(), StandardCharsets.US_ASCII)) {
+                    for (long index = 0; index < shard.getWarmUp(); index++)
+                        reader.readLine();
+
+                    for (long index = 0; index < samples; index++) {
+                        final String line = reader.readLine();
+
+                        if (line == null)
+                            throw new IOException("Shard result is shorter than expected: " + result.getAbsolutePath());
+
+                        if (isNonZero(line))
+                            nonZeroLines++;
+
+                        writer.write(line);
+                        writer.write('\n');
+                    }
+                }
+            }
+        }
+
+        return nonZeroLines;
+    }
+
+    private boolean isNonZero(String line) {
+        for (int index = 0; index < line.length(); index++) {
+            final char digit = line.charAt(index);
+            if (digit != '0' && !Character.isWhitespace(digit))
+                return true;
+        }
+
+        return false;
+    }
+
+    /**
+     * Translates the name of mismatches file to the name of port.
+     * For example, "out_mismatch_3.tbv" is translated to "out[3]".
+     */
+    private String toPortName(String fileName) {
+        final String name = fileName.substring(0, fileName.length() - VECTOR_EXTENSION.length());
+        final String port = name.substring(0, name.indexOf(MISMATCH_SUFFIX));
+        final String element = name.substring(name.indexOf(MISMATCH_SUFFIX) + MISMATCH_SUFFIX.length());
+
+        return element.isEmpty() ? port : port + "[" + element.substring(1) + "]";
+    }
+
+    /**
+     * Creates the report in the format of the "tb.log" file
+     * that is written by the testbench.
+     */
+    private String createReport(List<Shard> shards, TreeMap<String, Long> mismatches) {
+        final long errors = mismatches.values().stream().mapToLong(Long::longValue).sum();
+        final long vectorSize = shards.get(shards.size() - 1).getLastSample() + 1;
+        final StringBuilder report = new StringBuilder(errors == 0 ? "PASS" : "FAIL").append("\n");
+
+        report.append("\t\tDate: ")
+              .append(LocalDateTime.now().format(DateTimeFormatter.ofPattern("HH:mm dd.MM.yyyy"))).append("\n");
+        report.append("\t\tSamples: ").append(vectorSize).append("\n");
+        report.append("\t\tShards: ").append(shards.size()).append("\n");
+        report.append("\t\tMismatches:").append("\n");
+
+        for (final String port : mismatches.keySet())
+            report.append("\t\t\t\t").append(port).append(": ").append(mismatches.get(port)).append("\n");
+
+        return report.append("\n").toString();
+    }
+
+}
@@ -0,0 +1,151 @@
+package backend.shards;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+
+/*
+ * File: ShardsRunner.java
+ * -----------------------------------------------
+ * Runs the simulations of the shards concurrently
+ * as local simulator processes.
+ *
+ * Each process is started in the shard's folder,
+ * so files that are created by the testbench
+ * (logs, temporary files) never collide.
+ * Console output of the shard is written
+ * to the "sim.log" file of the shard's folder.
+ */
+public class ShardsRunner {
+
+    /* The name of the file with the simulator's console output. */
+    private static final String SIMULATION_LOG = "sim.log";
+
+    /* The command that runs a single shard. */
+    private final String command;
+
+    /* The working folder of the test environment. */
+    private final File dir;
+
+    /* The maximum number of concurrently running simulations. */
+    private final int parallelism;
+
+    /**
+     * The class constructor.
+     *
+     * @param dir The working folder of the test environment.
+     * @param command The command that runs a single shard.
+     *                "<project_path>" and "<shard_path>" are replaced
+     *                by absolute paths of the working and the shard folders.
+     * @param parallelism The maximum number of concurrently running simulations.
+     */
+    public ShardsRunner(File dir, String command, int parallelism) {
+        if (parallelism < 1)
+            throw new IllegalArgumentException("Number of parallel simulations must be positive: " + parallelism);
+
+        this.dir = dir;
+        this.command = command;
+        this.parallelism = parallelism;
+    }
+
+    /**
+     * Runs all shards and waits until they are finished.
+     *
+     * @param shards The list of shards.
+     * @throws IOException Some simulator processes can't be started
+     *                     or are finished with a non-zero exit code.
+     * @throws InterruptedException Waiting for the simulations is interrupted.
+     *                              Running processes are destroyed.
+     */
+    public void run(List<Shard> shards) throws IOException, InterruptedException {
+        final ExecutorService executor = Executors.newFixedThreadPool(Math.min(parallelism, shards.size()));
+        final ArrayList<Future<Integer>> results = new ArrayList<>();
+
+        try {
+            for (final Shard shard : shards)
+                results.add(executor.submit(() -> runShard(shard)));
+
+            final StringBuilder failures = new StringBuilder();
+
+            for (int num = 0; num < shards.size(); num++) {
+                try {
+                    final int exitCode = results.get(num).get();
+                    if (exitCode != 0)
+                        failures.append("\n").append(shards.get(num)).append(": exit code ").append(exitCode);
+                } catch (ExecutionException e) {
+                    failures.append("\n").append(shards.get(num)).append(": ").append(e.getCause().getMessage());
+                }
+            }
+
+            if (failures.length() != 0)
+                throw new IOException("Shard simulations failed:" + failures);
+        }
+
+        finally {
+            executor.shutdownNow();
+        }
+
+        System.out.println("All " + shards.size() + " shards are simulated.");
+    }
+
+    /**
+     * Starts the simulator process of the shard and waits for it.
+     *
+     * @param shard The shard that must be simulated.
+     * @return The exit code of the simulator process.
+     */
+    private int runShard(Shard shard) throws IOException, InterruptedException {
+        final ProcessBuilder builder = new ProcessBuilder(getCommand(shard));
+        builder.directory(shard.getDirectory());
+        builder.redirectErrorStream(true);
+        builder.redirectOutput(new File(shard.getDirectory(), SIMULATION_LOG));
+
+        System.out.println("Simulation started: " + shard);
+        final Process process = builder.start();
+
+        try {
+            final int exitCode = process.waitFor();
+            System.out.println("Simulation finished: " + shard + ", exit code " + exitCode);
+            return exitCode;
+        } catch (InterruptedException e) {
+            process.destroyForcibly();
+            throw e;
+        }
+    }
+
+    /**
+     * Substitutes paths into the command and splits it into arguments.
+     * Arguments that contain spaces must be enclosed in double quotes.
+     *
+     * @param shard The shard that must be simulated.
+     * @return The list of command's arguments.
+     */
+    private ArrayList<String> getCommand(Shard shard) {
+        final String line = command
+                .replace("<project_path>", dir.getAbsolutePath().replace("\\", "/"))
+                .replace("<shard_path>", shard.getDirectory().getAbsolutePath().replace("\\", "/"));
+
+        final ArrayList<String> arguments = new ArrayList<>();
+        final StringBuilder argument = new StringBuilder();
+        boolean isQuoted = false;
+
+        for (final char symbol : line.toCharArray()) {
+            if (symbol == '"')
+                isQuoted = !isQuoted;
+            else if (Character.isWhitespace(symbol) && !isQuoted) {
+                if (argument.length() != 0)
+                    arguments.add(argument.toString());
+                argument.setLength(0);
+            } else
+                argument.append(symbol);
+        }
+
+        if (argument.length() != 0)
+            arguments.add(argument.toString());
+
+        return arguments;
+    }
+
+}
@@ -0,0 +1,236 @@
+package backend.shards;
+
+import backend.BackendParameters;
+import backend.filesWriter.FilesWriter;
+import backend.vectors.RleCodec;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/*
+ * File: ShardsSplitter.java
+ * -----------------------------------------------
+ * Splits the input and expected vectors of the working folder
+ * into the specified number of shards.
+ *
+ * Every shard gets its own "shards/shard_<num>" folder
+ * with "input_data" and "output_data" subfolders,
+ * so the shards can be simulated concurrently.
+ *
+ * The testbench never applies the last line of a vector
+ * (see "ReadDriver.isEnding()"), so every shard's vector
+ * has one extra line after its last sample. Together with
+ * the warm-up prefix it makes merged results equal to
+ * the results of a single simulation.
+ *
+ * Run-length encoded ".tbr" files are cut into the shards by runs
+ * (see "RleCodec.slice()"), so the testbench that reads them
+ * finds them in every shard. Vectors of the batched testbench
+ * ("instance_<num>" subfolders) are not split.
+ */
+public class ShardsSplitter implements BackendParameters {
+
+    /* The working folder of the test environment. */
+    private final File dir;
+
+    /**
+     * The class constructor.
+     *
+     * @param dir The working folder of the test environment.
+     */
+    public ShardsSplitter(File dir) {
+        this.dir = dir;
+    }
+
+    /**
+     * Splits every vector of the "input_data" folder into the shards.
+     *
+     * @param shardsNum The number of shards.
+     * @param warmUp The number of samples that are simulated
+     *               before the first sample of every shard
+     *               (except of the first one).
+     * @return The list of created shards.
+     * @throws IOException Error when reading vectors or writing the shards.
+     */
+    public ArrayList<Shard> split(int shardsNum, long warmUp) throws IOException {
+        if (shardsNum < 1)
+            throw new IllegalArgumentException("Number of shards must be positive: " + shardsNum);
+        if (warmUp < 0)
+            throw new IllegalArgumentException("Warm-up length can't be negative: " + warmUp);
+
+        final File[] vectors = getVectors();
+        final long samples = countSamples(vectors);
+
+        if (samples < shardsNum)
+            throw new IllegalArgumentException(
+                    "Test vectors contain " + samples + " samples. They can't be split into " + shardsNum + " shards.");
+
+        final ArrayList<Shard> shards = createShards(shardsNum, warmUp, samples);
+
+        try {
+            Arrays.stream(vectors).parallel().forEach(vector -> {
+                try {
+                    splitVector(vector, shards);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+
+        System.out.println("Vectors are split into " + shardsNum + " shards.");
+        return shards;
+    }
+
+    /**
+     * Returns all vectors (".tbv" and ".tbr" files) of the "input_data" folder.
+     *
+     * @return The array of vector files.
+     * @throws IOException The folder does not contain any vectors
+     *                     or contains vectors of the batched testbench.
+     */
+    private File[] getVectors() throws IOException {
+        final File inputFolder = new File(dir, INPUT_DATA_FOLDER);
+        final File[] vectors = inputFolder.listFiles((folder, name) ->
+                name.endsWith(VECTOR_EXTENSION) || name.endsWith(RLE_EXTENSION));
+
+        if (FilesWriter.isBatched(dir))
+            throw new IOException("Vectors of the batched testbench can't be split into shards: "
+                    + inputFolder.getAbsolutePath());
+        if (vectors == null || vectors.length == 0)
+            throw new IOException("There are no test vectors in the folder: " + inputFolder.getAbsolutePath());
+
+        return vectors;
+    }
+
+    /**
+     * Counts the samples that are applied to the DUT during the simulation.
+     * All vectors must have an equal number of lines.
+     *
+     * @param vectors The vector files.
+     * @return The number of simulated samples.
+     * @throws IOException Error when reading vectors or vectors have unequal sizes.
+     */
+    private long countSamples(File[] vectors) throws IOException {
+        final Map<File, Long> sizes = new HashMap<>();
+
+        try {
+            Arrays.stream(vectors).parallel().forEach(vector -> {
+                try {
+                    final long size = isEncoded(vector) ? RleCodec.countSamples(vector) : countLines(vector);
+                    synchronized (sizes) {
+                        sizes.put(vector, size);
+                    }
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+
+        if (sizes.values().stream().distinct().count() != 1)
+            throw new IOException("Input data vectors have unequal sizes: " + sizes);
+
+        /* The last line of a vector is never applied. */
+        return sizes.values().iterator().next() - 1;
+    }
+
+    private static boolean isEncoded(File vector) {
+        return vector.getName().endsWith(RLE_EXTENSION);
+    }
+
+    private long countLines(File vector) throws IOException {
+        try (BufferedReader reader = Files.newBufferedReader(vector.toPath(), StandardCharsets.US_ASCII)) {
+            long lines = 0;
+
+            while (reader.readLine() != null)
+                lines++;
+
+            return lines;
+        }
+    }
+
+    /**
+     * Creates folders of the shards and divides the samples between them.
+     */
+    private ArrayList<Shard> createShards(int shardsNum, long warmUp, long samples) throws IOException {
+        final ArrayList<Shard> shards = new ArrayList<>();
+        final File shardsFolder = new File(dir, SHARDS_FOLDER);
+
+        for (int num = 0; num < shardsNum; num++) {
+            final long first = samples * num / shardsNum;
+            final long last = samples * (num + 1) / shardsNum;
+            final Shard shard = new Shard(num, new File(shardsFolder, SHARD_FOLDER_PREFIX + num),
+                    first, last, Math.min(warmUp, first));
+
+            Files.createDirectories(shard.getInputFolder().toPath());
+            Files.createDirectories(shard.getOutputFolder().toPath());
+            shards.add(shard);
+        }
+
+        return shards;
+    }
+
+    /**
+     * Copies lines of the vector to every shard they belong to.
+     * Vector is read once. Only the shards that overlap
+     * the ongoing line are opened for writing.
+     *
+     * @param vector The vector file.
+     * @param shards The list of shards.
+     * @throws IOException Error when reading the vector or writing the shards.
+     */
+    private void splitVector(File vector, ArrayList<Shard> shards) throws IOException {
+        if (isEncoded(vector)) {
+            for (final Shard shard : shards)
+                RleCodec.slice(vector, new File(shard.getInputFolder(), vector.getName()),
+                               shard.getFirstSample() - shard.getWarmUp(), shard.getLastSample() + 1);
+            return;
+        }
+
+        final BufferedWriter[] writers = new BufferedWriter[shards.size()];
+
+        try (BufferedReader reader = Files.newBufferedReader(vector.toPath(), StandardCharsets.US_ASCII)) {
+            String line;
+            long index = 0;
+
+            while ((line = reader.readLine()) != null) {
+                for (final Shard shard : shards) {
+                    final int num = shard.getNumber();
+                    final long begin = shard.getFirstSample() - shard.getWarmUp();
+                    final long end = shard.getLastSample() + 1;
+
+                    if (index == begin)
+                        writers[num] = Files.newBufferedWriter(
+                                new File(shard.getInputFolder(), vector.getName()).toPath(),
+                                StandardCharsets.US_ASCII);
+                    else if (index > begin && index < end)
+                        writers[num].write('\n');
+
+                    if (index >= begin && index < end)
+                        writers[num].write(line);
+
+                    if (index == end - 1) {
+                        writers[num].close();
+                        writers[num] = null;
+                    }
+                }
+                index++;
+            }
+        }
+
+        finally {
+            for (final BufferedWriter writer : writers)
+                if (writer != null)
+                    writer.close();
+        }
+    }
+
+}
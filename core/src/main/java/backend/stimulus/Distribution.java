@@ -0,0 +1,26 @@
+package backend.stimulus;
+
+/*
+ * File: Distribution.java
+ * -----------------------------------------------
+ * Describes the values of the generated input vector.
+ *
+ * The value is a pure function of the seed and the index of the sample,
+ * so vectors are reproducible and any part of them
+ * can be generated without generating the previous samples.
+ */
+public interface Distribution {
+
+    /**
+     * Computes the value of the sample.
+     * Bits that do not fit into the width are dropped by the generator.
+     *
+     * @param seed The seed of the generated vector.
+     * @param sample The index of the sample.
+     * @param width The width of the vector (in bits).
+     * @param value The words of the value that must be filled
+     *              (0 is the least significant word). All words are zero.
+     */
+    void generate(long seed, long sample, int width, long[] value);
+
+}
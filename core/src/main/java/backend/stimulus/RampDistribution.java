@@ -0,0 +1,31 @@
+package backend.stimulus;
+
+/*
+ * File: RampDistribution.java
+ * -----------------------------------------------
+ * Values that grow by the fixed step and wrap around
+ * when they overflow the width of the vector.
+ */
+public class RampDistribution implements Distribution {
+
+    /* The value of the first sample and the increment of the next ones. */
+    private final long start;
+    private final long step;
+
+    /**
+     * The class constructor.
+     *
+     * @param start The value of the first sample.
+     * @param step The increment of the value.
+     */
+    public RampDistribution(long start, long step) {
+        this.start = start;
+        this.step = step;
+    }
+
+    @Override
+    public void generate(long seed, long sample, int width, long[] value) {
+        value[0] = start + sample * step;
+    }
+
+}
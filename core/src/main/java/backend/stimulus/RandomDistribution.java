@@ -0,0 +1,31 @@
+package backend.stimulus;
+
+/*
+ * File: RandomDistribution.java
+ * -----------------------------------------------
+ * Uniformly distributed random values.
+ *
+ * Uses the counter-based SplitMix64 function,
+ * so the value of every sample is computed independently.
+ */
+public class RandomDistribution implements Distribution {
+
+    @Override
+    public void generate(long seed, long sample, int width, long[] value) {
+        for (int word = 0; word < value.length; word++)
+            value[word] = mix(seed + (sample * value.length + word) * 0x9E3779B97F4A7C15L);
+    }
+
+    /**
+     * The finalizer of the SplitMix64 generator.
+     *
+     * @param z The counter value.
+     * @return The pseudorandom value.
+     */
+    public static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+}
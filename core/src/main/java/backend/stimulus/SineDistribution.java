@@ -0,0 +1,43 @@
+package backend.stimulus;
+
+/*
+ * File: SineDistribution.java
+ * -----------------------------------------------
+ * Samples of the sine wave in a signed fixed-point format.
+ * The amplitude is the maximum positive value of the vector's width.
+ * Used to test DSP blocks. "StrictMath" is used, so the samples
+ * are the same on every JVM and platform for the same seed and options.
+ */
+public class SineDistribution implements Distribution {
+
+    /* The period of the wave (in samples). */
+    private final double period;
+
+    /* The amplitude of the wave relatively to the full scale (0..1). */
+    private final double amplitude;
+
+    /**
+     * The class constructor.
+     *
+     * @param period The period of the wave (in samples).
+     * @param amplitude The amplitude of the wave relatively to the full scale (0..1).
+     */
+    public SineDistribution(double period, double amplitude) {
+        if (period <= 0)
+            throw new IllegalArgumentException("Sine period must be positive: " + period);
+
+        this.period = period;
+        this.amplitude = amplitude;
+    }
+
+    @Override
+    public void generate(long seed, long sample, int width, long[] value) {
+        final double fullScale = Math.pow(2, Math.min(width, Long.SIZE) - 1) - 1;
+        final long point = Math.round(StrictMath.sin(2 * Math.PI * (sample % period) / period) * amplitude * fullScale);
+
+        /* Sign extension to the upper words of the wide vector. */
+        for (int word = 0; word < value.length; word++)
+            value[word] = word == 0 ? point : point >> 63;
+    }
+
+}
@@ -0,0 +1,127 @@
+package backend.stimulus;
+
+import backend.BackendParameters;
+import backend.parsers.detectors.PortDescriptor;
+import backend.vectors.TestVector;
+import backend.vectors.VectorChannel;
+import backend.vectors.VectorLayout;
+import backend.vectors.VectorWriter;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.concurrent.*;
+
+/*
+ * File: StimulusGenerator.java
+ * -----------------------------------------------
+ * Generates the input vectors ("<port_name>.tbv") of the DUT.
+ *
+ * Widths and unpacked sizes of the inputs are resolved
+ * against the DUT's parameters. Every port has its own Distribution
+ * (random by default). Vectors are reproducible: the seed of the every
+ * channel is derived from the common seed and the channel's name.
+ *
+ * Channels are written concurrently and sample by sample,
+ * so the size of the vectors is not limited by the heap.
+ */
+public class StimulusGenerator implements BackendParameters {
+
+    /* The layout of the DUT's inputs. */
+    private final VectorLayout inputs;
+
+    /* The common seed of the vectors. */
+    private final long seed;
+
+    /* Distributions of the ports. Ports that are not listed are random. */
+    private final HashMap<String, Distribution> distributions = new HashMap<>();
+    private final Distribution defaultDistribution = new RandomDistribution();
+
+    /**
+     * The class constructor.
+     *
+     * @param inputs The HashMap object with names
+     *               and descriptions of DUT's inputs.
+     * @param parameters The HashMap object with names
+     *                   and values of DUT's parameters.
+     * @param seed The common seed of the vectors.
+     */
+    public StimulusGenerator(HashMap<String, PortDescriptor> inputs, HashMap<String, String> parameters, long seed) {
+        this.inputs = new VectorLayout(inputs, parameters);
+        this.seed = seed;
+    }
+
+    /**
+     * Sets the distribution of the port's values.
+     * All elements of the unpacked port have the same distribution.
+     *
+     * @param port The name of the port.
+     * @param distribution The distribution of the values.
+     * @throws IllegalArgumentException The port does not exist.
+     */
+    public void setDistribution(String port, Distribution distribution) {
+        inputs.getChannels(port);
+        distributions.put(port, distribution);
+    }
+
+    /**
+     * Writes the vectors of all inputs concurrently.
+     *
+     * @param folder The folder where the vectors are written.
+     * @param samples The number of samples of every vector.
+     * @param parallelism The maximum number of concurrently written vectors.
+     * @throws IOException Error when writing vectors.
+     * @throws InterruptedException Writing is interrupted.
+     */
+    public void generate(File folder, long samples, int parallelism) throws IOException, InterruptedException {
+        Files.createDirectories(folder.toPath());
+
+        final ArrayList<VectorChannel> channels = inputs.getChannels();
+        final ExecutorService pool = Executors.newFixedThreadPool(Math.max(1, Math.min(parallelism, channels.size())));
+        final ArrayList<Future<?>> futures = new ArrayList<>();
+
+        try {
+            for (final VectorChannel channel : channels)
+                futures.add(pool.submit(() -> { generate(new File(folder, channel.getFileName("")), channel, samples);
+                                                return null; }));
+
+            for (final Future<?> future : futures)
+                future.get();
+        }
+
+        catch (ExecutionException e) {
+            if (e.getCause() instanceof IOException)
+                throw (IOException) e.getCause();
+            throw new IOException(e.getCause());
+        }
+
+        finally {
+            pool.shutdownNow();
+        }
+
+        System.out.println("Stimulus is generated: " + channels.size() + " vectors, " + samples + " samples.");
+    }
+
+    /**
+     * Writes the vector of the channel.
+     */
+    private void generate(File file, VectorChannel channel, long samples) throws IOException {
+        final Distribution distribution = distributions.getOrDefault(channel.getPort(), defaultDistribution);
+        final long channelSeed = RandomDistribution.mix(seed ^ channel.getName().hashCode());
+        final long lastWordMask = TestVector.getLastWordMask(channel.getWidth());
+        final long[] value = new long[channel.getWords()];
+
+        try (VectorWriter writer = new VectorWriter(file, channel.getWidth())) {
+            for (long sample = 0; sample < samples; sample++) {
+                Arrays.fill(value, 0);
+                distribution.generate(channelSeed, sample, channel.getWidth(), value);
+                value[value.length - 1] &= lastWordMask;
+                writer.write(value, null);
+            }
+        }
+    }
+
+}
@@ -0,0 +1,17 @@
+package backend.stimulus;
+
+/*
+ * File: WalkingOnesDistribution.java
+ * -----------------------------------------------
+ * Values with the single set bit that moves
+ * from the least to the most significant bit.
+ */
+public class WalkingOnesDistribution implements Distribution {
+
+    @Override
+    public void generate(long seed, long sample, int width, long[] value) {
+        final int bit = (int) (sample % width);
+        value[bit >>> 6] = 1L << (bit & 63);
+    }
+
+}
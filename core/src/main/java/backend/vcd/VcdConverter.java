@@ -0,0 +1,422 @@
+package backend.vcd;
+
+import backend.BackendParameters;
+import backend.parsers.detectors.PortDescriptor;
+import backend.vectors.SampleBlock;
+import backend.vectors.TestVector;
+import backend.vectors.VectorChannel;
+import backend.vectors.VectorLayout;
+import backend.vectors.VectorWriter;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.*;
+import java.util.concurrent.*;
+
+/*
+ * File: VcdConverter.java
+ * -----------------------------------------------
+ * Converts the VCD dump of an existing simulation
+ * to the input vectors ("<port_name>.tbv") and
+ * the expected vectors ("<port_name>_expect.tbv") of the DUT.
+ *
+ * DUT's ports are found by the hierarchical path of the DUT's instance
+ * ("top.system.dut") and the names of the parsed ports.
+ * Signals are sampled at the sampling frequency of the testbench:
+ * the sample has the values that are set at the sample's time or earlier.
+ *
+ * The dump is parsed in one pass and in bounded memory.
+ * Sampled values are passed by blocks to a few encoders,
+ * every encoder formats and writes its own part of vectors.
+ */
+public class VcdConverter implements BackendParameters {
+
+    /* The number of samples in the block. */
+    private static final int BLOCK_SAMPLES = 4096;
+
+    /* The number of blocks that can wait for the encoder. */
+    private static final int QUEUE_BLOCKS = 4;
+
+    /* Femtoseconds in the VCD time units. */
+    private static final String[] UNITS = {"s", "ms", "us", "ns", "ps", "fs"};
+    private static final long[] UNITS_FS = {1_000_000_000_000_000L, 1_000_000_000_000L,
+                                            1_000_000_000L, 1_000_000L, 1_000L, 1L};
+
+    /* Written vectors: input vectors and expected output vectors. */
+    private final ArrayList<VectorChannel> channels = new ArrayList<>();
+    private final ArrayList<String> suffixes = new ArrayList<>();
+
+    /* Offsets of the channels in the flat sample and the size of the sample. */
+    private final int[] offsets;
+    private final int sampleWords;
+
+    /* The hierarchical path of the DUT's instance. */
+    private final String scope;
+
+    /* The sampling frequency (kHz). */
+    private final long sampleFreq;
+
+    /* The time of the first sample (in VCD time units). */
+    private long startTime;
+
+    /**
+     * The class constructor.
+     *
+     * @param scope The hierarchical path of the DUT's instance in the dump
+     *              (scopes separated by ".").
+     * @param inputs The HashMap object with names
+     *               and descriptions of DUT's inputs.
+     * @param outputs The HashMap object with names
+     *                and descriptions of DUT's outputs.
+     * @param parameters The HashMap object with names
+     *                   and values of DUT's parameters.
+     * @param sampleFreq The sampling frequency of the testbench (kHz).
+     */
+    public VcdConverter(String scope,
+                        HashMap<String, PortDescriptor> inputs,
+                        HashMap<String, PortDescriptor> outputs,
+                        HashMap<String, String> parameters,
+                        long sampleFreq) {
+        if (sampleFreq <= 0)
+            throw new IllegalArgumentException("Sampling frequency must be positive: " + sampleFreq);
+
+        this.scope = scope;
+        this.sampleFreq = sampleFreq;
+
+        for (final VectorChannel channel : new VectorLayout(inputs, parameters).getChannels()) {
+            channels.add(channel);
+            suffixes.add("");
+        }
+        for (final VectorChannel channel : new VectorLayout(outputs, parameters).getChannels()) {
+            channels.add(channel);
+            suffixes.add(EXPECTED_SUFFIX);
+        }
+
+        offsets = new int[channels.size()];
+        int offset = 0;
+        for (int index = 0; index < channels.size(); index++) {
+            offsets[index] = offset;
+            offset += channels.get(index).getWords();
+        }
+        sampleWords = offset;
+    }
+
+    /**
+     * Sets the time of the first sample.
+     * Used to sample signals between the edges of the DUT's clock.
+     *
+     * @param startTime The time of the first sample (in VCD time units).
+     */
+    public void setStartTime(long startTime) {
+        this.startTime = startTime;
+    }
+
+    /**
+     * Converts the dump.
+     *
+     * @param vcd The VCD file.
+     * @param folder The folder where the vectors are written.
+     * @param parallelism The number of encoders.
+     * @return The number of written samples.
+     * @throws IOException Error when reading the dump, the dump does not
+     *                     contain the DUT's ports or error when writing vectors.
+     * @throws InterruptedException Converting is interrupted.
+     */
+    public long convert(File vcd, File folder, int parallelism) throws IOException, InterruptedException {
+        Files.createDirectories(folder.toPath());
+
+        final int encodersNum = Math.max(1, Math.min(parallelism, channels.size()));
+        final ExecutorService pool = Executors.newFixedThreadPool(encodersNum);
+        final ArrayList<ArrayBlockingQueue<SampleBlock>> queues = new ArrayList<>();
+        final ArrayList<Future<?>> encoders = new ArrayList<>();
+
+        try (VcdTokenizer tokenizer = new VcdTokenizer(vcd)) {
+            final HashMap<String, ArrayList<VcdSignal>> ids = new HashMap<>();
+            final VcdSignal[] signals = new VcdSignal[channels.size()];
+            final long unit = parseHeader(tokenizer, ids, signals);
+
+            for (int encoder = 0; encoder < encodersNum; encoder++) {
+                final ArrayBlockingQueue<SampleBlock> queue = new ArrayBlockingQueue<>(QUEUE_BLOCKS);
+                final int first = encoder;
+                queues.add(queue);
+                encoders.add(pool.submit(() -> { encode(folder, first, encodersNum, queue); return null; }));
+            }
+
+            final long samples = parseChanges(tokenizer, ids, signals, unit, queues, encoders);
+
+            for (final Future<?> encoder : encoders)
+                await(encoder);
+
+            System.out.println("VCD is converted: " + vcd.getAbsolutePath() + " (" + samples + " samples).");
+            return samples;
+        }
+
+        finally {
+            pool.shutdownNow();
+        }
+    }
+
+    /**
+     * Parses the definitions of the dump. Finds the variables of the DUT's ports.
+     *
+     * @return The time unit of the dump (fs).
+     */
+    private long parseHeader(VcdTokenizer tokenizer, HashMap<String, ArrayList<VcdSignal>> ids, VcdSignal[] signals)
+            throws IOException {
+
+        final ArrayDeque<String> scopes = new ArrayDeque<>();
+        final HashMap<String, Integer> paths = new HashMap<>();
+        long unit = UNITS_FS[UNITS.length - 1];
+
+        for (int index = 0; index < channels.size(); index++)
+            paths.put(scope + "." + channels.get(index).getName(), index);
+
+        for (String token = tokenizer.next(); !"$enddefinitions".equals(token); token = tokenizer.next()) {
+            if (token == null)
+                throw new IOException("VCD definitions are not finished.");
+
+            switch (token) {
+                case "$timescale" -> unit = parseTimescale(tokenizer.nextTillEnd());
+                case "$scope" -> {
+                    final String[] words = tokenizer.nextTillEnd().split(" ");
+                    scopes.addLast(words[words.length - 1]);
+                }
+                case "$upscope" -> {
+                    tokenizer.nextTillEnd();
+                    scopes.pollLast();
+                }
+                case "$var" -> {
+                    final String[] words = tokenizer.nextTillEnd().split(" ");
+                    if (words.length < 4)
+                        throw new IOException("Wrong VCD variable definition: " + String.join(" ", words));
+
+                    /* The bit range is a separate word ("data [7:0]") or a part of the name ("data[7:0]"). */
+                    final String name = words[3].startsWith("\\") ? words[3].substring(1) : words[3];
+                    final String path = String.join(".", scopes) + "." + name;
+                    final Integer index = paths.containsKey(path) ? paths.get(path) : paths.get(stripRange(path));
+
+                    if (index != null && signals[index] == null) {
+                        signals[index] = new VcdSignal(Integer.parseInt(words[1]));
+                        ids.computeIfAbsent(words[2], id -> new ArrayList<>()).add(signals[index]);
+                    }
+                }
+                default -> {
+                    if (token.startsWith("$"))
+                        tokenizer.nextTillEnd();
+                }
+            }
+        }
+        tokenizer.nextTillEnd();
+
+        final ArrayList<String> missing = new ArrayList<>();
+        for (int index = 0; index < channels.size(); index++)
+            if (signals[index] == null)
+                missing.add(scope + "." + channels.get(index).getName());
+
+        if (!missing.isEmpty())
+            throw new IOException("VCD does not contain the DUT's ports: " + missing);
+
+        return unit;
+    }
+
+    /**
+     * Removes the bit range of the vector from the path ("dut.data[7:0]" -> "dut.data").
+     */
+    private static String stripRange(String path) {
+        final int bracket = path.lastIndexOf('[');
+        return bracket >= 0 && path.indexOf(':', bracket) >= 0 ? path.substring(0, bracket) : path;
+    }
+
+    /**
+     * Parses the time unit ("1ns", "10 ps").
+     *
+     * @return The time unit (fs).
+     */
+    private static long parseTimescale(String timescale) throws IOException {
+        final String text = timescale.replace(" ", "");
+        int digits = 0;
+        while (digits < text.length() && Character.isDigit(text.charAt(digits)))
+            digits++;
+
+        final int unit = Arrays.asList(UNITS).indexOf(text.substring(digits));
+        if (digits == 0 || unit < 0)
+            throw new IOException("Wrong VCD timescale: " + timescale);
+
+        return Long.parseLong(text.substring(0, digits)) * UNITS_FS[unit];
+    }
+
+    /**
+     * Parses the value changes and samples the signals.
+     *
+     * @return The number of samples.
+     */
+    private long parseChanges(VcdTokenizer tokenizer, HashMap<String, ArrayList<VcdSignal>> ids, VcdSignal[] signals,
+                              long unit, ArrayList<ArrayBlockingQueue<SampleBlock>> queues, ArrayList<Future<?>> encoders)
+            throws IOException, InterruptedException {
+
+        /* The sampling period is "periodUnits + periodRemainder / periodDivider" time units,
+        it is accumulated without rounding errors. */
+        final long periodDivider = sampleFreq * unit;
+        final long periodUnits = UNITS_FS[1] / periodDivider;
+        final long periodRemainder = UNITS_FS[1] % periodDivider;
+        long sampleTime = startTime;
+        long sampleRemainder = 0;
+
+        long time = 0;
+        long samples = 0;
+        SampleBlock block = new SampleBlock(BLOCK_SAMPLES, sampleWords);
+
+        for (String token = tokenizer.next(); ; token = tokenizer.next()) {
+            final boolean isEnd = token == null;
+            final long nextTime = isEnd ? time : token.charAt(0) == '#' ? Long.parseLong(token.substring(1)) : -1;
+
+            /* Takes the samples before the next time. The last time of the dump is the end of the last sample. */
+            while (nextTime >= 0 && sampleTime < nextTime) {
+                snapshot(signals, block);
+
+                if (block.getSize() == BLOCK_SAMPLES) {
+                    publish(block, queues, encoders);
+                    block = new SampleBlock(BLOCK_SAMPLES, sampleWords);
+                }
+
+                samples++;
+                sampleTime += periodUnits;
+                sampleRemainder += periodRemainder;
+                if (sampleRemainder >= periodDivider) {
+                    sampleTime++;
+                    sampleRemainder -= periodDivider;
+                }
+            }
+
+            if (isEnd)
+                break;
+            if (nextTime >= 0) {
+                time = nextTime;
+                continue;
+            }
+
+            switch (token.charAt(0)) {
+                case '0', '1', 'x', 'X', 'z', 'Z' -> {
+                    final ArrayList<VcdSignal> changed = ids.get(token.substring(1));
+                    if (changed != null)
+                        for (final VcdSignal signal : changed)
+                            signal.setScalar(token.charAt(0));
+                }
+                case 'b', 'B' -> {
+                    final ArrayList<VcdSignal> changed = ids.get(tokenizer.next());
+                    if (changed != null)
+                        for (final VcdSignal signal : changed)
+                            signal.setVector(token.substring(1));
+                }
+                case 'r', 'R' -> tokenizer.next();
+                case '$' -> {
+                    if (token.equals("$comment"))
+                        tokenizer.nextTillEnd();
+                }
+                default -> throw new IOException("Wrong VCD value change: " + token);
+            }
+        }
+
+        if (block.getSize() != 0)
+            publish(block, queues, encoders);
+        publish(SampleBlock.END, queues, encoders);
+
+        return samples;
+    }
+
+    /**
+     * Copies the ongoing values of the signals to the next sample of the block.
+     */
+    private void snapshot(VcdSignal[] signals, SampleBlock block) {
+        final int base = block.getSize() * sampleWords;
+
+        for (int index = 0; index < signals.length; index++) {
+            final VectorChannel channel = channels.get(index);
+            final int words = Math.min(channel.getWords(), signals[index].value.length);
+
+            System.arraycopy(signals[index].value, 0, block.getValues(), base + offsets[index], words);
+            System.arraycopy(signals[index].unknown, 0, block.getUnknowns(), base + offsets[index], words);
+
+            /* The variable of the dump can be wider than the port. */
+            final int last = base + offsets[index] + channel.getWords() - 1;
+            block.getValues()[last] &= TestVector.getLastWordMask(channel.getWidth());
+            block.getUnknowns()[last] &= TestVector.getLastWordMask(channel.getWidth());
+        }
+
+        block.setSize(block.getSize() + 1);
+    }
+
+    /**
+     * Passes the block to every encoder.
+     * Stops when an encoder has failed and does not take blocks anymore.
+     */
+    private void publish(SampleBlock block, ArrayList<ArrayBlockingQueue<SampleBlock>> queues,
+                         ArrayList<Future<?>> encoders) throws IOException, InterruptedException {
+
+        for (int encoder = 0; encoder < queues.size(); encoder++)
+            while (!queues.get(encoder).offer(block, 100, TimeUnit.MILLISECONDS))
+                if (encoders.get(encoder).isDone())
+                    await(encoders.get(encoder));
+    }
+
+    /**
+     * The encoder. Writes every "step"-th vector starting from the "first" one.
+     */
+    private void encode(File folder, int first, int step, BlockingQueue<SampleBlock> queue)
+            throws IOException, InterruptedException {
+
+        final ArrayList<Integer> indexes = new ArrayList<>();
+        for (int index = first; index < channels.size(); index += step)
+            indexes.add(index);
+
+        final VectorWriter[] writers = new VectorWriter[indexes.size()];
+        final long[][] values = new long[indexes.size()][];
+        final long[][] unknowns = new long[indexes.size()][];
+
+        try {
+            for (int writer = 0; writer < writers.length; writer++) {
+                final VectorChannel channel = channels.get(indexes.get(writer));
+                writers[writer] = new VectorWriter(
+                        new File(folder, channel.getFileName(suffixes.get(indexes.get(writer)))), channel.getWidth());
+                values[writer] = new long[channel.getWords()];
+                unknowns[writer] = new long[channel.getWords()];
+            }
+
+            for (SampleBlock block = queue.take(); block != SampleBlock.END; block = queue.take()) {
+                for (int sample = 0; sample < block.getSize(); sample++) {
+                    for (int writer = 0; writer < writers.length; writer++) {
+                        final int offset = sample * sampleWords + offsets[indexes.get(writer)];
+                        System.arraycopy(block.getValues(), offset, values[writer], 0, values[writer].length);
+                        System.arraycopy(block.getUnknowns(), offset, unknowns[writer], 0, unknowns[writer].length);
+                        writers[writer].write(values[writer], unknowns[writer]);
+                    }
+                }
+            }
+        }
+
+        finally {
+            for (final VectorWriter writer : writers)
+                if (writer != null)
+                    writer.close();
+        }
+    }
+
+    /**
+     * Waits for the task and rethrows its exception.
+     */
+    private static void await(Future<?> future) throws IOException, InterruptedException {
+        try {
+            future.get();
+        }
+
+        catch (ExecutionException e) {
+            if (e.getCause() instanceof IOException)
+                throw (IOException) e.getCause();
+            if (e.getCause() instanceof RuntimeException)
+                throw (RuntimeException) e.getCause();
+            throw new IOException(e.getCause());
+        }
+    }
+
+}
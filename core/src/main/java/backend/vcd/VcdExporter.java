@@ -0,0 +1,231 @@
+package backend.vcd;
+
+import backend.BackendParameters;
+import backend.parsers.detectors.PortDescriptor;
+import backend.vectors.VectorChannel;
+import backend.vectors.VectorLayout;
+import backend.vectors.VectorReader;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+
+/*
+ * File: VcdExporter.java
+ * -----------------------------------------------
+ * Writes the vectors of the test environment
+ * to a single VCD file that can be opened by a waveform viewer.
+ *
+ * The dump contains the input vectors, the expected vectors
+ * ("<port_name>_expect"), the actual outputs and the mismatches
+ * ("<port_name>_mismatch") of the simulation on the sample timebase:
+ * sample N is placed at the time N / SAMPLE_FREQ.
+ *
+ * Vectors are read sample by sample and only the changes are written,
+ * so vectors of any size are exported in bounded memory.
+ */
+public class VcdExporter implements BackendParameters {
+
+    /* Picoseconds in the period of 1 kHz frequency. */
+    private static final long KHZ_PERIOD_PS = 1_000_000_000L;
+
+    /* The working folder of the test environment. */
+    private final File dir;
+
+    /* The sampling frequency (kHz). */
+    private final long sampleFreq;
+
+    /* Exported vectors. */
+    private final ArrayList<File> files = new ArrayList<>();
+    private final ArrayList<String> names = new ArrayList<>();
+    private final ArrayList<Integer> widths = new ArrayList<>();
+
+    /**
+     * The class constructor.
+     *
+     * @param dir The working folder of the test environment.
+     * @param inputs The HashMap object with names
+     *               and descriptions of DUT's inputs.
+     * @param outputs The HashMap object with names
+     *                and descriptions of DUT's outputs.
+     * @param parameters The HashMap object with names
+     *                   and values of DUT's parameters.
+     * @param sampleFreq The sampling frequency of the testbench (kHz).
+     */
+    public VcdExporter(File dir,
+                       HashMap<String, PortDescriptor> inputs,
+                       HashMap<String, PortDescriptor> outputs,
+                       HashMap<String, String> parameters,
+                       long sampleFreq) {
+        if (sampleFreq <= 0)
+            throw new IllegalArgumentException("Sampling frequency must be positive: " + sampleFreq);
+
+        this.dir = dir;
+        this.sampleFreq = sampleFreq;
+
+        for (final VectorChannel channel : new VectorLayout(inputs, parameters).getChannels())
+            addVector(INPUT_DATA_FOLDER, channel, "", channel.getWidth());
+
+        for (final VectorChannel channel : new VectorLayout(outputs, parameters).getChannels()) {
+            addVector(INPUT_DATA_FOLDER, channel, EXPECTED_SUFFIX, channel.getWidth());
+            addVector(OUTPUT_DATA_FOLDER, channel, "", channel.getWidth());
+            addVector(OUTPUT_DATA_FOLDER, channel, MISMATCH_SUFFIX, 1);
+        }
+    }
+
+    /**
+     * Adds the vector when its file exists.
+     * For example, there are no outputs before the simulation is run.
+     */
+    private void addVector(String folder, VectorChannel channel, String suffix, int width) {
+        final File file = new File(new File(dir, folder), channel.getFileName(suffix));
+
+        if (!file.exists()) {
+            System.out.println("Vector is not exported, file does not exist: " + file.getAbsolutePath());
+            return;
+        }
+
+        files.add(file);
+        names.add(channel.getElement() < 0
+                ? channel.getPort() + suffix
+                : channel.getPort() + suffix + "[" + channel.getElement() + "]");
+        widths.add(width);
+    }
+
+    /**
+     * Writes the dump.
+     *
+     * @param vcd The VCD file. Overwritten if it exists.
+     * @return The number of exported samples.
+     * @throws IOException Error when reading vectors or writing the dump.
+     */
+    public long export(File vcd) throws IOException {
+        if (files.isEmpty())
+            throw new IOException("There are no vectors to export: " + dir.getAbsolutePath());
+
+        final VectorReader[] readers = new VectorReader[files.size()];
+        final String[] ids = new String[files.size()];
+        final String[] values = new String[files.size()];
+        long sample = 0;
+
+        try (BufferedWriter writer = Files.newBufferedWriter(vcd.toPath(), StandardCharsets.US_ASCII)) {
+            for (int index = 0; index < readers.length; index++) {
+                readers[index] = new VectorReader(files.get(index), widths.get(index));
+                ids[index] = toId(index);
+            }
+
+            writeHeader(writer, ids);
+
+            for (boolean isRead = true; isRead; sample++) {
+                isRead = false;
+                boolean isTimeWritten = false;
+
+                for (int index = 0; index < readers.length; index++) {
+                    if (!readers[index].next())
+                        continue;
+                    isRead = true;
+
+                    final String value = toValue(readers[index], widths.get(index));
+                    if (value.equals(values[index]))
+                        continue;
+                    values[index] = value;
+
+                    if (!isTimeWritten) {
+                        writer.write("#" + getTime(sample) + "\n");
+                        isTimeWritten = true;
+                    }
+
+                    writer.write(value);
+                    writer.write(widths.get(index) == 1 ? "" : " ");
+                    writer.write(ids[index]);
+                    writer.write('\n');
+                }
+            }
+
+            /* The last sample lasts one period. */
+            writer.write("#" + getTime(--sample) + "\n");
+        }
+
+        finally {
+            for (final VectorReader reader : readers)
+                if (reader != null)
+                    reader.close();
+        }
+
+        System.out.println("VCD is exported: " + vcd.getAbsolutePath() + " (" + sample + " samples).");
+        return sample;
+    }
+
+    private void writeHeader(Writer writer, String[] ids) throws IOException {
+        writer.write("$date " + LocalDateTime.now() + " $end\n");
+        writer.write("$version hdl_testbench vectors $end\n");
+        writer.write("$timescale 1ps $end\n");
+        writer.write("$scope module tb $end\n");
+
+        for (int index = 0; index < ids.length; index++)
+            writer.write("$var wire " + widths.get(index) + " " + ids[index] + " " + names.get(index)
+                    + (widths.get(index) == 1 ? "" : " [" + (widths.get(index) - 1) + ":0]") + " $end\n");
+
+        writer.write("$upscope $end\n");
+        writer.write("$enddefinitions $end\n");
+    }
+
+    /**
+     * Returns the time of the sample (ps).
+     */
+    private long getTime(long sample) {
+        return sample * KHZ_PERIOD_PS / sampleFreq;
+    }
+
+    /**
+     * Returns the VCD identifier of the variable: a number
+     * in the base of printable ASCII symbols ("!".."~").
+     */
+    private static String toId(int index) {
+        final StringBuilder id = new StringBuilder();
+
+        do {
+            id.append((char) ('!' + index % 94));
+            index /= 94;
+        } while (index != 0);
+
+        return id.toString();
+    }
+
+    /**
+     * Formats the value of the ongoing sample:
+     * "0", "1" or "x" for scalars and "b<binary digits>" for vectors.
+     * Leading zeros are dropped, but one zero is kept
+     * before the leading "x", so it is not extended to the dropped bits.
+     */
+    private static String toValue(VectorReader reader, int width) {
+        final long[] value = reader.getValue();
+        final long[] unknown = reader.getUnknown();
+
+        if (width == 1)
+            return (unknown[0] & 1) != 0 ? "x" : (value[0] & 1) != 0 ? "1" : "0";
+
+        final char[] bits = new char[width];
+        Arrays.fill(bits, '0');
+        int first = width - 1;
+
+        for (int bit = 0; bit < width; bit++) {
+            final long mask = 1L << (bit & 63);
+            final char symbol = (unknown[bit >>> 6] & mask) != 0 ? 'x' : (value[bit >>> 6] & mask) != 0 ? '1' : '0';
+            bits[width - 1 - bit] = symbol;
+            if (symbol != '0')
+                first = width - 1 - bit;
+        }
+
+        /* "bx000" would extend x to the dropped zeros, so one zero is kept before x. */
+        if (bits[first] == 'x' && first > 0)
+            first--;
+
+        return "b" + new String(bits, first, width - first);
+    }
+
+}
@@ -0,0 +1,80 @@
+package backend.vcd;
+
+import backend.vectors.TestVector;
+
+import java.util.Arrays;
+
+/*
+ * File: VcdSignal.java
+ * -----------------------------------------------
+ * Stores the ongoing value of the VCD variable.
+ */
+class VcdSignal {
+
+    /* The width of the variable (in bits). */
+    final int width;
+
+    /* The ongoing value and unknown bits mask. */
+    final long[] value;
+    final long[] unknown;
+
+    VcdSignal(int width) {
+        this.width = width;
+        this.value = new long[TestVector.getWordsPerSample(width)];
+        this.unknown = new long[TestVector.getWordsPerSample(width)];
+        Arrays.fill(unknown, -1L);
+        mask();
+    }
+
+    /**
+     * Sets the value of the scalar variable.
+     *
+     * @param symbol One of "0", "1", "x" or "z" symbols.
+     */
+    void setScalar(char symbol) {
+        Arrays.fill(value, 0);
+        Arrays.fill(unknown, 0);
+        setBit(0, symbol);
+    }
+
+    /**
+     * Sets the value of the vector variable.
+     * The value is extended to the width of the variable
+     * by the rules of VCD: "0" and "1" values are extended by "0",
+     * "x" and "z" values are extended by "x".
+     *
+     * @param bits Binary digits of the value, the most significant first.
+     */
+    void setVector(String bits) {
+        final char extension = bits.isEmpty() || bits.charAt(0) == '1' ? '0' : bits.charAt(0);
+        Arrays.fill(value, 0);
+        Arrays.fill(unknown, isUnknown(extension) ? -1L : 0);
+
+        for (int bit = 0; bit < Math.min(width, bits.length()); bit++)
+            setBit(bit, bits.charAt(bits.length() - 1 - bit));
+
+        mask();
+    }
+
+    private void setBit(int bit, char symbol) {
+        final long mask = 1L << (bit & 63);
+
+        if (isUnknown(symbol)) {
+            unknown[bit >>> 6] |= mask;
+            value[bit >>> 6] &= ~mask;
+        } else {
+            unknown[bit >>> 6] &= ~mask;
+            value[bit >>> 6] = symbol == '1' ? value[bit >>> 6] | mask : value[bit >>> 6] & ~mask;
+        }
+    }
+
+    private static boolean isUnknown(char symbol) {
+        return symbol == 'x' || symbol == 'X' || symbol == 'z' || symbol == 'Z';
+    }
+
+    private void mask() {
+        value[value.length - 1] &= TestVector.getLastWordMask(width);
+        unknown[unknown.length - 1] &= TestVector.getLastWordMask(width);
+    }
+
+}
@@ -0,0 +1,78 @@
+package backend.vcd;
+
+import java.io.*;
+
+/*
+ * File: VcdTokenizer.java
+ * -----------------------------------------------
+ * Splits the VCD file into the tokens separated by whitespaces.
+ * The file is read by a fixed-size buffer,
+ * so files of any size are read in bounded memory.
+ */
+class VcdTokenizer implements Closeable {
+
+    /* The size of the input buffer. */
+    private static final int BUFFER_SIZE = 1 << 20;
+
+    private final InputStream stream;
+    private final byte[] buffer = new byte[BUFFER_SIZE];
+    private int position;
+    private int limit;
+
+    /* The token that is built at the moment. */
+    private final StringBuilder token = new StringBuilder();
+
+    VcdTokenizer(File file) throws IOException {
+        stream = new FileInputStream(file);
+    }
+
+    /**
+     * Returns the next token.
+     *
+     * @return The token or null when the end of the file is reached.
+     */
+    String next() throws IOException {
+        token.setLength(0);
+
+        for (int symbol = read(); symbol >= 0; symbol = read()) {
+            if (symbol > ' ')
+                token.append((char) symbol);
+            else if (token.length() != 0)
+                break;
+        }
+
+        return token.length() == 0 ? null : token.toString();
+    }
+
+    /**
+     * Returns all tokens till the "$end" keyword.
+     */
+    String nextTillEnd() throws IOException {
+        final StringBuilder text = new StringBuilder();
+
+        for (String next = next(); next != null && !next.equals("$end"); next = next())
+            text.append(text.length() == 0 ? "" : " ").append(next);
+
+        return text.toString();
+    }
+
+    private int read() throws IOException {
+        if (position == limit) {
+            limit = stream.read(buffer);
+            position = 0;
+
+            if (limit <= 0) {
+                limit = 0;
+                return -1;
+            }
+        }
+
+        return buffer[position++] & 0xFF;
+    }
+
+    @Override
+    public void close() throws IOException {
+        stream.close();
+    }
+
+}
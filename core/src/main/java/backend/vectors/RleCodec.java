@@ -0,0 +1,250 @@
+package backend.vectors;
+
+import backend.BackendParameters;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.List;
+
+/*
+ * File: RleCodec.java
+ * -----------------------------------------------
+ * Converts vectors between the ".tbv" format
+ * and the run-length encoded ".tbr" format.
+ *
+ * Every line of the ".tbr" file is a run: the hexadecimal value
+ * and the decimal number of samples that hold it ("3f 1000000").
+ * Vectors of mostly static ports (enables, configuration buses)
+ * take a few lines instead of a line per sample.
+ * Runs are read by the "ReadRleGenerator.sv" class.
+ *
+ * Like ".tbv" files, ".tbr" files do not end with the empty line.
+ *
+ * The port is read from ".tbr" files only when all its files are encoded
+ * in all folders of the DUT instances (see isEncoded()),
+ * otherwise the testbench reads its ".tbv" files.
+ * Writing the ".tbv" file ("VectorWriter") deletes its ".tbr" file, and the validator
+ * rejects the ".tbr" file that is older than its ".tbv" file, so stale runs are not simulated.
+ */
+public class RleCodec {
+
+    /**
+     * Checks if the vector of the port is run-length encoded.
+     * The vector of the unpacked port is encoded when all its elements are encoded.
+     * The rule is shared by the testbench codegen and by the vectors validator,
+     * so the validator checks the files that the testbench reads.
+     *
+     * @param folder The folder with the vectors.
+     * @param name The name of the port (with the "_expect" suffix for expected outputs).
+     * @param depth The number of elements of the unpacked port (0 when it is not unpacked).
+     * @return "true" when all ".tbr" files of the port exist.
+     */
+    public static boolean isEncoded(File folder, String name, int depth) {
+        if (depth == 0)
+            return new File(folder, name + BackendParameters.RLE_EXTENSION).exists();
+
+        for (int element = 0; element < depth; element++)
+            if (!new File(folder, name + "_" + element + BackendParameters.RLE_EXTENSION).exists())
+                return false;
+
+        return true;
+    }
+
+    /**
+     * Checks if the vector of the port is run-length encoded in all folders.
+     * Instances of the batched testbench share the ReadDriver class,
+     * so they read the same kind of files.
+     *
+     * @param folders The folders with the vectors of the DUT instances.
+     * @param name The name of the port (with the "_expect" suffix for expected outputs).
+     * @param depth The number of elements of the unpacked port (0 when it is not unpacked).
+     * @return "true" when all ".tbr" files of the port exist in all folders.
+     */
+    public static boolean isEncoded(List<File> folders, String name, int depth) {
+        if (folders.isEmpty())
+            return false;
+
+        for (final File folder : folders)
+            if (!isEncoded(folder, name, depth))
+                return false;
+
+        return true;
+    }
+
+    /**
+     * Encodes the ".tbv" file.
+     *
+     * @param tbv The source ".tbv" file.
+     * @param tbr The encoded ".tbr" file. Overwritten if it exists.
+     * @return The number of runs.
+     * @throws IOException Error when reading or writing files.
+     */
+    public static long encode(File tbv, File tbr) throws IOException {
+        long runs = 0;
+
+        try (BufferedReader reader = Files.newBufferedReader(tbv.toPath(), StandardCharsets.US_ASCII);
+             BufferedWriter writer = Files.newBufferedWriter(tbr.toPath(), StandardCharsets.US_ASCII)) {
+
+            String value = null;
+            long count = 0;
+
+            for (String line = reader.readLine(); line != null; line = reader.readLine()) {
+                line = line.trim().toLowerCase();
+
+                if (line.equals(value)) {
+                    count++;
+                    continue;
+                }
+
+                if (value != null)
+                    writeRun(writer, value, count, runs++);
+                value = line;
+                count = 1;
+            }
+
+            if (value != null)
+                writeRun(writer, value, count, runs++);
+        }
+
+        return runs;
+    }
+
+    private static void writeRun(Writer writer, String value, long count, long run) throws IOException {
+        if (run != 0)
+            writer.write('\n');
+        writer.write(value);
+        writer.write(' ');
+        writer.write(Long.toString(count));
+    }
+
+    /**
+     * Decodes the ".tbr" file.
+     *
+     * @param tbr The source ".tbr" file.
+     * @param tbv The decoded ".tbv" file. Overwritten if it exists.
+     * @return The number of samples.
+     * @throws IOException Error when reading or writing files
+     *                     or the ".tbr" file has a wrong format.
+     */
+    public static long decode(File tbr, File tbv) throws IOException {
+        try (BufferedWriter writer = Files.newBufferedWriter(tbv.toPath(), StandardCharsets.US_ASCII)) {
+            return read(tbr, (value, count, first) -> {
+                for (long sample = first; sample < first + count; sample++) {
+                    if (sample != 0)
+                        writer.write('\n');
+                    writer.write(value);
+                }
+            });
+        }
+    }
+
+    /**
+     * Writes the runs of the samples range to the new ".tbr" file.
+     * Runs that cross the bounds of the range are cut.
+     *
+     * @param tbr The source ".tbr" file.
+     * @param slice The written ".tbr" file. Overwritten if it exists.
+     * @param begin The first sample of the range.
+     * @param end The sample after the last one of the range.
+     * @return The number of written samples.
+     * @throws IOException Error when reading or writing files
+     *                     or the ".tbr" file has a wrong format.
+     */
+    public static long slice(File tbr, File slice, long begin, long end) throws IOException {
+        final long[] written = {0, 0};
+
+        try (BufferedWriter writer = Files.newBufferedWriter(slice.toPath(), StandardCharsets.US_ASCII)) {
+            read(tbr, (value, count, first) -> {
+                final long overlap = Math.min(first + count, end) - Math.max(first, begin);
+
+                if (overlap > 0) {
+                    writeRun(writer, value, overlap, written[1]++);
+                    written[0] += overlap;
+                }
+            });
+        }
+
+        return written[0];
+    }
+
+    /**
+     * Counts the samples of the ".tbr" file and checks its format.
+     *
+     * @param tbr The ".tbr" file.
+     * @return The number of samples.
+     * @throws IOException Error when reading the file or the file has a wrong format.
+     */
+    public static long countSamples(File tbr) throws IOException {
+        return read(tbr, (value, count, first) -> {});
+    }
+
+    /**
+     * Counts the samples of the ".tbr" file, checks its format
+     * and checks that every value fits into the width of the vector
+     * by the rule of "VectorReader.isOverflow()".
+     *
+     * @param tbr The ".tbr" file.
+     * @param width The width of the each value of the vector (in bits).
+     * @return The number of samples.
+     * @throws IOException Error when reading the file, the file has a wrong format
+     *                     or a value is wider than the vector.
+     */
+    public static long countSamples(File tbr, int width) throws IOException {
+        return read(tbr, (value, count, first) -> {
+            if (!fits(value, width))
+                throw new IOException("Value of the run at sample " + first + " is wider than "
+                        + width + " bits: " + tbr.getAbsolutePath());
+        });
+    }
+
+    /* Checks that the hexadecimal value (with "x" and "z" digits) fits into the width. */
+    private static boolean fits(String value, int width) {
+        final int digits = (width + 3) / 4;
+
+        for (int index = 0; index < value.length() - digits; index++)
+            if (value.charAt(index) != '0')
+                return false;
+
+        if (value.length() < digits)
+            return true;
+
+        /* Unknown digit sets all four bits of the most significant nibble. */
+        final int bits = width - (digits - 1) * 4;
+        final int digit = Character.digit(value.charAt(value.length() - digits), 16);
+        return ((digit < 0 ? 0xF : digit) >> bits) == 0;
+    }
+
+    /* Receives the runs of the read file. */
+    private interface RunConsumer {
+        void accept(String value, long count, long first) throws IOException;
+    }
+
+    /**
+     * Reads the runs of the ".tbr" file.
+     *
+     * @return The number of samples.
+     */
+    private static long read(File tbr, RunConsumer consumer) throws IOException {
+        long samples = 0;
+        long lineNum = 0;
+
+        try (BufferedReader reader = Files.newBufferedReader(tbr.toPath(), StandardCharsets.US_ASCII)) {
+            for (String line = reader.readLine(); line != null; line = reader.readLine()) {
+                lineNum++;
+                final String[] run = line.trim().split("\\s+");
+
+                if (run.length != 2 || !run[0].matches("[0-9a-fA-FxXzZ]+") || !run[1].matches("[0-9]+")
+                        || Long.parseLong(run[1]) == 0)
+                    throw new IOException("Wrong run at line " + lineNum + " of the file: " + tbr.getAbsolutePath());
+
+                final long count = Long.parseLong(run[1]);
+                consumer.accept(run[0], count, samples);
+                samples += count;
+            }
+        }
+
+        return samples;
+    }
+
+}
@@ -0,0 +1,49 @@
+package backend.vectors;
+
+/*
+ * File: SampleBlock.java
+ * -----------------------------------------------
+ * A block of flat samples (see VectorLayout)
+ * that is passed between the stages of a pipeline.
+ *
+ * Samples are passed by blocks, so the stages
+ * synchronize once per block instead of once per sample.
+ */
+public class SampleBlock {
+
+    /* The block that marks the end of the stream. */
+    public static final SampleBlock END = new SampleBlock(0, 0);
+
+    /* Values and unknown bits masks of the samples. */
+    private final long[] values;
+    private final long[] unknowns;
+
+    /* The number of filled samples. */
+    private int size;
+
+    /**
+     * The class constructor.
+     *
+     * @param capacity The maximum number of samples.
+     * @param sampleWords The number of words of the flat sample.
+     */
+    public SampleBlock(int capacity, int sampleWords) {
+        values = new long[capacity * sampleWords];
+        unknowns = new long[capacity * sampleWords];
+    }
+
+    /* Getters and setters of the block's properties. */
+    public long[] getValues() {
+        return values;
+    }
+    public long[] getUnknowns() {
+        return unknowns;
+    }
+    public int getSize() {
+        return size;
+    }
+    public void setSize(int size) {
+        this.size = size;
+    }
+
+}
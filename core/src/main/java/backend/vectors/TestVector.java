@@ -0,0 +1,218 @@
+package backend.vectors;
+
+import java.util.Arrays;
+
+/*
+ * File: TestVector.java
+ * -----------------------------------------------
+ * Stores the values of a test vector in primitive arrays.
+ *
+ * Every sample takes "wordsPerSample" 64-bit words.
+ * Word 0 contains the least significant bits of a value.
+ * Ports that are not wider than 64 bits take one word per sample,
+ * wider ports are packed into a few words.
+ *
+ * Unknown ("x" or "z") bits are stored in a separate mask
+ * of the same layout. The mask is created only when
+ * the vector contains unknown bits.
+ */
+public class TestVector {
+
+    /* The initial number of samples that can be stored without resizing. */
+    private static final int INITIAL_CAPACITY = 1024;
+
+    /* The width of the each value of the vector (in bits). */
+    private final int width;
+
+    /* The number of 64-bit words that stores one value. */
+    private final int wordsPerSample;
+
+    /* Values and unknown bits masks of the samples. */
+    private long[] values;
+    private long[] unknowns;
+
+    /* The number of stored samples. */
+    private int size;
+
+    /**
+     * The class constructor.
+     *
+     * @param width The width of the each value of the vector (in bits).
+     */
+    public TestVector(int width) {
+        this(width, INITIAL_CAPACITY);
+    }
+
+    /**
+     * The class constructor.
+     *
+     * @param width The width of the each value of the vector (in bits).
+     * @param capacity The number of samples that can be stored without resizing.
+     */
+    public TestVector(int width, int capacity) {
+        if (width < 1)
+            throw new IllegalArgumentException("Vector width must be positive: " + width);
+
+        this.width = width;
+        this.wordsPerSample = getWordsPerSample(width);
+        this.values = new long[Math.max(capacity, 1) * wordsPerSample];
+    }
+
+    /**
+     * Returns the number of 64-bit words that stores one value of the specified width.
+     *
+     * @param width The width of the value (in bits).
+     * @return The number of words.
+     */
+    public static int getWordsPerSample(int width) {
+        return (width + Long.SIZE - 1) / Long.SIZE;
+    }
+
+    /**
+     * Returns the mask of the bits that belong to the value
+     * in the most significant word of the sample.
+     *
+     * @param width The width of the value (in bits).
+     * @return The mask of the used bits.
+     */
+    public static long getLastWordMask(int width) {
+        final int bits = width % Long.SIZE;
+        return bits == 0 ? -1L : (1L << bits) - 1;
+    }
+
+    /**
+     * Adds a sample that fits into one word.
+     *
+     * @param value The value of the sample.
+     */
+    public void add(long value) {
+        ensureCapacity();
+        values[size * wordsPerSample] = value;
+        size++;
+    }
+
+    /**
+     * Adds a sample.
+     *
+     * @param value The words of the sample's value.
+     * @param unknown The words of the sample's unknown bits mask.
+     *                Can be null when all bits are known.
+     */
+    public void add(long[] value, long[] unknown) {
+        ensureCapacity();
+        System.arraycopy(value, 0, values, size * wordsPerSample, wordsPerSample);
+
+        if (unknown != null && !isZero(unknown)) {
+            if (unknowns == null)
+                unknowns = new long[values.length];
+            System.arraycopy(unknown, 0, unknowns, size * wordsPerSample, wordsPerSample);
+        }
+
+        size++;
+    }
+
+    private boolean isZero(long[] words) {
+        for (int word = 0; word < wordsPerSample; word++)
+            if (words[word] != 0)
+                return false;
+
+        return true;
+    }
+
+    private void ensureCapacity() {
+        if ((size + 1) * wordsPerSample <= values.length)
+            return;
+
+        final long capacity = Math.min((long) values.length * 2, Integer.MAX_VALUE - 8);
+        if (capacity <= (long) size * wordsPerSample)
+            throw new IllegalStateException("Vector is too large to be stored in memory: " + size + " samples.");
+
+        values = Arrays.copyOf(values, (int) capacity);
+        if (unknowns != null)
+            unknowns = Arrays.copyOf(unknowns, (int) capacity);
+    }
+
+    /**
+     * Returns the value of the sample.
+     * Used for vectors that are not wider than 64 bits.
+     *
+     * @param sample The index of the sample.
+     * @return The value of the sample.
+     */
+    public long get(int sample) {
+        return values[sample * wordsPerSample];
+    }
+
+    /**
+     * Returns one word of the sample's value.
+     *
+     * @param sample The index of the sample.
+     * @param word The index of the word (0 is the least significant word).
+     * @return The word of the value.
+     */
+    public long getWord(int sample, int word) {
+        return values[sample * wordsPerSample + word];
+    }
+
+    /**
+     * Returns one word of the sample's unknown bits mask.
+     *
+     * @param sample The index of the sample.
+     * @param word The index of the word (0 is the least significant word).
+     * @return The word of the unknown bits mask.
+     */
+    public long getUnknownWord(int sample, int word) {
+        return unknowns == null ? 0 : unknowns[sample * wordsPerSample + word];
+    }
+
+    /**
+     * Checks if the sample contains unknown bits.
+     *
+     * @param sample The index of the sample.
+     * @return "true" when some bits of the sample are unknown.
+     */
+    public boolean isUnknown(int sample) {
+        if (unknowns == null)
+            return false;
+
+        for (int word = 0; word < wordsPerSample; word++)
+            if (unknowns[sample * wordsPerSample + word] != 0)
+                return true;
+
+        return false;
+    }
+
+    /**
+     * Returns the values of all samples.
+     * The array may be longer than "size() * getWordsPerSample()".
+     *
+     * @return The array of values words.
+     */
+    public long[] getValues() {
+        return values;
+    }
+
+    /**
+     * Returns the unknown bits masks of all samples.
+     *
+     * @return The array of masks words or null, when all bits are known.
+     */
+    public long[] getUnknowns() {
+        return unknowns;
+    }
+
+    /* Getters of the vector's properties. */
+    public int getWidth() {
+        return width;
+    }
+    public int getWordsPerSample() {
+        return wordsPerSample;
+    }
+    public int size() {
+        return size;
+    }
+    public boolean hasUnknowns() {
+        return unknowns != null;
+    }
+
+}
@@ -0,0 +1,86 @@
+package backend.vectors;
+
+import backend.BackendParameters;
+
+/*
+ * File: VectorChannel.java
+ * -----------------------------------------------
+ * Describes one test vector of the DUT's port.
+ *
+ * Port that is not unpacked has one vector ("<port_name>.tbv").
+ * Every element of the unpacked port has its own vector
+ * ("<port_name>_<element>.tbv").
+ */
+public class VectorChannel implements BackendParameters {
+
+    /* The name of the port. */
+    private final String port;
+
+    /* The index of the unpacked element. It equals -1 when the port is not unpacked. */
+    private final int element;
+
+    /* The width of the each value of the vector (in bits). */
+    private final int width;
+
+    /* The offset of the channel's words in the sample of the VectorLayout object. */
+    private final int offset;
+
+    /**
+     * The class constructor.
+     *
+     * @param port The name of the port.
+     * @param element The index of the unpacked element (-1 when the port is not unpacked).
+     * @param width The width of the each value of the vector (in bits).
+     * @param offset The offset of the channel's words in the sample.
+     */
+    public VectorChannel(String port, int element, int width, int offset) {
+        this.port = port;
+        this.element = element;
+        this.width = width;
+        this.offset = offset;
+    }
+
+    /**
+     * Returns the name of the vector's file.
+     *
+     * @param suffix The suffix of the file ("", "_expect" or "_mismatch").
+     * @return The name of the file.
+     */
+    public String getFileName(String suffix) {
+        return element < 0
+                ? port + suffix + VECTOR_EXTENSION
+                : port + suffix + "_" + element + VECTOR_EXTENSION;
+    }
+
+    /**
+     * Returns the name of the channel as it is written in the code.
+     * For example, "out" or "out[3]".
+     *
+     * @return The name of the channel.
+     */
+    public String getName() {
+        return element < 0 ? port : port + "[" + element + "]";
+    }
+
+    /* Getters of the channel's properties. */
+    public String getPort() {
+        return port;
+    }
+    public int getElement() {
+        return element;
+    }
+    public int getWidth() {
+        return width;
+    }
+    public int getWords() {
+        return TestVector.getWordsPerSample(width);
+    }
+    public int getOffset() {
+        return offset;
+    }
+
+    public String toString() {
+        return getName();
+    }
+
+}
@@ -0,0 +1,141 @@
+package backend.vectors;
+
+import backend.parsers.detectors.PortDescriptor;
+import backend.parsers.detectors.PortTable;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.TreeMap;
+
+/*
+ * File: VectorLayout.java
+ * -----------------------------------------------
+ * Describes the test vectors of a set of DUT's ports.
+ *
+ * Widths and unpacked sizes of the ports are resolved
+ * against the module's parameters. Clock ports are skipped,
+ * because they are driven by the clock driver.
+ *
+ * Every channel (a port or an element of the unpacked port)
+ * takes a fixed range of words in a flat sample,
+ * so a sample of all ports is stored in one long[] array.
+ */
+public class VectorLayout {
+
+    /* Channels in order of ports names and elements. */
+    private final ArrayList<VectorChannel> channels = new ArrayList<>();
+
+    /* Channels of every port. */
+    private final HashMap<String, ArrayList<VectorChannel>> ports = new HashMap<>();
+
+    /* The number of words of a flat sample. */
+    private final int sampleWords;
+
+    /**
+     * The class constructor.
+     *
+     * @param ports The HashMap object with names
+     *              and descriptions of DUT's ports.
+     * @param parameters The HashMap object with names
+     *                   and values of DUT's parameters.
+     */
+    public VectorLayout(HashMap<String, PortDescriptor> ports, HashMap<String, String> parameters) {
+        int offset = 0;
+
+        for (final PortDescriptor port : new TreeMap<>(ports).values())
+            if (!port.isClock())
+                offset = addPort(port.getName(), port.getWidth(parameters), port.getDepth(parameters), offset);
+
+        sampleWords = offset;
+    }
+
+    /**
+     * The class constructor.
+     * Widths and unpacked sizes are already resolved by the table,
+     * so no PortDescriptor objects are created.
+     *
+     * @param ports The compact table of DUT's ports.
+     */
+    public VectorLayout(PortTable ports) {
+        int offset = 0;
+
+        /* Names of the table are sorted by their bytes, it is the order of the names for the identifiers. */
+        for (int index = 0; index < ports.size(); index++)
+            if (!ports.isClock(index))
+                offset = addPort(ports.getName(index), ports.getWidth(index), ports.getDepth(index), offset);
+
+        sampleWords = offset;
+    }
+
+    /**
+     * Adds channels of the port.
+     *
+     * @return The offset of the next channel.
+     */
+    private int addPort(String name, int width, int depth, int offset) {
+        final ArrayList<VectorChannel> portChannels = new ArrayList<>();
+
+        for (int element = depth == 0 ? -1 : 0; element < depth; element++) {
+            final VectorChannel channel = new VectorChannel(name, element, width, offset);
+            offset += channel.getWords();
+            portChannels.add(channel);
+        }
+
+        channels.addAll(portChannels);
+        ports.put(name, portChannels);
+        return offset;
+    }
+
+    /**
+     * Returns all channels of the layout.
+     *
+     * @return The list of channels.
+     */
+    public ArrayList<VectorChannel> getChannels() {
+        return channels;
+    }
+
+    /**
+     * Returns all channels of the port.
+     *
+     * @param port The name of the port.
+     * @return The list of the port's channels.
+     * @throws IllegalArgumentException The port does not exist.
+     */
+    public ArrayList<VectorChannel> getChannels(String port) {
+        final ArrayList<VectorChannel> portChannels = ports.get(port);
+
+        if (portChannels == null)
+            throw new IllegalArgumentException("Port does not exist: " + port);
+
+        return portChannels;
+    }
+
+    /**
+     * Returns the channel of the port.
+     *
+     * @param port The name of the port.
+     * @param element The index of the unpacked element (-1 when the port is not unpacked).
+     * @return The channel.
+     * @throws IllegalArgumentException The port or the element does not exist.
+     */
+    public VectorChannel getChannel(String port, int element) {
+        final ArrayList<VectorChannel> portChannels = getChannels(port);
+
+        final int index = Math.max(element, 0);
+        if (index >= portChannels.size() || (element < 0) != (portChannels.get(0).getElement() < 0))
+            throw new IllegalArgumentException("Port element does not exist: " + port + "[" + element + "]");
+
+        return portChannels.get(index);
+    }
+
+    /**
+     * Returns the number of words of a flat sample.
+     *
+     * @return The number of words.
+     */
+    public int getSampleWords() {
+        return sampleWords;
+    }
+
+}
@@ -0,0 +1,349 @@
+package backend.vectors;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+/*
+ * File: VectorReader.java
+ * -----------------------------------------------
+ * Reads a ".tbv" file sample by sample.
+ *
+ * The file has the format of column of hexadecimal values
+ * (see "ReadGenerator.sv"). It is memory-mapped by windows,
+ * so files that are larger than the heap can be read.
+ * Hexadecimal digits are parsed straight from the mapped bytes
+ * into the primitive words of the current sample,
+ * no String objects are created per line.
+ *
+ * "x" and "z" digits (in any case) mark unknown bits.
+ * They are stored in the unknown bits mask, the value bits are zero.
+ * Every such digit marks all four bits of the nibble as unknown,
+ * because the format doesn't tell which bits of "X" are known.
+ */
+public class VectorReader implements Closeable {
+
+    /* The maximum size of the mapped window of the file. */
+    private static final long WINDOW_SIZE = 1L << 28;
+
+    /* Values of the ASCII symbols. */
+    private static final byte NOT_HEX = -1;
+    private static final byte UNKNOWN = 16;
+    private static final byte[] DIGITS = new byte[256];
+    static {
+        Arrays.fill(DIGITS, NOT_HEX);
+        for (int digit = 0; digit < 10; digit++)
+            DIGITS['0' + digit] = (byte) digit;
+        for (int digit = 0; digit < 6; digit++) {
+            DIGITS['a' + digit] = (byte) (10 + digit);
+            DIGITS['A' + digit] = (byte) (10 + digit);
+        }
+        DIGITS['x'] = DIGITS['X'] = DIGITS['z'] = DIGITS['Z'] = UNKNOWN;
+    }
+
+    /* The read file. */
+    private final File file;
+    private final FileChannel channel;
+    private final long fileSize;
+
+    /* The mapped window of the file and its offset in the file. */
+    private MappedByteBuffer window;
+    private long windowStart;
+
+    /* The offset of the next line in the file. */
+    private long position;
+
+    /* The width of the each value of the vector (in bits). */
+    private final int width;
+    private final int words;
+    private final long lastWordMask;
+
+    /* The ongoing sample. */
+    private final long[] value;
+    private final long[] unknown;
+    private boolean isUnknown;
+    private boolean isOverflow;
+    private long index = -1;
+
+    /**
+     * The class constructor.
+     *
+     * @param file The ".tbv" file.
+     * @param width The width of the each value of the vector (in bits).
+     * @throws IOException Error when opening the file.
+     */
+    public VectorReader(File file, int width) throws IOException {
+        if (width < 1)
+            throw new IllegalArgumentException("Vector width must be positive: " + width);
+
+        this.file = file;
+        this.width = width;
+        this.words = TestVector.getWordsPerSample(width);
+        this.lastWordMask = TestVector.getLastWordMask(width);
+        this.value = new long[words];
+        this.unknown = new long[words];
+        this.channel = FileChannel.open(file.toPath(), StandardOpenOption.READ);
+        this.fileSize = channel.size();
+    }
+
+    /**
+     * Reads the whole file into the memory.
+     *
+     * @param file The ".tbv" file.
+     * @param width The width of the each value of the vector (in bits).
+     * @return The TestVector object with all samples of the file.
+     * @throws IOException Error when reading the file or the file has a wrong format.
+     */
+    public static TestVector read(File file, int width) throws IOException {
+        try (VectorReader reader = new VectorReader(file, width)) {
+            final long estimate = reader.fileSize / ((width + 3) / 4 + 1) + 1;
+            final TestVector vector = new TestVector(width, (int) Math.min(estimate, Integer.MAX_VALUE >> 4));
+
+            while (reader.next())
+                vector.add(reader.value, reader.isUnknown ? reader.unknown : null);
+
+            return vector;
+        }
+    }
+
+    /**
+     * Counts the samples of the file without parsing them.
+     *
+     * @param file The ".tbv" file.
+     * @return The number of samples.
+     * @throws IOException Error when reading the file.
+     */
+    public static long countSamples(File file) throws IOException {
+        try (VectorReader reader = new VectorReader(file, 1)) {
+            return reader.skip(Long.MAX_VALUE);
+        }
+    }
+
+    /**
+     * Reads the next sample.
+     *
+     * @return "true" when the sample is read,
+     *         "false" when the end of the file is reached.
+     * @throws IOException Error when reading the file or the line has a wrong format.
+     */
+    public boolean next() throws IOException {
+        if (position >= fileSize)
+            return false;
+
+        final long lineEnd = findLineEnd();
+        parse((int) (position - windowStart), (int) (lineEnd - windowStart));
+
+        position = lineEnd + 1;
+        index++;
+        return true;
+    }
+
+    /**
+     * Skips the specified number of samples without parsing them.
+     *
+     * @param samples The number of samples to skip.
+     * @return The number of skipped samples. It is less than specified
+     *         when the end of the file is reached.
+     * @throws IOException Error when reading the file.
+     */
+    public long skip(long samples) throws IOException {
+        long skipped = 0;
+
+        while (skipped < samples && position < fileSize) {
+            position = findLineEnd() + 1;
+            index++;
+            skipped++;
+        }
+
+        return skipped;
+    }
+
+    /**
+     * Returns the offset of the next sample's line in the file.
+     * It can be passed to seek() to return to that sample later.
+     *
+     * @return The offset of the line.
+     */
+    public long getPosition() {
+        return position;
+    }
+
+    /**
+     * Moves the reader to the sample whose offset
+     * was returned by getPosition() before.
+     *
+     * @param position The offset of the sample's line in the file.
+     * @param index The index of the sample.
+     */
+    public void seek(long position, long index) {
+        if (position < 0 || position > fileSize)
+            throw new IllegalArgumentException("Position is out of the file: " + position);
+
+        if (window != null && position < windowStart)
+            window = null;
+
+        this.position = position;
+        this.index = index - 1;
+    }
+
+    /**
+     * Finds the end of the line that starts at the ongoing position.
+     * Remaps the window when the line is not mapped completely.
+     *
+     * @return The offset of the line's "\n" symbol (or the size of the file).
+     */
+    private long findLineEnd() throws IOException {
+        if (window == null || position >= windowStart + window.limit())
+            map(position);
+
+        while (true) {
+            final int limit = window.limit();
+
+            for (int offset = (int) (position - windowStart); offset < limit; offset++)
+                if (window.get(offset) == '\n')
+                    return windowStart + offset;
+
+            if (windowStart + limit >= fileSize)
+                return fileSize;
+
+            if (windowStart == position)
+                throw new IOException("Line " + (index + 2) + " is too long: " + file.getAbsolutePath());
+
+            map(position);
+        }
+    }
+
+    private void map(long start) throws IOException {
+        windowStart = start;
+        window = channel.map(FileChannel.MapMode.READ_ONLY, start, Math.min(WINDOW_SIZE, fileSize - start));
+    }
+
+    /**
+     * Parses hexadecimal digits of the line starting from the least significant one.
+     *
+     * @param begin The offset of the line in the window.
+     * @param end The offset of the line's end in the window.
+     */
+    private void parse(int begin, int end) throws IOException {
+        while (begin < end && isSpace(window.get(begin)))
+            begin++;
+        while (end > begin && isSpace(window.get(end - 1)))
+            end--;
+
+        if (begin == end)
+            throw new IOException("Empty line " + (index + 2) + " in the file: " + file.getAbsolutePath());
+
+        Arrays.fill(value, 0);
+        Arrays.fill(unknown, 0);
+        isOverflow = false;
+
+        int bit = 0;
+        for (int offset = end - 1; offset >= begin; offset--, bit += 4) {
+            final byte digit = DIGITS[window.get(offset) & 0xFF];
+
+            if (digit == NOT_HEX)
+                throw new IOException("Wrong hexadecimal value at line " + (index + 2)
+                        + " of the file: " + file.getAbsolutePath());
+
+            final int word = bit >>> 6;
+            if (word >= words) {
+                isOverflow |= digit != 0;
+                continue;
+            }
+
+            if (digit == UNKNOWN)
+                unknown[word] |= 0xFL << (bit & 63);
+            else
+                value[word] |= (long) digit << (bit & 63);
+        }
+
+        isOverflow |= ((value[words - 1] | unknown[words - 1]) & ~lastWordMask) != 0;
+        value[words - 1] &= lastWordMask;
+        unknown[words - 1] &= lastWordMask;
+
+        isUnknown = false;
+        for (final long word : unknown)
+            isUnknown |= word != 0;
+    }
+
+    private boolean isSpace(byte symbol) {
+        return symbol == ' ' || symbol == '\t' || symbol == '\r';
+    }
+
+    /**
+     * Returns the words of the ongoing sample's value.
+     * The array is reused by the next sample.
+     *
+     * @return The words of the value (0 is the least significant word).
+     */
+    public long[] getValue() {
+        return value;
+    }
+
+    /**
+     * Returns the words of the ongoing sample's unknown bits mask.
+     * The array is reused by the next sample.
+     *
+     * @return The words of the mask (0 is the least significant word).
+     */
+    public long[] getUnknown() {
+        return unknown;
+    }
+
+    /**
+     * Returns the value of the ongoing sample.
+     * Used for vectors that are not wider than 64 bits.
+     *
+     * @return The value of the sample.
+     */
+    public long getLong() {
+        return value[0];
+    }
+
+    /**
+     * Checks if the ongoing sample contains unknown bits.
+     *
+     * @return "true" when some bits of the sample are unknown.
+     */
+    public boolean isUnknown() {
+        return isUnknown;
+    }
+
+    /**
+     * Checks if the ongoing sample contains non-zero digits
+     * that do not fit into the width of the vector.
+     * Such bits are dropped from the value.
+     *
+     * @return "true" when the value is wider than the vector.
+     */
+    public boolean isOverflow() {
+        return isOverflow;
+    }
+
+    /* Getters of the reader's properties. */
+    public long getIndex() {
+        return index;
+    }
+    public int getWidth() {
+        return width;
+    }
+    public File getFile() {
+        return file;
+    }
+
+    /**
+     * Closes the file.
+     *
+     * @throws IOException Error when closing the file.
+     */
+    @Override
+    public void close() throws IOException {
+        window = null;
+        channel.close();
+    }
+
+}
@@ -0,0 +1,199 @@
+package backend.vectors;
+
+import backend.BackendParameters;
+
+import java.io.*;
+import java.nio.file.Files;
+
+/*
+ * File: VectorWriter.java
+ * -----------------------------------------------
+ * Writes a ".tbv" file sample by sample.
+ *
+ * Every value is written as a line of hexadecimal digits.
+ * The number of digits is defined by the width of the vector,
+ * as the "%h" format of the simulator does.
+ * Unknown nibbles are written as "x" ("X" when only some bits
+ * of the nibble are unknown).
+ *
+ * The encoding is lossy: one hexadecimal digit can't keep the known bits
+ * of the partly unknown nibble, so "VectorReader" reads "X" as all four bits
+ * unknown and the known bits of such nibble are lost on the round trip.
+ * The same is true for the files that are written by the simulator.
+ *
+ * Lines are separated by "\n" and the last line is not terminated,
+ * because "ReadGenerator.sv" treats the empty last line as a fault.
+ *
+ * The run-length encoded ".tbr" file of the vector is deleted when the vector is written,
+ * otherwise the testbench would read the old runs instead of the new values (see "RleCodec").
+ */
+public class VectorWriter implements Closeable, BackendParameters {
+
+    /* The size of the output buffer. */
+    private static final int BUFFER_SIZE = 1 << 16;
+
+    /* Hexadecimal digits. */
+    private static final byte[] HEX = "0123456789abcdef".getBytes();
+
+    /* The written file. */
+    private final File file;
+    private final OutputStream stream;
+
+    /* The width of the each value of the vector (in bits). */
+    private final int width;
+    private final int words;
+    private final int digits;
+
+    /* The line that is reused by every sample. */
+    private final byte[] line;
+
+    /* The number of written samples. */
+    private long size;
+
+    /**
+     * The class constructor.
+     * Creates the file. Overwrites if it exists.
+     * Deletes the ".tbr" file of the vector.
+     *
+     * @param file The ".tbv" file.
+     * @param width The width of the each value of the vector (in bits).
+     * @throws IOException Error when creating the file.
+     */
+    public VectorWriter(File file, int width) throws IOException {
+        if (width < 1)
+            throw new IllegalArgumentException("Vector width must be positive: " + width);
+
+        this.file = file;
+        this.width = width;
+        this.words = TestVector.getWordsPerSample(width);
+        this.digits = (width + 3) / 4;
+        this.line = new byte[digits + 1];
+
+        final String name = file.getName();
+        if (name.endsWith(VECTOR_EXTENSION))
+            Files.deleteIfExists(new File(file.getParentFile(),
+                    name.substring(0, name.length() - VECTOR_EXTENSION.length()) + RLE_EXTENSION).toPath());
+
+        this.stream = new BufferedOutputStream(new FileOutputStream(file), BUFFER_SIZE);
+    }
+
+    /**
+     * Writes the whole vector to the file.
+     *
+     * @param file The ".tbv" file.
+     * @param vector The vector that must be written.
+     * @throws IOException Error when writing the file.
+     */
+    public static void write(File file, TestVector vector) throws IOException {
+        final int words = vector.getWordsPerSample();
+        final long[] value = new long[words];
+        final long[] unknown = new long[words];
+
+        try (VectorWriter writer = new VectorWriter(file, vector.getWidth())) {
+            for (int sample = 0; sample < vector.size(); sample++) {
+                for (int word = 0; word < words; word++) {
+                    value[word] = vector.getWord(sample, word);
+                    unknown[word] = vector.getUnknownWord(sample, word);
+                }
+                writer.write(value, unknown);
+            }
+        }
+    }
+
+    /**
+     * Writes a sample that fits into one word.
+     *
+     * @param value The value of the sample.
+     * @throws IOException Error when writing the file.
+     */
+    public void write(long value) throws IOException {
+        int length = 0;
+        if (size != 0)
+            line[length++] = '\n';
+
+        for (int digit = digits - 1; digit >= 0; digit--) {
+            final int bit = digit * 4;
+            line[length++] = HEX[bit < Long.SIZE ? (int) (value >>> bit) & 0xF : 0];
+        }
+
+        stream.write(line, 0, length);
+        size++;
+    }
+
+    /**
+     * Writes a sample.
+     *
+     * @param value The words of the sample's value (0 is the least significant word).
+     * @param unknown The words of the sample's unknown bits mask.
+     *                Can be null when all bits are known.
+     * @throws IOException Error when writing the file.
+     */
+    public void write(long[] value, long[] unknown) throws IOException {
+        int length = 0;
+        if (size != 0)
+            line[length++] = '\n';
+
+        for (int digit = digits - 1; digit >= 0; digit--) {
+            final int word = digit >>> 4;
+            final int shift = (digit & 15) * 4;
+            final int nibbleUnknown = unknown == null || word >= words ? 0 : (int) (unknown[word] >>> shift) & 0xF;
+            final int nibbleValue = word >= words ? 0 : (int) (value[word] >>> shift) & 0xF;
+
+            if (nibbleUnknown == 0)
+                line[length++] = HEX[nibbleValue];
+            else
+                line[length++] = (byte) (nibbleUnknown == getNibbleMask(digit) ? 'x' : 'X');
+        }
+
+        stream.write(line, 0, length);
+        size++;
+    }
+
+    /**
+     * Writes a sample with all bits unknown.
+     *
+     * @throws IOException Error when writing the file.
+     */
+    public void writeUnknown() throws IOException {
+        int length = 0;
+        if (size != 0)
+            line[length++] = '\n';
+
+        for (int digit = 0; digit < digits; digit++)
+            line[length++] = 'x';
+
+        stream.write(line, 0, length);
+        size++;
+    }
+
+    /**
+     * Returns the mask of the nibble bits that belong to the value.
+     * Only the most significant nibble can be partially used.
+     */
+    private int getNibbleMask(int digit) {
+        final int bits = width - digit * 4;
+        return bits >= 4 ? 0xF : (1 << bits) - 1;
+    }
+
+    /* Getters of the writer's properties. */
+    public long getSize() {
+        return size;
+    }
+    public int getWidth() {
+        return width;
+    }
+    public File getFile() {
+        return file;
+    }
+
+    /**
+     * Flushes the buffer and closes the file.
+     *
+     * @throws IOException Error when closing the file.
+     */
+    @Override
+    public void close() throws IOException {
+        stream.close();
+    }
+
+}
@@ -0,0 +1,171 @@
+package backend.vectors;
+
+import backend.BackendParameters;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.TreeMap;
+import java.util.concurrent.*;
+
+/*
+ * File: VectorsValidator.java
+ * -----------------------------------------------
+ * Checks the vectors of the "input_data" folder
+ * before the simulation is run.
+ *
+ * Finds the problems that the testbench finds only
+ * after all files are loaded by the simulator
+ * ("ReadGenerator.checkReadingScanning" and "ReadDriver.checkSize"):
+ *      -- missing files of the ports and of the unpacked elements;
+ *      -- empty lines and values that are not hexadecimal;
+ *      -- values that are wider than the port;
+ *      -- vectors of different sizes.
+ * Run-length encoded vectors (".tbr" files) of the port are checked instead
+ * of its ".tbv" files when the testbench reads them: when they exist in all
+ * folders of the DUT instances (see "RleCodec.isEncoded()").
+ * Files are checked concurrently.
+ */
+public class VectorsValidator implements BackendParameters {
+
+    /* The checked folder. */
+    private final File folder;
+
+    /* Checked vectors: input vectors and expected output vectors. */
+    private final ArrayList<VectorChannel> channels = new ArrayList<>();
+    private final ArrayList<String> suffixes = new ArrayList<>();
+
+    /* "true" for the channels whose ports are run-length encoded. */
+    private final ArrayList<Boolean> encoded = new ArrayList<>();
+
+    /**
+     * The class constructor.
+     *
+     * @param folder The "input_data" folder (or its "instance_<num>" subfolder).
+     * @param instanceFolders The input folders of all DUT instances of the testbench
+     *                        (see "FilesWriter.getInputFolders()").
+     * @param inputs The layout of DUT's inputs.
+     * @param outputs The layout of DUT's outputs.
+     */
+    public VectorsValidator(File folder, List<File> instanceFolders,
+                            VectorLayout inputs, VectorLayout outputs) {
+        this.folder = folder;
+
+        addChannels(inputs, "", instanceFolders);
+        addChannels(outputs, EXPECTED_SUFFIX, instanceFolders);
+    }
+
+    private void addChannels(VectorLayout layout, String suffix, List<File> instanceFolders) {
+        for (final VectorChannel channel : layout.getChannels()) {
+            final int depth = channel.getElement() < 0 ? 0 : layout.getChannels(channel.getPort()).size();
+
+            channels.add(channel);
+            suffixes.add(suffix);
+            encoded.add(RleCodec.isEncoded(instanceFolders, channel.getPort() + suffix, depth));
+        }
+    }
+
+    /**
+     * Checks all vectors concurrently.
+     *
+     * @param parallelism The maximum number of concurrently checked files.
+     * @return The list of found problems. It is empty when all vectors are correct.
+     * @throws InterruptedException Checking is interrupted.
+     */
+    public ArrayList<String> validate(int parallelism) throws InterruptedException {
+        final ExecutorService pool = Executors.newFixedThreadPool(Math.max(1, Math.min(parallelism, channels.size())));
+        final ArrayList<Future<Long>> futures = new ArrayList<>();
+        final ArrayList<String> problems = new ArrayList<>();
+
+        /* Names of the correct files grouped by their sizes. */
+        final TreeMap<Long, ArrayList<String>> sizes = new TreeMap<>();
+
+        try {
+            for (int index = 0; index < channels.size(); index++) {
+                final File file = new File(folder, channels.get(index).getFileName(suffixes.get(index)));
+                final int width = channels.get(index).getWidth();
+                final boolean isEncoded = encoded.get(index);
+                futures.add(pool.submit(() -> isEncoded ? checkEncoded(file, width) : check(file, width)));
+            }
+
+            for (int index = 0; index < channels.size(); index++) {
+                final String name = channels.get(index).getFileName(suffixes.get(index));
+
+                try {
+                    sizes.computeIfAbsent(futures.get(index).get(), size -> new ArrayList<>()).add(name);
+                } catch (ExecutionException e) {
+                    problems.add(e.getCause().getMessage());
+                }
+            }
+        }
+
+        finally {
+            pool.shutdownNow();
+        }
+
+        if (sizes.size() > 1) {
+            final StringBuilder problem = new StringBuilder("Vectors have unequal sizes:");
+            sizes.forEach((size, names) -> problem.append("\n\t").append(size).append(" samples: ").append(names));
+            problems.add(problem.toString());
+        }
+
+        return problems;
+    }
+
+    /**
+     * Checks the run-length encoded file of the ".tbv" file.
+     * Values of the runs are checked as the values of the ".tbv" file.
+     * The ".tbr" file that is older than its ".tbv" file is stale:
+     * the vector was written again after it was encoded.
+     *
+     * @return The number of samples of the file.
+     * @throws IOException The file is stale or has a wrong format.
+     */
+    private long checkEncoded(File file, int width) throws IOException {
+        final String name = file.getName();
+        final File rle = new File(file.getParentFile(),
+                name.substring(0, name.length() - VECTOR_EXTENSION.length()) + RLE_EXTENSION);
+        if (file.exists() && rle.lastModified() < file.lastModified())
+            throw new IOException("Encoded file is older than its vector, run \"compress\" again: "
+                    + rle.getAbsolutePath());
+
+        final long samples = RleCodec.countSamples(rle, width);
+
+        if (samples == 0)
+            throw new IOException("File is empty: " + rle.getAbsolutePath());
+
+        return samples;
+    }
+
+    /**
+     * Checks the file.
+     *
+     * @return The number of samples of the file.
+     * @throws IOException The file is missing or has a wrong format.
+     */
+    private long check(File file, int width) throws IOException {
+        if (!file.exists())
+            throw new IOException("File does not exist: " + file.getAbsolutePath());
+        if (file.length() == 0)
+            throw new IOException("File is empty: " + file.getAbsolutePath());
+
+        /* "ReadGenerator.sv" reads the line after the last "\n" as an empty one. */
+        try (RandomAccessFile raf = new RandomAccessFile(file, "r")) {
+            raf.seek(raf.length() - 1);
+            if (raf.read() == '\n')
+                throw new IOException("File ends with an empty line: " + file.getAbsolutePath());
+        }
+
+        try (VectorReader reader = new VectorReader(file, width)) {
+            while (reader.next())
+                if (reader.isOverflow())
+                    throw new IOException("Value at line " + (reader.getIndex() + 1) + " is wider than "
+                            + width + " bits: " + file.getAbsolutePath());
+
+            return reader.getIndex() + 1;
+        }
+    }
+
+}
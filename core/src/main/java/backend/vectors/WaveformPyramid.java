@@ -0,0 +1,366 @@
+package backend.vectors;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+
+/*
+ * File: WaveformPyramid.java
+ * -----------------------------------------------
+ * Multi-resolution summary of a ".tbv" file
+ * that is used to draw the file as a waveform.
+ *
+ * The file is read once. Level 0 stores the minimum, the maximum
+ * and the "any unknown bit" flag of every BUCKET_SAMPLES samples,
+ * every next level merges LEVEL_FACTOR buckets of the previous one.
+ * A window of any zoom is summarized from the level whose buckets
+ * are not longer than a pixel, so the cost of drawing depends on
+ * the number of pixels, not on the number of samples.
+ * Windows that are zoomed in deeper than level 0 are read
+ * from the memory-mapped file, starting from the offset
+ * of the bucket that is stored while the pyramid is built.
+ *
+ * Values are compared as unsigned low 64-bit words,
+ * so wider vectors are summarized by their least significant bits.
+ * For the mismatch vectors non-zero maximum means "any mismatch".
+ */
+public class WaveformPyramid implements Closeable {
+
+    /* The number of samples of the level 0 bucket. */
+    public static final int BUCKET_SAMPLES = 64;
+
+    /* The number of buckets that are merged into the bucket of the next level. */
+    public static final int LEVEL_FACTOR = 4;
+
+    /* The name of the waveform, its file and the width of its values (in bits). */
+    private final String name;
+    private final File file;
+    private final int width;
+
+    /* "true" when the file is the mismatch vector of the output. */
+    private final boolean isMismatch;
+
+    /* Levels of the pyramid. They are published when the pyramid is built. */
+    private volatile Level[] levels;
+
+    /* The number of samples of the file. */
+    private long samples;
+
+    /* Offsets of the level 0 buckets in the file. */
+    private long[] offsets;
+
+    /* Reads samples of the windows that are zoomed in deeper than level 0.
+    It is opened on the first such window. Read samples are kept in the buffers. */
+    private VectorReader reader;
+    private long[] values;
+    private boolean[] unknowns;
+
+    /*
+     * Buckets of one level of the pyramid.
+     */
+    private static class Level {
+        private final long[] min;
+        private final long[] max;
+        private final boolean[] unknown;
+
+        private Level(int buckets) {
+            min = new long[buckets];
+            max = new long[buckets];
+            unknown = new boolean[buckets];
+        }
+    }
+
+    /**
+     * The class constructor.
+     * The file is not read until build() is called.
+     *
+     * @param name The name of the waveform.
+     * @param file The ".tbv" file.
+     * @param width The width of the each value of the vector (in bits).
+     * @param isMismatch "true" when the file is the mismatch vector of the output.
+     */
+    public WaveformPyramid(String name, File file, int width, boolean isMismatch) {
+        if (width < 1)
+            throw new IllegalArgumentException("Vector width must be positive: " + width);
+
+        this.name = name;
+        this.file = file;
+        this.width = width;
+        this.isMismatch = isMismatch;
+    }
+
+    /**
+     * Reads the file and builds all levels of the pyramid.
+     *
+     * @throws IOException Error when reading the file or the file has a wrong format.
+     * @throws InterruptedException Building is interrupted.
+     */
+    public void build() throws IOException, InterruptedException {
+        int capacity = 1024;
+        long[] min = new long[capacity];
+        long[] max = new long[capacity];
+        boolean[] unknown = new boolean[capacity];
+        long[] starts = new long[capacity];
+        long count = 0;
+
+        try (VectorReader reader = new VectorReader(file, width)) {
+            while (true) {
+                final long start = reader.getPosition();
+                if (!reader.next())
+                    break;
+
+                final int bucket = (int) (count / BUCKET_SAMPLES);
+                final long value = reader.getLong();
+
+                if (count % BUCKET_SAMPLES == 0) {
+                    if (bucket == capacity) {
+                        if (Thread.interrupted())
+                            throw new InterruptedException("Building of the waveform is interrupted: " + name);
+
+                        capacity <<= 1;
+                        min = Arrays.copyOf(min, capacity);
+                        max = Arrays.copyOf(max, capacity);
+                        unknown = Arrays.copyOf(unknown, capacity);
+                        starts = Arrays.copyOf(starts, capacity);
+                    }
+
+                    starts[bucket] = start;
+                    min[bucket] = value;
+                    max[bucket] = value;
+                } else {
+                    if (Long.compareUnsigned(value, min[bucket]) < 0)
+                        min[bucket] = value;
+                    if (Long.compareUnsigned(value, max[bucket]) > 0)
+                        max[bucket] = value;
+                }
+
+                unknown[bucket] |= reader.isUnknown();
+                count++;
+            }
+        }
+
+        final int buckets = (int) ((count + BUCKET_SAMPLES - 1) / BUCKET_SAMPLES);
+        final ArrayList<Level> built = new ArrayList<>();
+        Level level = new Level(buckets);
+
+        System.arraycopy(min, 0, level.min, 0, buckets);
+        System.arraycopy(max, 0, level.max, 0, buckets);
+        System.arraycopy(unknown, 0, level.unknown, 0, buckets);
+        built.add(level);
+
+        while (level.min.length > 1) {
+            level = merge(level);
+            built.add(level);
+        }
+
+        samples = count;
+        offsets = Arrays.copyOf(starts, buckets);
+        levels = built.toArray(new Level[0]);
+    }
+
+    /* Merges every LEVEL_FACTOR buckets of the level. */
+    private static Level merge(Level source) {
+        final Level level = new Level((source.min.length + LEVEL_FACTOR - 1) / LEVEL_FACTOR);
+
+        for (int bucket = 0; bucket < level.min.length; bucket++) {
+            final int first = bucket * LEVEL_FACTOR;
+            final int last = Math.min(first + LEVEL_FACTOR, source.min.length);
+
+            level.min[bucket] = source.min[first];
+            level.max[bucket] = source.max[first];
+
+            for (int index = first; index < last; index++) {
+                if (Long.compareUnsigned(source.min[index], level.min[bucket]) < 0)
+                    level.min[bucket] = source.min[index];
+                if (Long.compareUnsigned(source.max[index], level.max[bucket]) > 0)
+                    level.max[bucket] = source.max[index];
+                level.unknown[bucket] |= source.unknown[index];
+            }
+        }
+
+        return level;
+    }
+
+    /**
+     * Checks if the pyramid is built.
+     *
+     * @return "true" when build() is completed.
+     */
+    public boolean isBuilt() {
+        return levels != null;
+    }
+
+    /**
+     * Summarizes the window of the waveform.
+     * Every pixel column gets the minimum, the maximum and the unknown flag
+     * of the samples from "first + pixel * samplesPerPixel"
+     * to "first + (pixel + 1) * samplesPerPixel".
+     * Columns of the long pixels are aligned to the buckets of the used level.
+     *
+     * @param first The sample at the left border of the window (not negative).
+     * @param samplesPerPixel The number of samples of one pixel (can be less than 1).
+     * @param min The minimums of the columns.
+     * @param max The maximums of the columns.
+     * @param unknown The unknown flags of the columns.
+     * @return The number of filled columns. It is less than the length
+     *         of the arrays when the window passes the end of the waveform.
+     * @throws IOException Error when reading the file.
+     */
+    public synchronized int summarize(double first, double samplesPerPixel,
+                                      long[] min, long[] max, boolean[] unknown) throws IOException {
+        final Level[] levels = this.levels;
+        if (levels == null || samplesPerPixel <= 0)
+            return 0;
+
+        final int pixels = Math.min(min.length, Math.min(max.length, unknown.length));
+        first = Math.max(0, first);
+
+        if (samplesPerPixel < BUCKET_SAMPLES) {
+            final long end = Math.min(samples, (long) Math.ceil(first + pixels * samplesPerPixel) + 1);
+            return summarizeSamples((long) Math.floor(first), end, first, samplesPerPixel,
+                                    min, max, unknown, pixels);
+        }
+
+        int index = 0;
+        long bucketSamples = BUCKET_SAMPLES;
+        while (index + 1 < levels.length && bucketSamples * LEVEL_FACTOR <= samplesPerPixel) {
+            bucketSamples *= LEVEL_FACTOR;
+            index++;
+        }
+
+        final Level level = levels[index];
+        int pixel = 0;
+
+        for (; pixel < pixels; pixel++) {
+            final long start = (long) Math.floor(first + pixel * samplesPerPixel);
+            final long stop = (long) Math.floor(first + (pixel + 1) * samplesPerPixel);
+
+            if (start >= samples)
+                break;
+
+            final int firstBucket = (int) (start / bucketSamples);
+            final int lastBucket = (int) Math.max(firstBucket, Math.min(samples - 1, stop - 1) / bucketSamples);
+
+            min[pixel] = level.min[firstBucket];
+            max[pixel] = level.max[firstBucket];
+            unknown[pixel] = false;
+
+            for (int bucket = firstBucket; bucket <= lastBucket; bucket++) {
+                if (Long.compareUnsigned(level.min[bucket], min[pixel]) < 0)
+                    min[pixel] = level.min[bucket];
+                if (Long.compareUnsigned(level.max[bucket], max[pixel]) > 0)
+                    max[pixel] = level.max[bucket];
+                unknown[pixel] |= level.unknown[bucket];
+            }
+        }
+
+        return pixel;
+    }
+
+    /* Summarizes the window from the samples of the file. */
+    private int summarizeSamples(long begin, long end, double first, double samplesPerPixel,
+                                 long[] min, long[] max, boolean[] unknown, int pixels) throws IOException {
+        if (begin >= end)
+            return 0;
+
+        if (reader == null)
+            reader = new VectorReader(file, width);
+
+        final int count = (int) (end - begin);
+        if (values == null || values.length < count) {
+            values = new long[count];
+            unknowns = new boolean[count];
+        }
+
+        final int bucket = (int) (begin / BUCKET_SAMPLES);
+        reader.seek(offsets[bucket], (long) bucket * BUCKET_SAMPLES);
+        reader.skip(begin - (long) bucket * BUCKET_SAMPLES);
+
+        for (int index = 0; index < count && reader.next(); index++) {
+            values[index] = reader.getLong();
+            unknowns[index] = reader.isUnknown();
+        }
+
+        int pixel = 0;
+
+        for (; pixel < pixels; pixel++) {
+            final long start = (long) Math.floor(first + pixel * samplesPerPixel);
+            if (start >= end)
+                break;
+
+            /* The zoomed in pixel shows the sample that it belongs to. */
+            final long stop = Math.min(end, Math.max(start + 1, (long) Math.floor(first + (pixel + 1) * samplesPerPixel)));
+            final int from = (int) (start - begin);
+
+            min[pixel] = values[from];
+            max[pixel] = values[from];
+            unknown[pixel] = false;
+
+            for (int index = from; index < stop - begin; index++) {
+                if (Long.compareUnsigned(values[index], min[pixel]) < 0)
+                    min[pixel] = values[index];
+                if (Long.compareUnsigned(values[index], max[pixel]) > 0)
+                    max[pixel] = values[index];
+                unknown[pixel] |= unknowns[index];
+            }
+        }
+
+        return pixel;
+    }
+
+    /**
+     * Returns the minimum of the whole waveform.
+     *
+     * @return The unsigned low word of the minimum.
+     */
+    public long getMin() {
+        final Level[] levels = this.levels;
+        return levels == null || levels[levels.length - 1].min.length == 0 ? 0 : levels[levels.length - 1].min[0];
+    }
+
+    /**
+     * Returns the maximum of the whole waveform.
+     *
+     * @return The unsigned low word of the maximum.
+     */
+    public long getMax() {
+        final Level[] levels = this.levels;
+        return levels == null || levels[levels.length - 1].max.length == 0 ? 0 : levels[levels.length - 1].max[0];
+    }
+
+    /* Getters of the waveform's properties. */
+    public String getName() {
+        return name;
+    }
+    public File getFile() {
+        return file;
+    }
+    public int getWidth() {
+        return width;
+    }
+    public boolean isMismatch() {
+        return isMismatch;
+    }
+    public int getLevels() {
+        final Level[] levels = this.levels;
+        return levels == null ? 0 : levels.length;
+    }
+    public long getSamples() {
+        return isBuilt() ? samples : 0;
+    }
+
+    /**
+     * Closes the file of the zoomed in windows.
+     *
+     * @throws IOException Error when closing the file.
+     */
+    @Override
+    public synchronized void close() throws IOException {
+        if (reader != null)
+            reader.close();
+        reader = null;
+    }
+
+}
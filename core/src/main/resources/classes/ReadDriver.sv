@@ -10,6 +10,8 @@
 
 
 `include "ReadGenerator.sv"
+`include "ReadRleGenerator.sv"
+`include "ReadRandomGenerator.sv"
 
 
 class ReadDriver #(
@@ -26,6 +28,15 @@ class ReadDriver #(
     // The interface is based on the port list of the DUT.
     virtual Interface iface;
 
+    // The seed and the number of samples of the random stimulus.
+    // Used by ReadRandomGenerator objects. Can be overridden by the "+SEED=<n>" and "+SAMPLES=<n>" plusargs.
+    local int unsigned seed = <random_seed>;
+    local int samples = <random_samples>;
+
+    // The number of the first samples of the random stimulus that hold reset ports active.
+    // Reset ports are inactive after them. Can be overridden by the "+RESET_SAMPLES=<n>" plusarg.
+    local int resetSamples = <reset_samples>;
+
     // The ReadGenerator objects that are driven by the ReadDriver class.
     ReadGenerator #(DATA_WIDTH) gen_<port_name> [PORTS_NUM];  // inputs
     ReadGenerator #(DATA_WIDTH) gen_<port_name> [PORTS_NUM];  // expected outputs
@@ -33,10 +44,16 @@ class ReadDriver #(
 
     /* 
         The class constructor.
+        The instanceIndex is the index of the DUT instance of the batched testbench.
+        It is mixed into the seed, so the instances get different random stimulus.
     */ 
-    function new(virtual Interface iface, string filePath);
+    function new(virtual Interface iface, string filePath, int unsigned instanceIndex = 0);
         this.iface = iface;
         this.filePath = filePath;
+        void'($value$plusargs("SEED=%d", seed));
+        seed += instanceIndex * 32'h9E3779B9;
+        void'($value$plusargs("SAMPLES=%d", samples));
+        void'($value$plusargs("RESET_SAMPLES=%d", resetSamples));
         initGens();
     endfunction
 
@@ -0,0 +1,130 @@
+//////////////////////////////////////////////////////////////////////////////////////////////////////////////
+//	Name File		:	ReadRandomGenerator					      											//
+//	Author(-s)		:	Alex Shepel											 								//
+//	Company			:	Radiy																				//
+//																											//
+// 	Description		:	Generates the random test vector in the simulator. Does not read files.             //
+//                      Has the same interface as the ReadGenerator class.                                  //
+//                      The point is randomized when the index is changed. Values have the width             //
+//                      of the port (DATA_WIDTH). Add "with" constraints to randomize() to narrow them.     //
+//                      The vector is repeatable: it depends only on the seed.                              //
+//                      "holdReset()" stops the randomization: the reset port is active for the first       //
+//                      samples and inactive after them.                                                    //
+//																											//
+//						-- Parameters:																		//
+//						@param DATA_WIDTH               The width of the each value of the testing vector.  //
+//																											//
+//	Start design	:	00.00.0000																			//
+//////////////////////////////////////////////////////////////////////////////////////////////////////////////
+
+
+class ReadRandomGenerator #(
+    // The width of the each value of the testing vector.
+    parameter DATA_WIDTH = 16
+);
+
+
+    /*
+        Instance properties.
+    */
+    // The current point of the testing vector.
+    local rand bit signed [DATA_WIDTH - 1 : 0] point;
+
+    // The current index of the testing vector point.
+    local int index;
+
+    // The number of points of the testing vector.
+    local int size;
+
+    // Set when the point is not randomized: the port is a reset.
+    // The reset is active for the first resetSamples points.
+    local bit isReset;
+    local logic signed [DATA_WIDTH - 1 : 0] resetActive;
+    local int resetSamples;
+
+    // Provides access to the TB signals.
+    local virtual Interface iface;
+
+    /*
+        The class constructor.
+    */
+    function new(virtual Interface iface);
+        this.iface = iface;
+        index = 0;
+    endfunction
+
+
+    /*
+        Seeds the random generator of the object.
+        Randomizes the first point.
+    */
+    function void open(int unsigned seed, int size);
+        this.size = size;
+        this.srandom(seed);
+        void'(this.randomize());
+    endfunction
+
+
+    /*
+        Stops the randomization of the reset port.
+        The point is active for the first samples and inactive after them.
+    */
+    function void holdReset(logic signed [DATA_WIDTH - 1 : 0] active, int samples);
+        this.isReset = 1;
+        this.resetActive = active;
+        this.resetSamples = samples;
+        this.point.rand_mode(0);
+        updateReset();
+    endfunction
+
+
+    /*
+        Sets the point of the reset port by the index.
+    */
+    local function void updateReset();
+        if (isReset)
+            point = index < resetSamples ? resetActive : ~resetActive;
+    endfunction
+
+
+    /*
+        Returns the current simulation point.
+    */
+    function logic signed [DATA_WIDTH - 1 : 0] getPoint();
+        return point;
+    endfunction
+
+
+    /*
+        Returns the actual point index of the testing vector.
+    */
+    function int getIndex();
+        return index;
+    endfunction
+
+
+    /*
+        Sets the point index of the testing vector.
+        Randomizes the point.
+    */
+    function void setIndex(int index);
+        if (index >= size) begin
+            $display("ERROR: The index %0d is out of the vector size.", index);
+            $display("       Vector indexes must be in range [0 : %0d].", size - 1);
+        end else begin
+            this.index = index;
+            void'(this.randomize());
+            updateReset();
+        end
+    endfunction
+
+
+    /*
+        Returns the size of the testing vector.
+    */
+    function int getSize();
+        return size;
+    endfunction
+
+
+endclass
\ No newline at end of file
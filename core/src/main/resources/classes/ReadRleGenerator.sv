@@ -0,0 +1,147 @@
+//////////////////////////////////////////////////////////////////////////////////////////////////////////////
+//	Name File		:	ReadRleGenerator					        											//
+//	Author(-s)		:	Alex Shepel											 								//
+//	Company			:	Radiy																				//
+//																											//
+// 	Description		:	Reads the run-length encoded test vector (".tbr" file).                             //
+//                      Every line of the file is a run: "<hexadecimal value> <decimal samples number>".    //
+//                      Has the same interface as the ReadGenerator class.                                  //
+//                      Runs are not expanded in the memory, the point is found                             //
+//                      by the run that contains it.                                                        //
+//																											//
+//						-- Parameters:																		//
+//						@param DATA_WIDTH               The width of the each value of the testing vector.  //
+//																											//
+//	Start design	:	00.00.0000																			//
+//////////////////////////////////////////////////////////////////////////////////////////////////////////////
+
+
+class ReadRleGenerator #(
+    // The width of the each value of the testing vector.
+    parameter DATA_WIDTH = 16
+);
+
+
+    /*
+        Instance properties.
+    */
+    // The path to the file, that contains the testing input data.
+    local string filePath;
+
+    // The file descriptor.
+    local int fd;
+
+    // The values of the runs.
+    local logic signed [DATA_WIDTH - 1 : 0] values [];
+
+    // The index of the point that follows the each run.
+    // Runs can be longer than the "int" range, so indexes are "longint".
+    local longint ends [];
+
+    // The current index of the testing vector point.
+    local int index;
+
+    // The run that contains the current point.
+    local int run;
+
+    // Provides access to the TB signals.
+    local virtual Interface iface;
+
+    /*
+        The class constructor.
+    */
+    function new(virtual Interface iface);
+        this.iface = iface;
+        index = 0;
+        run = 0;
+    endfunction
+
+
+    /*
+        Opens the file, that is located at a specified address.
+        Reads the runs of the test input vector from the file.
+    */
+    function void open(string filePath);
+        integer readFaults, scanFaults;
+        string fileLine;    // The store box for the line of the file, that will be read below.
+        longint count;      // The number of points of the run.
+        this.filePath = filePath;
+        fd = $fopen(filePath, "r");
+
+        if (fd) begin
+            $display("File was opened successfully: %s\n", filePath);
+
+            while (!$feof(fd)) begin
+                values = new [values.size() + 1] (values);
+                ends = new [ends.size() + 1] (ends);
+                readFaults = $fgets(fileLine, fd);
+                scanFaults = $sscanf(fileLine, "%h %d", values[values.size() - 1], count);
+                checkReadingScanning(readFaults, scanFaults);
+                ends[ends.size() - 1] = (ends.size() > 1 ? ends[ends.size() - 2] : 0) + count;
+            end
+
+            $fclose(fd);
+        end else
+            iface.test_passed = 0;
+    endfunction
+
+
+    /*
+        Checks reading and scanning operations for the success.
+        Prints warnings to the console when fail is found.
+    */
+    local function void checkReadingScanning(integer readFaults, integer scanFaults);
+        if (scanFaults != 2 | readFaults == 0) begin
+            $display("** Warning: Can't read/scan file: %s\n", filePath);
+            $display("            Note that:");
+            $display("            a) input files must NOT have empty lines.");
+            $display("            b) every line must have \"<hexadecimal value> <decimal samples number>\" format.\n");
+            iface.test_passed = 0;
+        end
+    endfunction
+
+
+    /*
+        Returns the current simulation point.
+    */
+    function logic signed [DATA_WIDTH - 1 : 0] getPoint();
+        return values[run];
+    endfunction
+
+
+    /*
+        Returns the actual point index of the testing vector.
+    */
+    function int getIndex();
+        return index;
+    endfunction
+
+
+    /*
+        Sets the point index of the testing vector.
+        Moves to the run that contains the point.
+    */
+    function void setIndex(int index);
+        if (index >= getSize()) begin
+            $display("ERROR: The index %0d is out of the vector size.", index);
+            $display("       Vector indexes must be in range [0 : %0d].", getSize() - 1);
+            $display("       Input data file: %0s", filePath);
+        end else begin
+            while (index >= ends[run])
+                run++;
+            while (run > 0 && index < ends[run - 1])
+                run--;
+            this.index = index;
+        end
+    endfunction
+
+
+    /*
+        Returns the size of the testing vector.
+    */
+    function longint getSize();
+        return ends.size() == 0 ? 0 : ends[ends.size() - 1];
+    endfunction
+
+
+endclass
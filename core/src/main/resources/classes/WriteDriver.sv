@@ -30,6 +30,10 @@ class WriteDriver #(
     // The file descriptor.
     local int fd;
 
+    // Outputs are checked during the simulation (the "+SKIP_CHECK" plusarg is not set).
+    // Unchecked runs don't write the mismatch files and are logged as "SKIPPED".
+    local bit isChecked;
+
     // The WriteGenerator objects declaration. They are driven by the WriteDriver class.
 
     // Writes log file.
@@ -39,9 +43,10 @@ class WriteDriver #(
     /* 
         The class constructor.
     */ 
-    function new(virtual Interface iface, string filePath);
+    function new(virtual Interface iface, string filePath, bit isChecked);
         this.iface = iface;
         this.filePath = filePath;
+        this.isChecked = isChecked;
         initGens();
     endfunction
 
@@ -67,13 +72,22 @@ class WriteDriver #(
         gen_log = new();
         gen_log.open({$sformatf("%s", filePath), "/tb.log"}, "a");
 
-        if (iface.test_passed)
+        if (!isChecked)
+            gen_log.writeStr("SKIPPED");
+        else if (iface.test_passed)
             gen_log.writeStr("PASS");
         else
             gen_log.writeStr("FAIL");
 
         gen_log.writeStr($sformatf("\t\tDate: %s", getTime()));
         gen_log.writeStr($sformatf("\t\tSamples: %0d", vectorSize));
+
+        // Mismatches are not counted when checking is skipped.
+        if (!isChecked) begin
+            gen_log.writeStr("");
+            return;
+        end
+
         gen_log.writeStr("\t\tMismatches:");
 
         gen_log.writeStr("");
@@ -23,17 +23,21 @@ module tb ();
     /*
         Instance properties.
     */
+    // <instance_interface>
 	// The interface is based on the ports and parameters lists of the DUT.
     Interface iface();
+    // </instance_interface>
 
     // Path to the folder with files that will be read.
-    const string PROJECT_PATH = "<project_path>";
+    // Can be overridden by the "+PROJECT_PATH=<path>" plusarg (used by the shard runs).
+    string PROJECT_PATH = "<project_path>";
+    // <instance_objects>
 
     // Path to the folder with files that will be read.
-	const string READ_FILES = {PROJECT_PATH, "/<input_data_folder>"};
+	string READ_FILES;
 
     // Path to the folder with files that will be written.
-	const string WRITE_FILES = {PROJECT_PATH, "/<output_data_folder>"};
+	string WRITE_FILES;
 
     // The objects of the test environment.
     ReadDriver #(
@@ -47,6 +51,7 @@ module tb ();
     Checker #(
         .PARAMETER (iface.PARAMETER)
     ) outChecker;
+    // </instance_objects>
 
     // Sets the time of initialization for the simulation clocks.
     localparam CLK_INIT_TIME = 0.5;
@@ -54,6 +59,17 @@ module tb ();
     // Sets the period of checking mismatches between actual and expected data (ns).
     localparam CHECK_PERIOD = 0.001;
 
+    // Disables the checking of the outputs during the simulation.
+    // Set by the "+SKIP_CHECK" plusarg, when results are checked after the simulation (ResultsAnalyzer).
+    // Such run doesn't write the mismatch files and its "tb.log" record is "SKIPPED".
+    bit SKIP_CHECK = $test$plusargs("SKIP_CHECK");
+
+    // Disables the writing of the outputs to the files during the simulation.
+    // Set by the "+SKIP_WRITE" plusarg for the soak runs with the random stimulus.
+    // The random stimulus has no expected outputs: they stay 'x and the checker skips them,
+    // so such run only checks that the DUT doesn't hang or crash the simulator.
+    bit SKIP_WRITE = $test$plusargs("SKIP_WRITE");
+
     // Enables clocking.
     bit clk_enable = 0;
 
@@ -61,6 +77,7 @@ module tb ();
     /*
         Creates clocks that drive simulation.
     */
+    // <shared_clocks>
     clk_driver #(
         .DUT_CLK_FREQ (iface.DUT_CLK_FREQ),
         .SAMPLE_FREQ (iface.SAMPLE_FREQ)
@@ -70,8 +87,10 @@ module tb ();
         .reading_clk (iface.reading_clk),
         .writing_clk (iface.writing_clk)
     );
+    // </shared_clocks>
 
 
+    // <instance_body>
 	/*
         The design under test.
     */
@@ -88,8 +107,12 @@ module tb ();
         Initializes the test environment.
     */
     initial begin
+        void'($value$plusargs("PROJECT_PATH=%s", PROJECT_PATH));
+        READ_FILES = {PROJECT_PATH, "/<input_data_folder>"};
+        WRITE_FILES = {PROJECT_PATH, "/<output_data_folder>"};
+
         readDriver = new(iface, READ_FILES);
-        writeDriver = new(iface, WRITE_FILES);
+        writeDriver = new(iface, WRITE_FILES, !SKIP_CHECK);
         outChecker = new(iface);
 
         #CLK_INIT_TIME
@@ -101,6 +124,7 @@ module tb ();
         Checks mismatches between actual and expected data.
     */
     always begin
+        wait (!SKIP_CHECK);
         #CHECK_PERIOD outChecker.mismatch();
     end
 
@@ -127,7 +151,9 @@ module tb ();
     task createLogs();
         $display("\n********* THE SIMULATION END **********");
 
-        if (iface.test_passed)
+        if (SKIP_CHECK)
+            $display("********* CHECKING IS SKIPPED *********\n");
+        else if (iface.test_passed)
             $display("*********** TEST CASE PASS ************\n");
         else
             $display("*********** TEST CASE FAIL ************\n");
@@ -149,9 +175,12 @@ module tb ();
         Runs data logging (console and file).
     */
     always @(posedge iface.writing_clk) begin
-        writeDriver.run();
-        outChecker.countError();
+        if (!SKIP_WRITE)
+            writeDriver.run();
+        if (!SKIP_CHECK)
+            outChecker.countError();
     end
 
 
+    // </instance_body>
 endmodule
@@ -0,0 +1,39 @@
+#!/bin/sh
+# Compiles the test environment and the DUT.
+#
+# Compile units are grouped into levels by the dependency graph
+# of the sources. Units of one level do not depend on each other,
+# so they are compiled in parallel. Every unit is compiled into
+# its own library of the "libs" folder, because parallel "vlog"
+# processes can't write to the same library. Libraries of the previous
+# levels are linked by "-L". The testbench is compiled into the "work" library.
+# Units that are not changed since the previous run
+# are skipped by the incremental compiler.
+
+cd "$(dirname "$0")" || exit 1
+
+libs="$(pwd)/libs"
+pids=""
+
+[ -d libs ] || mkdir libs || exit 1
+
+# Compiles the unit ($2) into the library ($1). Other arguments are passed to "vlog".
+# The library is created by "vlib", which keeps the existing library.
+compile() {
+    library="$1"
+    shift
+    vlib "$library" > /dev/null && vlog -sv -incr -work "$library" "$@"
+}
+
+# Waits for the units of the level. Fails when any unit is not compiled.
+wait_level() {
+    failed=0
+    for pid in $pids; do
+        wait "$pid" || failed=1
+    done
+    pids=""
+    return $failed
+}
+
+<compile_levels>
+exit 0
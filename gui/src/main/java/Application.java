@@ -0,0 +1,287 @@
+import backend.Backend;
+import frontend.Frontend;
+import frontend.widgets.PresetButton;
+
+import javax.swing.*;
+import java.awt.event.ActionEvent;
+import java.awt.event.ActionListener;
+import java.io.File;
+import java.util.HashMap;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+
+/*
+ * File: Application.java
+ * -----------------------------------------------
+ * Program that run test environment
+ * for the specified FPGA design file.
+ * See the link below.
+ *
+ * TODO: Link to the help file.
+ *       Also it can be great to use autogenerated
+ *       java-doc.
+ */
+public class Application implements ActionListener {
+
+    /* Main objects.
+    Backend contains app's logic.
+    Frontend contains app's GUI. */
+    private Frontend frontend;
+    private Backend backend;
+
+    /* The backend action that is running in the background.
+    It is null when no action is running. It is read by the action's thread. */
+    private volatile BackendWorker worker;
+
+    /* Updates the preview of the test environment files. */
+    private PreviewUpdater preview;
+
+    /* Loads the vectors of the working folder to the waves window. */
+    private WaveformLoader waves;
+
+    /**
+     * The class constructor.
+     */
+    public Application() {
+        /* Initializes Frontend object. */
+        frontend = new Frontend();
+
+        /* Adds action listeners
+        to the control buttons of the app's window. */
+        for (PresetButton butt: frontend.getButtonsMap().values())
+            butt.addActionListener(this);
+
+        /* Initializes Backend object.
+        Templates of the test environment files are read
+        when the environment is generated, so errors of reading
+        internal files are shown as the errors of that action. */
+        backend = new Backend();
+        backend.setProgressListener(this::reportProgress);
+
+        preview = new PreviewUpdater(frontend, backend);
+        frontend.setChangeListener(preview::schedule);
+
+        waves = new WaveformLoader(frontend, backend);
+    }
+
+    /**
+     * Implements the ActionListener interface.
+     *
+     * @param e The ActionEvent object.
+     *          Contains an action
+     *          that just happened
+     *          on the app's window.
+     */
+    @Override
+    public void actionPerformed(ActionEvent e) {
+        switch (e.getActionCommand()) {
+            case "< Back" ->
+                    frontend.back();
+            case "Next >" ->
+                    startBackendAction();
+            case "Cancel" -> {
+                final BackendWorker ongoing = worker;
+                if (ongoing != null)
+                    ongoing.requestCancel();
+            }
+            case "Preview" -> {
+                frontend.showPreview(!frontend.isPreviewShown());
+                preview.schedule();
+            }
+            case "Waves" -> {
+                frontend.showWaves(!frontend.isWavesShown());
+                if (frontend.isWavesShown())
+                    waves.load();
+            }
+            case "Help" ->
+                    frontend.help();
+            case "Finish" ->
+                    frontend.finish();
+        }
+    }
+
+    /**
+     * -- Checks configuration page that is shown
+     * on the app's window at the moment.
+     * -- Reads the configuration of that page
+     * and runs the corresponding backend action
+     * in the background, so the app's window is not frozen
+     * while the DUT file is parsed or environment files are written.
+     * -- Shows warning messages.
+     */
+    private void startBackendAction() {
+        if (worker != null)
+            return;
+
+        try {
+            switch (frontend.getPageName()) {
+                case "Specify DUT file" -> {
+                    final File dutFile = frontend.getDutFile();
+                    worker = new BackendWorker(() -> backend.setDutFile(dutFile), null);
+                }
+                case "Specify working folder" -> {
+                    final File workingFolder = frontend.getWorkingFolder();
+                    worker = new BackendWorker(() -> backend.setWorkingFolder(workingFolder), () -> {
+                        preview.reset();
+                        frontend.setDutClocks(backend.getDutClocks());
+                        frontend.refresh();
+                    });
+                }
+                case "Specify clocks" -> {
+                    final HashMap<String, String> clocks = frontend.getClocksHashMap();
+                    worker = new BackendWorker(() -> backend.setClocksHashMap(clocks), null);
+                }
+                case "Specify sampling frequency" -> {
+                    final String frequency = frontend.getReportSamplingFrequency();
+                    worker = new BackendWorker(() -> {
+                        backend.setReportSamplingFrequency(frequency);
+                        backend.generateEnvironment();
+                    }, null);
+                }
+                default -> {
+                    return;
+                }
+            }
+        }
+
+        catch (Exception e) {
+            frontend.showExceptionMessage(e);
+            e.printStackTrace();
+            return;
+        }
+
+        frontend.setBusy(true);
+        frontend.setStatus("Running...", -1);
+        worker.execute();
+    }
+
+    /**
+     * Receives the progress of the backend action.
+     * Called by the thread of the running action.
+     *
+     * @param stage The description of the ongoing stage.
+     * @param done The amount of the done work.
+     * @param total The total amount of the stage's work.
+     */
+    private void reportProgress(String stage, long done, long total) {
+        final BackendWorker ongoing = worker;
+
+        if (ongoing != null)
+            ongoing.report(stage, total > 0 ? (int) (done * 100 / total) : -1);
+    }
+
+    /*
+     * The backend action.
+     * Unlike Runnable it can throw the checked exceptions.
+     */
+    private interface BackendAction {
+        void run() throws Exception;
+    }
+
+    /*
+     * Runs the backend action out of the event dispatch thread.
+     * Publishes the progress of the action to the app's window.
+     * When the action is successfully completed runs
+     * the following GUI update and directs user to the next page.
+     *
+     * Cancellation interrupts the action's thread, but the worker
+     * is not cancelled itself: done() is called only when the thread
+     * has returned, so the app stays busy and no other action
+     * can use the Backend object until then.
+     */
+    private class BackendWorker extends SwingWorker<Void, String> {
+
+        /* The backend action and the following GUI update (can be null). */
+        private final BackendAction action;
+        private final Runnable update;
+
+        /* The last reported percent of the action. */
+        private volatile int percent = -1;
+
+        /* The thread that runs the action (null when it is not running)
+        and the cancellation request. Guarded by the worker's lock. */
+        private Thread thread;
+        private boolean isCancelRequested;
+
+        private BackendWorker(BackendAction action, Runnable update) {
+            this.action = action;
+            this.update = update;
+        }
+
+        private void report(String stage, int percent) {
+            this.percent = percent;
+            publish(stage);
+        }
+
+        /* Interrupts the action. The action is stopped when it checks the interrupt. */
+        private synchronized void requestCancel() {
+            isCancelRequested = true;
+            if (thread != null)
+                thread.interrupt();
+
+            frontend.setStatus("Cancelling...", -1);
+        }
+
+        private synchronized boolean isCancelRequested() {
+            return isCancelRequested;
+        }
+
+        @Override
+        protected Void doInBackground() throws Exception {
+            synchronized (this) {
+                if (isCancelRequested)
+                    throw new CancellationException("The action is cancelled.");
+                thread = Thread.currentThread();
+            }
+
+            try {
+                action.run();
+                return null;
+            }
+
+            finally {
+                synchronized (this) {
+                    thread = null;
+                }
+                /* Clears the interrupt that came after the action was finished. */
+                Thread.interrupted();
+            }
+        }
+
+        @Override
+        protected void process(List<String> stages) {
+            if (!isDone() && !isCancelRequested())
+                frontend.setStatus(stages.get(stages.size() - 1), percent);
+        }
+
+        @Override
+        protected void done() {
+            worker = null;
+            frontend.setBusy(false);
+
+            /* The action is cancelled even if it was completed before it checked the interrupt. */
+            if (isCancelRequested()) {
+                frontend.setStatus("Cancelled", -1);
+                return;
+            }
+
+            try {
+                get();
+                frontend.setStatus("", -1);
+
+                if (update != null)
+                    update.run();
+                frontend.next();
+            }
+
+            catch (InterruptedException | ExecutionException e) {
+                final Throwable cause = e.getCause() instanceof Exception ? e.getCause() : e;
+                frontend.setStatus("", -1);
+                frontend.showExceptionMessage((Exception) cause);
+                cause.printStackTrace();
+            }
+        }
+
+    }
+}
@@ -0,0 +1,169 @@
+import backend.Backend;
+import backend.filesWriter.PreviewRenderer;
+import frontend.Frontend;
+
+import javax.swing.*;
+import javax.swing.text.BadLocationException;
+import javax.swing.text.PlainDocument;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+
+/*
+ * File: PreviewUpdater.java
+ * -----------------------------------------------
+ * Updates the preview of the test environment files
+ * while the clocks and the sampling frequency are edited.
+ *
+ * Edits are debounced: rendering starts when the user
+ * has stopped typing for PREVIEW_DELAY milliseconds.
+ * Rendering runs out of the event dispatch thread,
+ * and the rendering that is superseded by a new edit is cancelled.
+ * Only files that are affected by the edit are rendered again.
+ */
+public class PreviewUpdater {
+
+    /* The delay between the last edit and the rendering (ms). */
+    private static final int PREVIEW_DELAY = 300;
+
+    private final Frontend frontend;
+    private final Backend backend;
+
+    /* Starts the rendering when edits are stopped. */
+    private final Timer timer = new Timer(PREVIEW_DELAY, e -> render());
+
+    /* Renders the files of the ongoing DUT and working folder.
+    It is created on the first rendering. */
+    private PreviewRenderer renderer;
+
+    /* The ongoing rendering. It is null when nothing is rendered. */
+    private RenderWorker worker;
+
+    /**
+     * The class constructor.
+     *
+     * @param frontend The Frontend object.
+     * @param backend The Backend object.
+     */
+    public PreviewUpdater(Frontend frontend, Backend backend) {
+        this.frontend = frontend;
+        this.backend = backend;
+        timer.setRepeats(false);
+    }
+
+    /**
+     * Schedules the rendering when the preview is shown.
+     * Every call restarts the delay.
+     */
+    public void schedule() {
+        if (frontend.isPreviewShown())
+            timer.restart();
+    }
+
+    /**
+     * Drops the rendered files.
+     * Must be called when the DUT or the working folder is changed.
+     */
+    public void reset() {
+        timer.stop();
+        cancel();
+        renderer = null;
+        frontend.clearPreview();
+    }
+
+    private void cancel() {
+        if (worker != null)
+            worker.cancel(true);
+        worker = null;
+    }
+
+    /**
+     * Cancels the ongoing rendering and starts the new one
+     * with the settings that are specified at the moment.
+     */
+    private void render() {
+        cancel();
+
+        if (renderer == null)
+            renderer = backend.createPreviewRenderer();
+
+        frontend.setPreviewStatus("Rendering...");
+        worker = new RenderWorker(renderer, frontend.getSpecifiedClocks(), frontend.getReportSamplingFrequency());
+        worker.execute();
+    }
+
+    /*
+     * Renders the affected files and creates their documents
+     * out of the event dispatch thread.
+     * Documents are shown one by one as they are created.
+     */
+    private class RenderWorker extends SwingWorker<Integer, Object[]> {
+
+        private final PreviewRenderer renderer;
+        private final HashMap<String, String> clocks;
+        private final String sampleFreq;
+
+        private RenderWorker(PreviewRenderer renderer, HashMap<String, String> clocks, String sampleFreq) {
+            this.renderer = renderer;
+            this.clocks = clocks;
+            this.sampleFreq = sampleFreq;
+        }
+
+        @Override
+        protected Integer doInBackground() throws Exception {
+            final LinkedHashMap<String, ArrayList<String>> files = renderer.render(clocks, sampleFreq);
+
+            for (String name : files.keySet()) {
+                if (isCancelled())
+                    break;
+
+                final ArrayList<String> lines = files.get(name);
+                final PlainDocument document = new PlainDocument();
+
+                try {
+                    document.insertString(0, String.join("\n", lines), null);
+                } catch (BadLocationException e) {
+                    throw new IllegalStateException(e);
+                }
+
+                publish(new Object[]{name, document});
+            }
+
+            return files.size();
+        }
+
+        @Override
+        protected void process(List<Object[]> files) {
+            if (isCancelled())
+                return;
+
+            for (Object[] file : files)
+                frontend.setPreviewFile((String) file[0], (PlainDocument) file[1]);
+        }
+
+        @Override
+        protected void done() {
+            if (isCancelled())
+                return;
+
+            worker = null;
+
+            try {
+                frontend.setPreviewStatus("Rendered files: " + get());
+            }
+
+            catch (CancellationException | InterruptedException e) {
+                frontend.setPreviewStatus("");
+            }
+
+            catch (ExecutionException e) {
+                frontend.setPreviewStatus("Preview can't be rendered: " + e.getCause().getMessage());
+                e.getCause().printStackTrace();
+            }
+        }
+
+    }
+}
@@ -0,0 +1,158 @@
+import backend.Backend;
+import backend.vectors.WaveformPyramid;
+import frontend.Frontend;
+
+import javax.swing.*;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/*
+ * File: WaveformLoader.java
+ * -----------------------------------------------
+ * Loads the vectors of the working folder to the waves window.
+ *
+ * Pyramids of the waveforms are built out of the event dispatch thread,
+ * a few files at once. Every waveform is shown as soon as its
+ * pyramid is built, so the window can be zoomed and panned
+ * while the rest of the files are read.
+ */
+public class WaveformLoader {
+
+    private final Frontend frontend;
+    private final Backend backend;
+
+    /* The shown waveforms. They are closed when new ones are loaded. */
+    private ArrayList<WaveformPyramid> waveforms = new ArrayList<>();
+
+    /* The ongoing building. It is null when nothing is built. */
+    private LoadWorker worker;
+
+    /**
+     * The class constructor.
+     *
+     * @param frontend The Frontend object.
+     * @param backend The Backend object.
+     */
+    public WaveformLoader(Frontend frontend, Backend backend) {
+        this.frontend = frontend;
+        this.backend = backend;
+    }
+
+    /**
+     * Cancels the ongoing building and loads
+     * the vectors that exist in the working folder at the moment.
+     */
+    public void load() {
+        cancel();
+        close();
+
+        waveforms = backend.createWaveforms();
+        frontend.setWaveforms(waveforms);
+
+        if (waveforms.isEmpty()) {
+            frontend.setWavesStatus("There are no vectors in the working folder.");
+            return;
+        }
+
+        frontend.setWavesStatus("Building...");
+        worker = new LoadWorker(waveforms);
+        worker.execute();
+    }
+
+    private void cancel() {
+        if (worker != null)
+            worker.cancel(true);
+        worker = null;
+    }
+
+    /* Closes files of the shown waveforms. */
+    private void close() {
+        for (final WaveformPyramid waveform : waveforms) {
+            try {
+                waveform.close();
+            } catch (IOException e) {
+                e.printStackTrace();
+            }
+        }
+    }
+
+    /*
+     * Builds the pyramids on the pool of threads.
+     * Publishes the number of built pyramids.
+     */
+    private class LoadWorker extends SwingWorker<Integer, Integer> {
+
+        private final ArrayList<WaveformPyramid> waveforms;
+
+        private LoadWorker(ArrayList<WaveformPyramid> waveforms) {
+            this.waveforms = waveforms;
+        }
+
+        @Override
+        protected Integer doInBackground() throws Exception {
+            final ExecutorService pool = Executors.newFixedThreadPool(
+                    Math.min(waveforms.size(), Runtime.getRuntime().availableProcessors()));
+
+            try {
+                final ExecutorCompletionService<WaveformPyramid> builds = new ExecutorCompletionService<>(pool);
+
+                for (final WaveformPyramid waveform : waveforms)
+                    builds.submit(() -> {
+                        waveform.build();
+                        return waveform;
+                    });
+
+                for (int built = 1; built <= waveforms.size(); built++) {
+                    builds.take().get();
+                    publish(built);
+                }
+
+                return waveforms.size();
+            }
+
+            finally {
+                pool.shutdownNow();
+            }
+        }
+
+        @Override
+        protected void process(List<Integer> built) {
+            if (isCancelled())
+                return;
+
+            frontend.setWavesStatus("Built " + built.get(built.size() - 1) + " of " + waveforms.size());
+            frontend.refreshWaves();
+        }
+
+        @Override
+        protected void done() {
+            if (isCancelled())
+                return;
+
+            worker = null;
+
+            try {
+                frontend.setWavesStatus("Waveforms: " + get());
+            }
+
+            catch (CancellationException | InterruptedException e) {
+                frontend.setWavesStatus("");
+            }
+
+            catch (ExecutionException e) {
+                final Throwable cause = e.getCause() instanceof ExecutionException ? e.getCause().getCause() : e.getCause();
+                frontend.setWavesStatus("Waveforms can't be built: " + cause.getMessage());
+                cause.printStackTrace();
+            }
+
+            frontend.refreshWaves();
+        }
+
+    }
+}
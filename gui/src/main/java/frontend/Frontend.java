@@ -1,12 +1,16 @@
 package frontend;
 
+import backend.vectors.WaveformPyramid;
 import frontend.panels.ButtonsPanel;
 import frontend.panels.MainPanel;
 import frontend.helper.Helper;
+import frontend.panels.PreviewPanel;
 import frontend.panels.ProgressPanel;
+import frontend.panels.WaveformPanel;
 import frontend.widgets.PresetButton;
 
 import javax.swing.*;
+import javax.swing.text.Document;
 import java.awt.*;
 import java.io.File;
 import java.util.ArrayList;
@@ -27,15 +31,23 @@ public class Frontend extends JFrame implements FrontendParameters {
 
     /* Top panel of the app's window.
     Allows user to configure properties of the resulting files. */
-    private static final MainPanel mainPanel = new MainPanel();
+    private final MainPanel mainPanel = new MainPanel();
 
     /* Central panel of the app's window.
     Monitors a progress of the configuration. */
-    private static final ProgressPanel progPanel = new ProgressPanel();
+    private final ProgressPanel progPanel = new ProgressPanel();
 
     /* Bottom panel of the app's window.
     Contains navigation buttons. */
-    private static final ButtonsPanel buttPanel = new ButtonsPanel();
+    private final ButtonsPanel buttPanel = new ButtonsPanel();
+
+    /* Separate window that shows the preview of the test environment files. */
+    private final JDialog previewDialog = new JDialog(this, "Preview");
+    private final PreviewPanel previewPanel = new PreviewPanel();
+
+    /* Separate window that shows the vectors of the working folder as waveforms. */
+    private final JDialog wavesDialog = new JDialog(this, "Waves");
+    private final WaveformPanel wavesPanel = new WaveformPanel();
 
     /**
      * The class constructor.
@@ -61,6 +73,12 @@ public class Frontend extends JFrame implements FrontendParameters {
         setLocation((monitorSize.width - windowSize.width) / 2, (monitorSize.height - windowSize.height) / 2);
         setLocationRelativeTo(null);
         setVisible(true);
+
+        previewDialog.add(previewPanel);
+        previewDialog.pack();
+
+        wavesDialog.add(wavesPanel);
+        wavesDialog.pack();
     }
 
     /**
@@ -83,6 +101,139 @@ public class Frontend extends JFrame implements FrontendParameters {
         buttPanel.setOngoingButtonStatus(progPanel.getStep());
     }
 
+    /**
+     * Locks the navigation while the backend action
+     * is running in the background, or unlocks it
+     * when the action is completed.
+     *
+     * @param busy "true" when the backend action is running.
+     */
+    public void setBusy(boolean busy) {
+        if (busy)
+            buttPanel.setBusyButtonStatus();
+        else
+            buttPanel.setOngoingButtonStatus(progPanel.getStep());
+    }
+
+    /**
+     * Shows the status of the backend action
+     * that is running in the background.
+     *
+     * @param status The description of the ongoing stage.
+     *               Empty string hides the status.
+     * @param percent The completed percent of the action.
+     *                Negative value hides the progress bar.
+     */
+    public void setStatus(String status, int percent) {
+        progPanel.setStatus(status, percent);
+    }
+
+    /**
+     * Shows or hides the preview window.
+     * It is placed to the right of the app's window.
+     *
+     * @param shown "true" when the preview must be shown.
+     */
+    public void showPreview(boolean shown) {
+        if (shown && !previewDialog.isVisible())
+            previewDialog.setLocation(getX() + getWidth(), getY());
+
+        previewDialog.setVisible(shown);
+    }
+
+    /**
+     * Returns "true" when the preview window is shown.
+     *
+     * @return The visibility of the preview window.
+     */
+    public boolean isPreviewShown() {
+        return previewDialog.isVisible();
+    }
+
+    /**
+     * Shows the rendered file in the preview window.
+     *
+     * @param name The name of the file.
+     * @param document The document with lines of the file.
+     */
+    public void setPreviewFile(String name, Document document) {
+        previewPanel.setFile(name, document);
+    }
+
+    /**
+     * Shows the status of the preview rendering.
+     *
+     * @param status The status text.
+     */
+    public void setPreviewStatus(String status) {
+        previewPanel.setStatus(status);
+    }
+
+    /**
+     * Removes all files from the preview window.
+     * Used when the DUT or the working folder is changed.
+     */
+    public void clearPreview() {
+        previewPanel.clear();
+    }
+
+    /**
+     * Shows or hides the waves window.
+     * It is placed below the app's window.
+     *
+     * @param shown "true" when the waves must be shown.
+     */
+    public void showWaves(boolean shown) {
+        if (shown && !wavesDialog.isVisible())
+            wavesDialog.setLocation(getX(), getY() + getHeight());
+
+        wavesDialog.setVisible(shown);
+    }
+
+    /**
+     * Returns "true" when the waves window is shown.
+     *
+     * @return The visibility of the waves window.
+     */
+    public boolean isWavesShown() {
+        return wavesDialog.isVisible();
+    }
+
+    /**
+     * Shows the waveforms in the waves window.
+     *
+     * @param waveforms The pyramids of the waveforms. They can be built later.
+     */
+    public void setWaveforms(ArrayList<WaveformPyramid> waveforms) {
+        wavesPanel.setWaveforms(waveforms);
+    }
+
+    /**
+     * Redraws the waveforms when their pyramids are built.
+     */
+    public void refreshWaves() {
+        wavesPanel.refresh();
+    }
+
+    /**
+     * Shows the status of the waveforms building.
+     *
+     * @param status The status text.
+     */
+    public void setWavesStatus(String status) {
+        wavesPanel.setStatus(status);
+    }
+
+    /**
+     * Sets the listener that is called when clocks
+     * or the sampling frequency are edited.
+     *
+     * @param changeListener The Runnable object.
+     */
+    public void setChangeListener(Runnable changeListener) {
+        mainPanel.setChangeListener(changeListener);
+    }
+
     /**
      * Opens a manual of using of an application.
      */
@@ -129,8 +280,8 @@ public class Frontend extends JFrame implements FrontendParameters {
      * Value contains a MyButton object.
      * Key contains a name of this button.
      */
-    public static Map<String, PresetButton> getButtonsMap() {
-        return ButtonsPanel.getButtonsHashMap();
+    public Map<String, PresetButton> getButtonsMap() {
+        return buttPanel.getButtonsHashMap();
     }
 
     /**
@@ -182,6 +333,18 @@ public class Frontend extends JFrame implements FrontendParameters {
         return mainPanel.getClocksHashMap();
     }
 
+    /**
+     * Returns the clocks that are specified at the moment.
+     * Unlike getClocksHashMap() it does not change
+     * the page of the sampling frequency.
+     *
+     * @return The HashMap object that contains correspondence
+     * between DUT's and clk_hub's modules.
+     */
+    public HashMap<String, String> getSpecifiedClocks() {
+        return mainPanel.getSpecifiedClocks();
+    }
+
     /**
      * Returns a sampling frequency.
      * Simulation points will be written
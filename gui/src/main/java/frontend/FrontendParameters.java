@@ -18,6 +18,7 @@ public interface FrontendParameters {
     /* The main font of the application window. */
     Color FONT_COLOR = new Color(200, 200, 200);
     Font PAGE_FONT = new Font("Dialog", Font.BOLD, 16);
+    Font STATUS_FONT = new Font("Dialog", Font.PLAIN, 11);
 
     /* The number of configuration steps. */
     int NUM_OF_STEPS = 5;
@@ -37,7 +38,7 @@ public interface FrontendParameters {
     int BP_HEIGHT = BUTTON_HEIGHT * 3 >> 1;
 
     /* The size of the progress panel. */
-    int PP_HEIGHT = PROGRESS_OVAL_SIZE * 3;
+    int PP_HEIGHT = PROGRESS_OVAL_SIZE * 4;
 
     /* The size of the configuration panel. */
     int IP_HEIGHT = APP_HEIGHT - PP_HEIGHT - BP_HEIGHT;
@@ -48,4 +49,18 @@ public interface FrontendParameters {
      */
     int TEXT_LEFT_ALIGNMENT = (int) (APP_WIDTH * 0.1);
 
+    /* Colors of the waveforms, of the mismatches and of the unknown values. */
+    Color WAVE_COLOR = READY;
+    Color MISMATCH_COLOR = new Color(255, 95, 95);
+    Color UNKNOWN_COLOR = new Color(255, 200, 80);
+
+    /* The height of the waveform's row and the width of the column of names. */
+    int WAVE_ROW_HEIGHT = 32;
+    int WAVE_NAME_WIDTH = 160;
+
+    /* The zoom of the waveforms per one step of the mouse wheel
+    and the maximum number of pixels per sample. */
+    double WAVE_ZOOM_STEP = 1.25;
+    double WAVE_MAX_ZOOM = 32;
+
 }
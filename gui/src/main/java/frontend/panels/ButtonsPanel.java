@@ -11,16 +11,19 @@ import java.util.HashMap;
  * File: ButtonsPanel.java
  * --------------------------------------------------------------------------
  * Represents navigation & help panel.
- * Consists of the 4 buttons:
+ * Consists of the 7 buttons:
  *  -- "< Back" directs user to the previous configuration step.
  *  -- "Next >" directs user to the next configuration step.
  *  -- "Help" opens the program documentation.
  *  -- "Finish" stops the program when all configuration steps are completed.
+ *  -- "Cancel" stops the backend action that is running in the background.
+ *  -- "Preview" shows the test environment files while clocks are configured.
+ *  -- "Waves" shows the vectors of the working folder as waveforms.
  */
 public class ButtonsPanel extends JPanel implements FrontendParameters {
 
     /* Displayed buttons. */
-    private static final HashMap<String, PresetButton> buttons = new HashMap<>();
+    private final HashMap<String, PresetButton> buttons = new HashMap<>();
 
     /**
      * The class constructor.
@@ -40,6 +43,9 @@ public class ButtonsPanel extends JPanel implements FrontendParameters {
         buttons.put("Next >", new PresetButton("Next >"));
         buttons.put("Help", new PresetButton("Help"));
         buttons.put("Finish", new PresetButton("Finish"));
+        buttons.put("Cancel", new PresetButton("Cancel"));
+        buttons.put("Preview", new PresetButton("Preview"));
+        buttons.put("Waves", new PresetButton("Waves"));
 
         setOngoingButtonStatus(0);
 
@@ -47,6 +53,9 @@ public class ButtonsPanel extends JPanel implements FrontendParameters {
         add(buttons.get("Next >"));
         add(buttons.get("Help"));
         add(buttons.get("Finish"));
+        add(buttons.get("Cancel"));
+        add(buttons.get("Preview"));
+        add(buttons.get("Waves"));
     }
 
     /**
@@ -62,6 +71,12 @@ public class ButtonsPanel extends JPanel implements FrontendParameters {
      *  -- Finish button is enabled on the last
      * configuration page, disabled otherwise.
      *  -- Help button is always enabled.
+     *  -- Cancel button is enabled only while
+     * the backend action is running.
+     *  -- Preview button is enabled on the pages
+     * of clocks and sampling frequency.
+     *  -- Waves button is enabled when the working
+     * folder is specified.
      *
      * @param step The ongoing configuration step.
      */
@@ -72,12 +87,30 @@ public class ButtonsPanel extends JPanel implements FrontendParameters {
                 !(step == NUM_OF_STEPS - 1));
         buttons.get("Finish").setEnabled(
                 step == NUM_OF_STEPS - 1);
+        buttons.get("Cancel").setEnabled(false);
+        buttons.get("Preview").setEnabled(
+                step == 2 || step == 3);
+        buttons.get("Waves").setEnabled(
+                step >= 2);
+    }
+
+    /**
+     * Sets status of buttons while the backend action
+     * is running in the background.
+     * Navigation buttons are disabled, so the configuration
+     * can't be changed until the action is completed.
+     */
+    public void setBusyButtonStatus() {
+        buttons.get("< Back").setEnabled(false);
+        buttons.get("Next >").setEnabled(false);
+        buttons.get("Finish").setEnabled(false);
+        buttons.get("Cancel").setEnabled(true);
     }
 
     /**
      *  Returns the buttons of the ButtonPanel object.
      */
-    public static HashMap<String, PresetButton> getButtonsHashMap() {
+    public HashMap<String, PresetButton> getButtonsHashMap() {
         return buttons;
     }
 
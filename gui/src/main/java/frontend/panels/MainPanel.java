@@ -131,11 +131,37 @@ public class MainPanel extends JLayeredPane implements FrontendParameters {
      *         Value is clocks hub port.
      */
     public HashMap<String, String> getClocksHashMap() {
-        setClocksComboBox(new ArrayList<>(p2.getClocksHashMap().values()));
+        final HashMap<String, String> clocksHashMap = p2.getClocksHashMap();
+        setClocksComboBox(new ArrayList<>(clocksHashMap.values()));
 
+        return clocksHashMap;
+    }
+
+    /**
+     * Returns a HashMap object that sets correspondence
+     * between DUT's clock's ports and clocks hub ports.
+     * Unlike getClocksHashMap() it does not change the page #3,
+     * so it can be called while clocks are being edited.
+     *
+     * @return The HashMap object.
+     *         Key is DUT's port.
+     *         Value is clocks hub port.
+     */
+    public HashMap<String, String> getSpecifiedClocks() {
         return p2.getClocksHashMap();
     }
 
+    /**
+     * Sets the listener that is called when clocks
+     * or the sampling frequency are edited.
+     *
+     * @param changeListener The Runnable object.
+     */
+    public void setChangeListener(Runnable changeListener) {
+        p2.setChangeListener(changeListener);
+        p3.setChangeListener(changeListener);
+    }
+
     /**
      * Sends selected clocks to the page #3.
      * There user will chose report sampling frequency from this clocks list.
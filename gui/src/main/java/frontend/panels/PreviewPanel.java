@@ -0,0 +1,95 @@
+package frontend.panels;
+
+import frontend.FrontendParameters;
+
+import javax.swing.*;
+import javax.swing.text.Document;
+import java.awt.*;
+import java.util.HashMap;
+
+/*
+ * File: PreviewPanel.java
+ * -------------------------------------
+ * Shows the preview of the test environment files.
+ * Every file is shown on its own tab.
+ *
+ * Documents of the files are created out of the
+ * event dispatch thread and only swapped here,
+ * so long files do not freeze the app's window.
+ */
+public class PreviewPanel extends JPanel implements FrontendParameters {
+
+    /* The font of the previewed code. */
+    private static final Font CODE_FONT = new Font(Font.MONOSPACED, Font.PLAIN, 12);
+
+    /* Tabs of the previewed files. */
+    private final JTabbedPane tabs = new JTabbedPane();
+
+    /* Text areas of the previewed files. Key is the name of the file. */
+    private final HashMap<String, JTextArea> textAreas = new HashMap<>();
+
+    /* Shows the status of the rendering. */
+    private final JLabel statusLabel = new JLabel(" ");
+
+    /**
+     * The class constructor.
+     */
+    public PreviewPanel() {
+        setPreferredSize(new Dimension(APP_WIDTH, APP_HEIGHT));
+        setBackground(BACKGROUND_COLOR);
+        setLayout(new BorderLayout());
+
+        statusLabel.setFont(STATUS_FONT);
+        statusLabel.setForeground(FONT_COLOR);
+        statusLabel.setBorder(BorderFactory.createEmptyBorder(2, 4, 2, 4));
+
+        add(tabs, BorderLayout.CENTER);
+        add(statusLabel, BorderLayout.SOUTH);
+    }
+
+    /**
+     * Shows the rendered file.
+     * Adds the tab when the file is shown first time,
+     * otherwise replaces the document of its tab
+     * and keeps the scrolled position.
+     *
+     * @param name The name of the file.
+     * @param document The document with lines of the file.
+     */
+    public void setFile(String name, Document document) {
+        JTextArea textArea = textAreas.get(name);
+
+        if (textArea == null) {
+            textArea = new JTextArea(document);
+            textArea.setFont(CODE_FONT);
+            textArea.setEditable(false);
+            textAreas.put(name, textArea);
+            tabs.addTab(name, new JScrollPane(textArea));
+            return;
+        }
+
+        final JViewport viewport = (JViewport) textArea.getParent();
+        final Point position = viewport.getViewPosition();
+
+        textArea.setDocument(document);
+        SwingUtilities.invokeLater(() -> viewport.setViewPosition(position));
+    }
+
+    /**
+     * Removes all previewed files.
+     */
+    public void clear() {
+        tabs.removeAll();
+        textAreas.clear();
+    }
+
+    /**
+     * Shows the status of the rendering.
+     *
+     * @param status The status text.
+     */
+    public void setStatus(String status) {
+        statusLabel.setText(status.isEmpty() ? " " : status);
+    }
+
+}
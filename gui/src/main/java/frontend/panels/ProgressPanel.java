@@ -10,12 +10,20 @@ import java.awt.*;
  * -------------------------------------
  * Monitors and displays an ongoing step
  * of configuration setting.
+ *
+ * Also displays the status of the backend action
+ * that is running in the background.
  */
 public class ProgressPanel extends JPanel implements FrontendParameters {
 
     /* The ongoing configuration step. */
     private int step = 0;
 
+    /* The status of the background action and its completed percent.
+    Percent is negative when the action does not report it. */
+    private String status = "";
+    private int percent = -1;
+
     /**
      * The class constructor.
      */
@@ -50,6 +58,37 @@ public class ProgressPanel extends JPanel implements FrontendParameters {
 
         drawLines(g, startDisplaying, spacing);
         drawOvals(g, startDisplaying, spacing);
+        drawStatus(g, startDisplaying, displayArea);
+    }
+
+    /**
+     * Draws the status of the background action
+     * and the bar of its completed percent.
+     *
+     * @param g The Graphics object that contains all
+     *          graphical components of this panel.
+     * @param startDisplaying The x-coordinate of place
+     *                        where we start drawing.
+     * @param displayArea The width of the drawing area.
+     */
+    private void drawStatus(Graphics g, double startDisplaying, double displayArea) {
+        if (status.isEmpty())
+            return;
+
+        g.setFont(STATUS_FONT);
+        g.setColor(FONT_COLOR);
+        g.drawString(percent < 0 ? status : status + " (" + percent + "%)",
+                (int) startDisplaying, PROGRESS_OVAL_SIZE);
+
+        if (percent >= 0) {
+            g.setColor(READY);
+            g.drawLine(
+                    (int) startDisplaying,
+                    PROGRESS_OVAL_SIZE + 3,
+                    (int) (startDisplaying + displayArea * percent / 100),
+                    PROGRESS_OVAL_SIZE + 3
+            );
+        }
     }
 
     /**
@@ -149,6 +188,20 @@ public class ProgressPanel extends JPanel implements FrontendParameters {
         }
     }
 
+    /**
+     * Sets the status of the background action.
+     *
+     * @param status The description of the ongoing stage.
+     *               Empty string hides the status.
+     * @param percent The completed percent of the action.
+     *                Negative value hides the bar.
+     */
+    public void setStatus(String status, int percent) {
+        this.status = status;
+        this.percent = Math.min(percent, 100);
+        repaint();
+    }
+
     /**
      * Returns an ongoing configuration step.
      *
@@ -0,0 +1,318 @@
+package frontend.panels;
+
+import backend.vectors.WaveformPyramid;
+import frontend.FrontendParameters;
+
+import javax.swing.*;
+import java.awt.*;
+import java.awt.event.MouseAdapter;
+import java.awt.event.MouseEvent;
+import java.awt.event.MouseWheelEvent;
+import java.io.IOException;
+import java.util.ArrayList;
+
+/*
+ * File: WaveformPanel.java
+ * -------------------------------------
+ * Shows the input, output and mismatch vectors as waveforms.
+ *
+ * Every waveform is drawn from its WaveformPyramid object:
+ * only the visible window is summarized, one column per pixel,
+ * so zooming and panning cost the same on any number of samples.
+ * Waveforms whose pyramids are not built yet are shown as "Building...".
+ *
+ * The mouse wheel zooms around the pointer,
+ * dragging pans, double click shows all samples.
+ */
+public class WaveformPanel extends JPanel implements FrontendParameters {
+
+    /* Draws the rows of the waveforms. */
+    private final WaveformCanvas canvas = new WaveformCanvas();
+
+    /* Shows the zoom, the window and the time of the last frame. */
+    private final JLabel statusLabel = new JLabel(" ");
+
+    /* Shown waveforms. */
+    private ArrayList<WaveformPyramid> waveforms = new ArrayList<>();
+
+    /* The window: the sample at the left border and the number of samples of one pixel.
+    The number is 0 until the first waveform is built. */
+    private double first;
+    private double samplesPerPixel;
+
+    /* Columns of the summarized window. They are reused by every row
+    and have the length of the waveforms' area. */
+    private long[] min = new long[0];
+    private long[] max = new long[0];
+    private boolean[] unknown = new boolean[0];
+
+    /* The status of the building. */
+    private String status = "";
+
+    /**
+     * The class constructor.
+     */
+    public WaveformPanel() {
+        setPreferredSize(new Dimension(APP_WIDTH, APP_HEIGHT));
+        setBackground(BACKGROUND_COLOR);
+        setLayout(new BorderLayout());
+
+        statusLabel.setFont(STATUS_FONT);
+        statusLabel.setForeground(FONT_COLOR);
+        statusLabel.setBorder(BorderFactory.createEmptyBorder(2, 4, 2, 4));
+
+        final JScrollPane scrollPane = new JScrollPane(canvas,
+                                                       ScrollPaneConstants.VERTICAL_SCROLLBAR_AS_NEEDED,
+                                                       ScrollPaneConstants.HORIZONTAL_SCROLLBAR_NEVER);
+        scrollPane.getVerticalScrollBar().setUnitIncrement(WAVE_ROW_HEIGHT);
+        scrollPane.setWheelScrollingEnabled(false);
+
+        add(scrollPane, BorderLayout.CENTER);
+        add(statusLabel, BorderLayout.SOUTH);
+    }
+
+    /**
+     * Shows the waveforms. Pyramids can be built later,
+     * refresh() must be called when they are built.
+     *
+     * @param waveforms The ArrayList object with pyramids of the waveforms.
+     */
+    public void setWaveforms(ArrayList<WaveformPyramid> waveforms) {
+        this.waveforms = new ArrayList<>(waveforms);
+        samplesPerPixel = 0;
+        first = 0;
+
+        canvas.setPreferredSize(new Dimension(APP_WIDTH, waveforms.size() * WAVE_ROW_HEIGHT));
+        canvas.revalidate();
+        refresh();
+    }
+
+    /**
+     * Redraws the waveforms.
+     * The window shows all samples when the first pyramid is built.
+     */
+    public void refresh() {
+        canvas.repaint();
+    }
+
+    /**
+     * Shows the status of the building.
+     *
+     * @param status The status text.
+     */
+    public void setStatus(String status) {
+        this.status = status;
+        updateStatus(-1);
+    }
+
+    /* Returns the number of samples of the longest built waveform. */
+    private long getSamples() {
+        long samples = 0;
+
+        for (final WaveformPyramid waveform : waveforms)
+            samples = Math.max(samples, waveform.getSamples());
+
+        return samples;
+    }
+
+    /* Returns the width of the waveforms' area (in pixels). */
+    private int getTraceWidth() {
+        return Math.max(1, canvas.getWidth() - WAVE_NAME_WIDTH);
+    }
+
+    /* Zooms out, so all samples fit the window. */
+    private void showAll() {
+        first = 0;
+        samplesPerPixel = Math.max(1 / WAVE_MAX_ZOOM, (double) getSamples() / getTraceWidth());
+    }
+
+    /**
+     * Zooms around the pixel.
+     *
+     * @param x The pixel that keeps its sample.
+     * @param factor The new number of samples per pixel divided by the old one.
+     */
+    private void zoom(int x, double factor) {
+        final double anchor = first + x * samplesPerPixel;
+        final double limit = Math.max(1, (double) getSamples() / getTraceWidth());
+
+        samplesPerPixel = Math.max(1 / WAVE_MAX_ZOOM, Math.min(limit, samplesPerPixel * factor));
+        pan(anchor - x * samplesPerPixel);
+    }
+
+    /* Moves the window, so it doesn't pass the borders of the waveforms. */
+    private void pan(double first) {
+        final double last = getSamples() - getTraceWidth() * samplesPerPixel;
+        this.first = Math.max(0, Math.min(last, first));
+        canvas.repaint();
+    }
+
+    /* Shows the window and the time of the frame (in nanoseconds, negative when unknown). */
+    private void updateStatus(long frameTime) {
+        final StringBuilder text = new StringBuilder(status);
+
+        if (samplesPerPixel > 0) {
+            if (text.length() > 0)
+                text.append("   ");
+            text.append(String.format("Samples %d..%d of %d, %.3g samples/pixel",
+                                      (long) first, (long) (first + getTraceWidth() * samplesPerPixel),
+                                      getSamples(), samplesPerPixel));
+            if (frameTime >= 0)
+                text.append(String.format(", frame %.1f ms", frameTime / 1e6));
+        }
+
+        statusLabel.setText(text.length() == 0 ? " " : text.toString());
+    }
+
+    /* Converts the unsigned value to a double. */
+    private static double toDouble(long value) {
+        return value >= 0 ? value : (double) (value >>> 1) * 2 + (value & 1);
+    }
+
+    /*
+     * Draws the rows of the waveforms that are visible in the scroll pane.
+     */
+    private class WaveformCanvas extends JComponent {
+
+        private WaveformCanvas() {
+            setOpaque(true);
+
+            final MouseAdapter mouse = new MouseAdapter() {
+
+                /* The pointer and the window when dragging is started. */
+                private int dragX;
+                private double dragFirst;
+
+                @Override
+                public void mousePressed(MouseEvent e) {
+                    dragX = e.getX();
+                    dragFirst = first;
+                }
+
+                @Override
+                public void mouseDragged(MouseEvent e) {
+                    if (samplesPerPixel > 0)
+                        pan(dragFirst - (e.getX() - dragX) * samplesPerPixel);
+                }
+
+                @Override
+                public void mouseClicked(MouseEvent e) {
+                    if (e.getClickCount() == 2 && samplesPerPixel > 0) {
+                        showAll();
+                        repaint();
+                    }
+                }
+
+                @Override
+                public void mouseWheelMoved(MouseWheelEvent e) {
+                    if (samplesPerPixel > 0)
+                        zoom(Math.max(0, e.getX() - WAVE_NAME_WIDTH),
+                             Math.pow(WAVE_ZOOM_STEP, e.getPreciseWheelRotation()));
+                }
+            };
+
+            addMouseListener(mouse);
+            addMouseMotionListener(mouse);
+            addMouseWheelListener(mouse);
+        }
+
+        @Override
+        protected void paintComponent(Graphics graphics) {
+            final long start = System.nanoTime();
+            final Graphics2D g = (Graphics2D) graphics;
+            final Rectangle clip = g.getClipBounds();
+            final int width = getTraceWidth();
+
+            if (samplesPerPixel == 0 && getSamples() > 0)
+                showAll();
+
+            g.setColor(BACKGROUND_COLOR);
+            g.fillRect(clip.x, clip.y, clip.width, clip.height);
+
+            if (min.length != width) {
+                min = new long[width];
+                max = new long[width];
+                unknown = new boolean[width];
+            }
+
+            final int firstRow = Math.max(0, clip.y / WAVE_ROW_HEIGHT);
+            final int lastRow = Math.min(waveforms.size() - 1, (clip.y + clip.height) / WAVE_ROW_HEIGHT);
+
+            for (int row = firstRow; row <= lastRow; row++)
+                paintRow(g, waveforms.get(row), row * WAVE_ROW_HEIGHT);
+
+            updateStatus(System.nanoTime() - start);
+        }
+
+        /* Draws the name and the visible window of the waveform. */
+        private void paintRow(Graphics2D g, WaveformPyramid waveform, int top) {
+            final FontMetrics metrics = g.getFontMetrics(STATUS_FONT);
+            final int baseline = top + (WAVE_ROW_HEIGHT + metrics.getAscent()) / 2;
+
+            g.setFont(STATUS_FONT);
+            g.setColor(GREY);
+            g.drawLine(0, top + WAVE_ROW_HEIGHT - 1, getWidth(), top + WAVE_ROW_HEIGHT - 1);
+            g.setColor(FONT_COLOR);
+            g.drawString(waveform.getName(), 4, baseline);
+
+            if (!waveform.isBuilt() || samplesPerPixel == 0) {
+                g.drawString("Building...", WAVE_NAME_WIDTH, baseline);
+                return;
+            }
+
+            final int columns;
+            try {
+                columns = waveform.summarize(first, samplesPerPixel, min, max, unknown);
+            } catch (IOException e) {
+                g.setColor(MISMATCH_COLOR);
+                g.drawString(e.getMessage(), WAVE_NAME_WIDTH, baseline);
+                return;
+            }
+
+            final int high = top + 3;
+            final int low = top + WAVE_ROW_HEIGHT - 4;
+            final double bottom = toDouble(waveform.getMin());
+            final double range = Math.max(1, toDouble(waveform.getMax()) - bottom);
+            int previousHigh = -1;
+            int previousLow = -1;
+
+            for (int column = 0; column < columns; column++) {
+                final int x = WAVE_NAME_WIDTH + column;
+
+                if (waveform.isMismatch()) {
+                    g.setColor(max[column] != 0 ? MISMATCH_COLOR : GREY);
+                    g.drawLine(x, max[column] != 0 ? high : low, x, low);
+                    continue;
+                }
+
+                if (unknown[column]) {
+                    g.setColor(UNKNOWN_COLOR);
+                    g.drawLine(x, high, x, low);
+                    previousHigh = previousLow = -1;
+                    continue;
+                }
+
+                int yMax = low - (int) ((toDouble(max[column]) - bottom) / range * (low - high));
+                int yMin = low - (int) ((toDouble(min[column]) - bottom) / range * (low - high));
+
+                /* Joins the column with the previous one, so the edges are drawn. */
+                if (previousHigh >= 0) {
+                    final int joinedMax = Math.min(yMax, previousLow);
+                    final int joinedMin = Math.max(yMin, previousHigh);
+                    previousHigh = yMax;
+                    previousLow = yMin;
+                    yMax = joinedMax;
+                    yMin = joinedMin;
+                } else {
+                    previousHigh = yMax;
+                    previousLow = yMin;
+                }
+
+                g.setColor(WAVE_COLOR);
+                g.drawLine(x, yMax, x, yMin);
+            }
+        }
+
+    }
+
+}
@@ -0,0 +1,325 @@
+package frontend.panels.pages;
+
+import frontend.FrontendParameters;
+import frontend.widgets.PresetButton;
+import frontend.widgets.PresetTextArea;
+
+import javax.swing.*;
+import javax.swing.event.DocumentEvent;
+import javax.swing.event.DocumentListener;
+import javax.swing.table.AbstractTableModel;
+import javax.swing.table.TableRowSorter;
+import java.awt.*;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.regex.Pattern;
+
+/*
+ * File: Page2.java
+ * ----------------------------------------------
+ * The panel that represents an interactive page.
+ * It allows user to configure clock signals from
+ * "clock_hub.sv" module that will be connected
+ * to the DUT clock ports.
+ *
+ * Clocks are edited in the table, which paints
+ * only visible rows, so DUTs with hundreds of clocks
+ * do not create a widget per clock.
+ * Clocks can be filtered by name, and the frequency
+ * can be assigned to many clocks at once.
+ */
+public class Page2 extends JPanel implements FrontendParameters {
+
+    /* The name of the page.
+    It is used for gain access to this page
+    from the ActionEvent interface. */
+    private static final String PAGE_NAME = "Specify clocks";
+
+    /* The spacing between the top border of application window
+    and first row of the displayed text. */
+    private static final int TOP_ALIGNMENT = 60;
+
+    /* The spacing between displayed components. */
+    private static final int COMPONENTS_ALIGNMENT = 10;
+
+    /* The default frequency of the DUT's clock (kHz). */
+    private static final String DEFAULT_FREQUENCY = "50000";
+
+    /* The number of characters of the filter and bulk-assign fields. */
+    private static final int TEXT_FIELD_CHARS = 12;
+
+    /* The model and the view of the clocks table. */
+    private final ClockTableModel clockTableModel = new ClockTableModel();
+    private final JTable clockTable = new JTable(clockTableModel);
+    private final TableRowSorter<ClockTableModel> sorter = new TableRowSorter<>(clockTableModel);
+
+    /* Filters clocks by name. */
+    private final JTextField filterField = new JTextField(TEXT_FIELD_CHARS);
+
+    /* The frequency that is assigned to many clocks at once. */
+    private final JTextField bulkField = new JTextField(DEFAULT_FREQUENCY, TEXT_FIELD_CHARS);
+
+    /* Shows the dialog text. */
+    private final PresetTextArea textArea = new PresetTextArea(PAGE_TEXT_WITHOUT_CLK);
+
+    /* Called when any clock is edited. */
+    private Runnable changeListener = () -> {};
+
+    /* The dialog texts that will be displayed on the application window. */
+    private static final String PAGE_TEXT_WITH_CLK =
+            "DUT file is read. \n" +
+            "Specify the clock signals, that must be connected to the DUT.";
+    private static final String PAGE_TEXT_WITHOUT_CLK =
+            "DUT file is read. This page customizes module clocks. \n" +
+            "But your DUT doesn't contain any clock inputs. Skip this page.";
+
+    /**
+     * The class constructor.
+     */
+    public Page2() {
+        setBounds(0, TOP_ALIGNMENT, APP_WIDTH, IP_HEIGHT - TOP_ALIGNMENT);
+        setBackground(BACKGROUND_COLOR);
+        setLayout(new BorderLayout(0, COMPONENTS_ALIGNMENT));
+        setBorder(BorderFactory.createEmptyBorder(0, 0, COMPONENTS_ALIGNMENT, TEXT_LEFT_ALIGNMENT));
+
+        add(textArea, BorderLayout.NORTH);
+        add(createTablePane(), BorderLayout.CENTER);
+        add(createToolsPanel(), BorderLayout.SOUTH);
+
+        clockTableModel.addTableModelListener(e -> changeListener.run());
+    }
+
+    /**
+     * Creates the scrolled table of the clocks.
+     */
+    private JScrollPane createTablePane() {
+        clockTable.setRowSorter(sorter);
+        clockTable.setFont(PAGE_FONT);
+        clockTable.setRowHeight(PAGE_FONT.getSize() + COMPONENTS_ALIGNMENT);
+        clockTable.setBackground(GREY);
+        clockTable.setForeground(FONT_COLOR);
+        clockTable.setFillsViewportHeight(true);
+        clockTable.putClientProperty("terminateEditOnFocusLost", true);
+
+        final JScrollPane scrollPane = new JScrollPane(clockTable);
+        scrollPane.setBorder(BorderFactory.createEmptyBorder(0, TEXT_LEFT_ALIGNMENT, 0, 0));
+        scrollPane.getViewport().setBackground(BACKGROUND_COLOR);
+        scrollPane.setBackground(BACKGROUND_COLOR);
+
+        return scrollPane;
+    }
+
+    /**
+     * Creates the panel with the filter and the bulk-assign fields.
+     */
+    private JPanel createToolsPanel() {
+        final JPanel panel = new JPanel(new FlowLayout(FlowLayout.LEFT, COMPONENTS_ALIGNMENT, 0));
+        panel.setBackground(BACKGROUND_COLOR);
+        panel.setBorder(BorderFactory.createEmptyBorder(0, TEXT_LEFT_ALIGNMENT - COMPONENTS_ALIGNMENT, 0, 0));
+
+        filterField.getDocument().addDocumentListener(new DocumentListener() {
+            public void insertUpdate(DocumentEvent e) { applyFilter(); }
+            public void removeUpdate(DocumentEvent e) { applyFilter(); }
+            public void changedUpdate(DocumentEvent e) { applyFilter(); }
+        });
+
+        final PresetButton assignButton = new PresetButton("Assign");
+        assignButton.addActionListener(e -> assignFrequency());
+
+        panel.add(createLabel("Filter"));
+        panel.add(filterField);
+        panel.add(createLabel("Frequency"));
+        panel.add(bulkField);
+        panel.add(createLabel("kHz"));
+        panel.add(assignButton);
+
+        return panel;
+    }
+
+    private JLabel createLabel(String text) {
+        final JLabel label = new JLabel(text);
+        label.setFont(PAGE_FONT);
+        label.setForeground(FONT_COLOR);
+        return label;
+    }
+
+    /**
+     * Shows only clocks whose names contain the text of the filter field.
+     */
+    private void applyFilter() {
+        final String text = filterField.getText().trim();
+
+        sorter.setRowFilter(text.isEmpty()
+                ? null
+                : RowFilter.regexFilter("(?i)" + Pattern.quote(text), ClockTableModel.NAME_COLUMN));
+    }
+
+    /**
+     * Assigns the frequency of the bulk-assign field to the selected clocks.
+     * When nothing is selected, assigns it to all clocks that pass the filter.
+     */
+    private void assignFrequency() {
+        if (clockTable.isEditing())
+            clockTable.getCellEditor().stopCellEditing();
+
+        final String frequency = bulkField.getText().trim();
+        final int[] selected = clockTable.getSelectedRows();
+        final int[] rows = new int[selected.length == 0 ? clockTable.getRowCount() : selected.length];
+
+        for (int index = 0; index < rows.length; index++)
+            rows[index] = clockTable.convertRowIndexToModel(selected.length == 0 ? index : selected[index]);
+
+        clockTableModel.setFrequency(rows, frequency);
+    }
+
+    /**
+     * Returns a HashMap object that sets correspondence
+     * between DUT's clock's ports and clocks hub ports.
+     *
+     * @return The HashMap object.
+     *         Key is DUT's port.
+     *         Value is clocks hub port.
+     */
+    public HashMap<String, String> getClocksHashMap() {
+        if (clockTable.isEditing())
+            clockTable.getCellEditor().stopCellEditing();
+
+        return clockTableModel.getClocksHashMap();
+    }
+
+    /**
+     * Sets names of the DUT's clock's ports.
+     *
+     * @param dutClocks The list of the clocks of DUT module.
+     *                  It is automatically formed from a DUT file.
+     */
+    public void setDutClocks(ArrayList<String> dutClocks) {
+        textArea.setText(dutClocks.size() != 0 ? PAGE_TEXT_WITH_CLK : PAGE_TEXT_WITHOUT_CLK);
+        filterField.setText("");
+        clockTableModel.setClocks(dutClocks);
+    }
+
+    /**
+     * Sets the listener that is called when any clock is edited.
+     *
+     * @param changeListener The Runnable object.
+     */
+    public void setChangeListener(Runnable changeListener) {
+        this.changeListener = changeListener;
+    }
+
+    /**
+     * Returns a name of the page.
+     *
+     * @return The String value of the page's name.
+     */
+    public String getName() {
+        return PAGE_NAME;
+    }
+
+
+    /** Stores clocks that will be connected to the DUT clock ports and their frequencies. */
+    private static final class ClockTableModel extends AbstractTableModel {
+
+        /* Columns of the table. */
+        private static final int NAME_COLUMN = 0;
+        private static final int FREQUENCY_COLUMN = 1;
+        private static final String[] COLUMN_NAMES = {"DUT clock", "Frequency (kHz)"};
+
+        /* Names and frequencies of the clocks. */
+        private final ArrayList<String> names = new ArrayList<>();
+        private final ArrayList<String> frequencies = new ArrayList<>();
+
+        /**
+         * Sets the new list of the clocks.
+         * All clocks have the default frequency.
+         *
+         * @param dutClocks The list of the clocks of DUT module.
+         */
+        public void setClocks(ArrayList<String> dutClocks) {
+            names.clear();
+            frequencies.clear();
+
+            for (String name : dutClocks) {
+                names.add(name);
+                frequencies.add(DEFAULT_FREQUENCY);
+            }
+
+            fireTableDataChanged();
+        }
+
+        /**
+         * Sets the frequency of many clocks.
+         * Fires one event, so listeners are called once.
+         *
+         * @param rows The indexes of the clocks in the model.
+         * @param frequency The frequency of the clocks (kHz).
+         */
+        public void setFrequency(int[] rows, String frequency) {
+            if (rows.length == 0)
+                return;
+
+            int first = rows[0];
+            int last = rows[0];
+
+            for (int row : rows) {
+                frequencies.set(row, frequency);
+                first = Math.min(first, row);
+                last = Math.max(last, row);
+            }
+
+            fireTableRowsUpdated(first, last);
+        }
+
+        /**
+         * Returns the clocks and their frequencies.
+         *
+         * @return The HashMap object.
+         *         Key is DUT's port.
+         *         Value is its frequency.
+         */
+        public HashMap<String, String> getClocksHashMap() {
+            final HashMap<String, String> clocksHashMap = new HashMap<>();
+
+            for (int row = 0; row < names.size(); row++)
+                clocksHashMap.put(names.get(row), frequencies.get(row));
+
+            return clocksHashMap;
+        }
+
+        @Override
+        public int getRowCount() {
+            return names.size();
+        }
+
+        @Override
+        public int getColumnCount() {
+            return COLUMN_NAMES.length;
+        }
+
+        @Override
+        public String getColumnName(int column) {
+            return COLUMN_NAMES[column];
+        }
+
+        @Override
+        public Object getValueAt(int row, int column) {
+            return column == NAME_COLUMN ? names.get(row) : frequencies.get(row);
+        }
+
+        @Override
+        public boolean isCellEditable(int row, int column) {
+            return column == FREQUENCY_COLUMN;
+        }
+
+        @Override
+        public void setValueAt(Object value, int row, int column) {
+            if (column != FREQUENCY_COLUMN)
+                return;
+
+            frequencies.set(row, String.valueOf(value).trim());
+            fireTableCellUpdated(row, column);
+        }
+    }
+
+}
@@ -6,6 +6,8 @@ import frontend.widgets.PresetTextArea;
 import javax.swing.*;
 import java.awt.*;
 import java.util.ArrayList;
+import java.util.TreeSet;
+import java.util.Vector;
 
 /*
  * File: Page3.java
@@ -54,6 +56,15 @@ public class Page3 extends JPanel implements FrontendParameters {
         add(clockSpecPanel);
     }
 
+    /**
+     * Sets the listener that is called when the sampling frequency is changed.
+     *
+     * @param changeListener The Runnable object.
+     */
+    public void setChangeListener(Runnable changeListener) {
+        clockSpecPanel.comboBox.addActionListener(e -> changeListener.run());
+    }
+
     /**
      * Returns a name of the page.
      *
@@ -101,15 +112,22 @@ public class Page3 extends JPanel implements FrontendParameters {
         /**
          * Sets a list of report sampling frequency clocks.
          * User must chose one of them.
+         * Clocks of the same frequency are shown once,
+         * and the list is replaced at once, so DUTs with
+         * hundreds of clocks do not fire an event per clock.
          *
          * @param clocks The ArrayList object that contains all clocks
          *               that can be used as report sampling frequency.
          */
         public void setComboBox(ArrayList<String> clocks) {
-            comboBox.removeAllItems();
+            final Object selected = comboBox.getSelectedItem();
+            final DefaultComboBoxModel<String> model =
+                    new DefaultComboBoxModel<>(new Vector<>(new TreeSet<>(clocks)));
+
+            if (selected != null && model.getIndexOf(selected) >= 0)
+                model.setSelectedItem(selected);
 
-            for (String clock : clocks)
-                comboBox.addItem(clock);
+            comboBox.setModel(model);
         }
 
         /**